@@ -28,6 +28,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.CodeSource;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
@@ -65,6 +66,14 @@ public class ByteBuddyAgent {
      */
     public static final String LATENT_RESOLVE = "net.bytebuddy.agent.latent";
 
+    /**
+     * Specifies a directory in which generated agent and attacher jar files are cached such that they can be reused by
+     * any process that specifies the same directory. Cached files are named by a digest of their content and are only
+     * reused if their content is identical to the jar file that would otherwise be generated. The directory must not be
+     * writable by untrusted users. If this property is not set, a temporary jar file is created for every attachment.
+     */
+    public static final String CACHE_DIRECTORY = "net.bytebuddy.agent.cache";
+
     /**
      * The manifest property specifying the agent class.
      */
@@ -137,6 +146,16 @@ public class ByteBuddyAgent {
      */
     private static final String OS_NAME = "os.name";
 
+    /**
+     * The modification time of any entry in a generated jar file what assures that generated jar files are reproducible.
+     */
+    private static final long ENTRY_TIME = 315532800000L; // 1980-01-01T00:00:00Z, the earliest time that a zip file can represent.
+
+    /**
+     * The digest algorithm that is used for naming cached jar files.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
     /**
      * The attachment type evaluator to be used for determining if an attachment requires an external process.
      */
@@ -627,28 +646,16 @@ public class ByteBuddyAgent {
         File selfResolvedJar = trySelfResolve(), attachmentJar = null;
         try {
             if (selfResolvedJar == null) {
-                InputStream inputStream = Attacher.class.getResourceAsStream('/' + Attacher.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                if (inputStream == null) {
-                    throw new IllegalStateException("Cannot locate class file for Byte Buddy installation process");
-                }
-                try {
+                byte[] jar = toJar(Attacher.class, null);
+                selfResolvedJar = tryCache(ATTACHER_FILE_NAME, jar);
+                if (selfResolvedJar == null) {
                     attachmentJar = File.createTempFile(ATTACHER_FILE_NAME, JAR_FILE_EXTENSION);
                     OutputStream outputStream = new FileOutputStream(attachmentJar);
                     try {
-                        JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
-                        jarOutputStream.putNextEntry(new JarEntry(Attacher.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION));
-                        byte[] buffer = new byte[1024 * 8];
-                        int index;
-                        while ((index = inputStream.read(buffer)) != -1) {
-                            jarOutputStream.write(buffer, 0, index);
-                        }
-                        jarOutputStream.closeEntry();
-                        jarOutputStream.close();
+                        outputStream.write(jar);
                     } finally {
                         outputStream.close();
                     }
-                } finally {
-                    inputStream.close();
                 }
             }
             StringBuilder classPath = new StringBuilder().append((selfResolvedJar == null
@@ -682,6 +689,124 @@ public class ByteBuddyAgent {
         }
     }
 
+    /**
+     * Creates a reproducible jar file that contains a single class file.
+     *
+     * @param type     The type of which the class file is contained by the jar file.
+     * @param manifest The manifest of the jar file or {@code null} if the jar file should not contain a manifest.
+     * @return The binary representation of the jar file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static byte[] toJar(Class<?> type, @MaybeNull Manifest manifest) throws IOException {
+        InputStream inputStream = type.getResourceAsStream('/' + type.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
+        if (inputStream == null) {
+            throw new IllegalStateException("Cannot locate class file for " + type.getName());
+        }
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+            if (manifest != null) {
+                JarEntry entry = new JarEntry(JarFile.MANIFEST_NAME);
+                entry.setTime(ENTRY_TIME);
+                jarOutputStream.putNextEntry(entry);
+                manifest.write(jarOutputStream);
+                jarOutputStream.closeEntry();
+            }
+            JarEntry entry = new JarEntry(type.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
+            entry.setTime(ENTRY_TIME);
+            jarOutputStream.putNextEntry(entry);
+            byte[] buffer = new byte[1024 * 8];
+            int index;
+            while ((index = inputStream.read(buffer)) != -1) {
+                jarOutputStream.write(buffer, 0, index);
+            }
+            jarOutputStream.closeEntry();
+            jarOutputStream.close();
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Attempts to resolve a jar file from the cache directory that is specified by {@link ByteBuddyAgent#CACHE_DIRECTORY}. If
+     * no such jar file exists, it is created atomically by writing a temporary file to the cache directory which is renamed
+     * after it was written completely. A cached file is only used if its content is identical to the supplied jar file.
+     *
+     * @param prefix The naming prefix of the jar file.
+     * @param jar    The binary representation of the jar file.
+     * @return The cached jar file or {@code null} if no cache directory is specified or if the jar file cannot be cached.
+     */
+    @MaybeNull
+    @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "Exception should not be rethrown but trigger a fallback.")
+    private static File tryCache(String prefix, byte[] jar) {
+        String directory = System.getProperty(CACHE_DIRECTORY);
+        if (directory == null || directory.length() == 0) {
+            return null;
+        }
+        try {
+            File cache = new File(directory);
+            if (!cache.isDirectory() && !cache.mkdirs() && !cache.isDirectory()) {
+                return null;
+            }
+            StringBuilder name = new StringBuilder(prefix).append('-');
+            for (byte value : MessageDigest.getInstance(DIGEST_ALGORITHM).digest(jar)) {
+                name.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+            }
+            File file = new File(cache, name.append(JAR_FILE_EXTENSION).toString());
+            if (isCached(file, jar)) {
+                return file;
+            }
+            File temporary = File.createTempFile(prefix, ".tmp", cache);
+            try {
+                OutputStream outputStream = new FileOutputStream(temporary);
+                try {
+                    outputStream.write(jar);
+                } finally {
+                    outputStream.close();
+                }
+                if (temporary.renameTo(file) || isCached(file, jar)) {
+                    return file;
+                } else if (file.delete() && temporary.renameTo(file)) {
+                    return file;
+                } else {
+                    return null;
+                }
+            } finally {
+                if (temporary.exists() && !temporary.delete()) {
+                    temporary.deleteOnExit();
+                }
+            }
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a file exists and contains exactly the supplied jar file.
+     *
+     * @param file The file to check.
+     * @param jar  The binary representation of the expected jar file.
+     * @return {@code true} if the file represents the supplied jar file.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static boolean isCached(File file, byte[] jar) throws IOException {
+        if (!file.isFile() || file.length() != jar.length) {
+            return false;
+        }
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            byte[] content = new byte[jar.length];
+            int offset = 0, length;
+            while (offset < content.length && (length = inputStream.read(content, offset, content.length - offset)) != -1) {
+                offset += length;
+            }
+            return offset == content.length && inputStream.read() == -1 && Arrays.equals(content, jar);
+        } finally {
+            inputStream.close();
+        }
+    }
+
     /**
      * Attempts to resolve the location of the {@link Attacher} class for a self-attachment. Doing so avoids the creation of a temporary jar file.
      *
@@ -1489,44 +1614,33 @@ public class ByteBuddyAgent {
             }
 
             /**
-             * Creates an agent jar file containing the {@link Installer} class.
+             * Creates an agent jar file containing the {@link Installer} class. If a cache directory is specified, the jar file
+             * is resolved from this directory.
              *
              * @return The agent jar file.
              * @throws IOException If an I/O exception occurs.
              */
-            @SuppressFBWarnings(value = "OS_OPEN_STREAM_EXCEPTION_PATH", justification = "Outer stream holds file handle and is closed")
             private static File createJarFile() throws IOException {
-                InputStream inputStream = Installer.class.getResourceAsStream('/' + Installer.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                if (inputStream == null) {
-                    throw new IllegalStateException("Cannot locate class file for Byte Buddy installer");
+                Manifest manifest = new Manifest();
+                manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, MANIFEST_VERSION_VALUE);
+                manifest.getMainAttributes().put(new Attributes.Name(AGENT_CLASS_PROPERTY), Installer.class.getName());
+                manifest.getMainAttributes().put(new Attributes.Name(CAN_REDEFINE_CLASSES_PROPERTY), Boolean.TRUE.toString());
+                manifest.getMainAttributes().put(new Attributes.Name(CAN_RETRANSFORM_CLASSES_PROPERTY), Boolean.TRUE.toString());
+                manifest.getMainAttributes().put(new Attributes.Name(CAN_SET_NATIVE_METHOD_PREFIX), Boolean.TRUE.toString());
+                byte[] jar = toJar(Installer.class, manifest);
+                File agentJar = tryCache(AGENT_FILE_NAME, jar);
+                if (agentJar != null) {
+                    return agentJar;
                 }
+                agentJar = File.createTempFile(AGENT_FILE_NAME, JAR_FILE_EXTENSION);
+                agentJar.deleteOnExit(); // Agent jar is required until VM shutdown due to lazy class loading.
+                OutputStream outputStream = new FileOutputStream(agentJar);
                 try {
-                    File agentJar = File.createTempFile(AGENT_FILE_NAME, JAR_FILE_EXTENSION);
-                    agentJar.deleteOnExit(); // Agent jar is required until VM shutdown due to lazy class loading.
-                    Manifest manifest = new Manifest();
-                    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, MANIFEST_VERSION_VALUE);
-                    manifest.getMainAttributes().put(new Attributes.Name(AGENT_CLASS_PROPERTY), Installer.class.getName());
-                    manifest.getMainAttributes().put(new Attributes.Name(CAN_REDEFINE_CLASSES_PROPERTY), Boolean.TRUE.toString());
-                    manifest.getMainAttributes().put(new Attributes.Name(CAN_RETRANSFORM_CLASSES_PROPERTY), Boolean.TRUE.toString());
-                    manifest.getMainAttributes().put(new Attributes.Name(CAN_SET_NATIVE_METHOD_PREFIX), Boolean.TRUE.toString());
-                    OutputStream outputStream = new FileOutputStream(agentJar);
-                    try {
-                        JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest);
-                        jarOutputStream.putNextEntry(new JarEntry(Installer.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION));
-                        byte[] buffer = new byte[1024 * 8];
-                        int index;
-                        while ((index = inputStream.read(buffer)) != -1) {
-                            jarOutputStream.write(buffer, 0, index);
-                        }
-                        jarOutputStream.closeEntry();
-                        jarOutputStream.close();
-                    } finally {
-                        outputStream.close();
-                    }
-                    return agentJar;
+                    outputStream.write(jar);
                 } finally {
-                    inputStream.close();
+                    outputStream.close();
                 }
+                return agentJar;
             }
 
             /**
@@ -32,7 +32,7 @@ import java.nio.channels.FileLock;
 import java.security.PrivilegedAction;
 import java.security.SecureRandom;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -239,13 +239,7 @@ public interface VirtualMachine {
          * @throws IOException If an IO exception occurs during establishing the connection.
          */
         public static VirtualMachine attach(String processId) throws IOException {
-            if (Platform.isWindows()) {
-                return attach(processId, new Connection.ForJnaWindowsNamedPipe.Factory());
-            } else if (Platform.isSolaris()) {
-                return attach(processId, new Connection.ForJnaSolarisDoor.Factory(15, 100, TimeUnit.MILLISECONDS));
-            } else {
-                return attach(processId, Connection.ForJnaPosixSocket.Factory.withDefaultTemporaryFolder(15, 100, TimeUnit.MILLISECONDS));
-            }
+            return attach(processId, toDefaultConnectionFactory());
         }
 
         /**
@@ -260,23 +254,94 @@ public interface VirtualMachine {
             return new ForHotSpot(connectionFactory.connect(processId));
         }
 
+        /**
+         * Attaches to the supplied process ids concurrently using the default JNA implementation. The attachment is executed
+         * on daemon threads that are discarded once all attachments are completed.
+         *
+         * @param processIds  The process ids.
+         * @param parallelism The maximum amount of attachments that are executed concurrently.
+         * @return A map of the supplied process ids to a future of the attachment to the process in the iteration order of the supplied ids.
+         */
+        public static Map<String, Future<Attachment>> attach(Collection<String> processIds, int parallelism) {
+            return attach(processIds, toDefaultConnectionFactory(), parallelism);
+        }
+
+        /**
+         * Attaches to the supplied process ids concurrently using the supplied connection factory. The attachment is executed
+         * on daemon threads that are discarded once all attachments are completed.
+         *
+         * @param processIds        The process ids.
+         * @param connectionFactory The connection factory to use which must be safe for concurrent use.
+         * @param parallelism       The maximum amount of attachments that are executed concurrently.
+         * @return A map of the supplied process ids to a future of the attachment to the process in the iteration order of the supplied ids.
+         */
+        public static Map<String, Future<Attachment>> attach(Collection<String> processIds, Connection.Factory connectionFactory, int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be a positive number: " + parallelism);
+            }
+            ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, processIds.size())), DaemonThreadFactory.INSTANCE);
+            try {
+                return attach(processIds, connectionFactory, executorService);
+            } finally {
+                executorService.shutdown();
+            }
+        }
+
+        /**
+         * Attaches to the supplied process ids using the supplied connection factory where each attachment is executed by the
+         * supplied executor service. The executor service determines the parallelism of the attachment and is not shut down.
+         *
+         * @param processIds        The process ids.
+         * @param connectionFactory The connection factory to use which must be safe for concurrent use.
+         * @param executorService   The executor service to use for attaching.
+         * @return A map of the supplied process ids to a future of the attachment to the process in the iteration order of the supplied ids.
+         */
+        public static Map<String, Future<Attachment>> attach(Collection<String> processIds, Connection.Factory connectionFactory, ExecutorService executorService) {
+            Map<String, Future<Attachment>> attachments = new LinkedHashMap<String, Future<Attachment>>();
+            for (String processId : processIds) {
+                if (!attachments.containsKey(processId)) {
+                    attachments.put(processId, executorService.submit(new AttachmentTask(processId, connectionFactory)));
+                }
+            }
+            return attachments;
+        }
+
+        /**
+         * Resolves the default JNA-based connection factory for the current platform.
+         *
+         * @return The default connection factory for the current platform.
+         */
+        private static Connection.Factory toDefaultConnectionFactory() {
+            if (Platform.isWindows()) {
+                return new Connection.ForJnaWindowsNamedPipe.Factory();
+            } else if (Platform.isSolaris()) {
+                return new Connection.ForJnaSolarisDoor.Factory(15, 100, TimeUnit.MILLISECONDS);
+            } else {
+                return Connection.ForJnaPosixSocket.Factory.withDefaultTemporaryFolder(15, 100, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Creates a pipeline for executing several commands on the target VM where all commands are sent before any
+         * response is read.
+         *
+         * @return A new pipeline for this virtual machine.
+         */
+        public Pipeline pipeline() {
+            return new Pipeline(connection);
+        }
+
         /**
          * Checks the header of a response.
          *
          * @param response The response to check the header for.
          * @throws IOException If an I/O exception occurs.
          */
-        private static void checkHeader(Connection.Response response) throws IOException {
-            byte[] buffer = new byte[1];
+        private static void checkHeader(BufferedResponse response) throws IOException {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            int length;
-            while ((length = response.read(buffer)) != -1) {
-                if (length > 0) {
-                    if (buffer[0] == '\n') {
-                        break;
-                    }
-                    outputStream.write(buffer[0]);
-                }
+            int value;
+            while ((value = response.read()) != -1 && value != '\n') {
+                outputStream.write(value);
             }
             switch (Integer.parseInt(outputStream.toString("UTF-8"))) {
                 case 0:
@@ -284,13 +349,52 @@ public interface VirtualMachine {
                 case 101:
                     throw new IOException("Protocol mismatch with target VM");
                 default:
-                    buffer = new byte[1024];
-                    outputStream = new ByteArrayOutputStream();
-                    while ((length = response.read(buffer)) != -1) {
-                        outputStream.write(buffer, 0, length);
-                    }
-                    throw new IllegalStateException(outputStream.toString("UTF-8"));
+                    throw new IllegalStateException(new String(readFully(response), "UTF-8"));
+            }
+        }
+
+        /**
+         * Reads the remainder of a response.
+         *
+         * @param response The response to read.
+         * @return The remaining bytes of the response.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static byte[] readFully(Connection.Response response) throws IOException {
+            byte[] buffer = new byte[1024];
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int length;
+            while ((length = response.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
             }
+            return outputStream.toByteArray();
+        }
+
+        /**
+         * Reads properties from the remainder of a response.
+         *
+         * @param response The response to read.
+         * @return The read properties.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static Properties readProperties(Connection.Response response) throws IOException {
+            Properties properties = new Properties();
+            properties.load(new ByteArrayInputStream(readFully(response)));
+            return properties;
+        }
+
+        /**
+         * Resolves the arguments of a command for loading an agent.
+         *
+         * @param file     The Java agent or library to be loaded.
+         * @param absolute {@code true} if the agent location is absolute.
+         * @param argument The argument to the agent or {@code null} if no argument is given.
+         * @return The arguments of the command.
+         */
+        private static String[] toLoadCommand(String file, boolean absolute, @MaybeNull String argument) {
+            return new String[]{LOAD_COMMAND, INSTRUMENT_COMMAND, Boolean.toString(absolute), (argument == null
+                    ? file
+                    : file + ARGUMENT_DELIMITER + argument)};
         }
 
         /**
@@ -315,18 +419,10 @@ public interface VirtualMachine {
          * @throws IOException If an I/O exception occurs.
          */
         private Properties getProperties(String command) throws IOException {
-            Connection.Response response = connection.execute(PROTOCOL_VERSION, command, null, null, null);
+            BufferedResponse response = new BufferedResponse(connection.execute(PROTOCOL_VERSION, command, null, null, null));
             try {
                 checkHeader(response);
-                byte[] buffer = new byte[1024];
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                int length;
-                while ((length = response.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, length);
-                }
-                Properties properties = new Properties();
-                properties.load(new ByteArrayInputStream(outputStream.toByteArray()));
-                return properties;
+                return readProperties(response);
             } finally {
                 response.close();
             }
@@ -362,9 +458,8 @@ public interface VirtualMachine {
          * @throws IOException If an I/O exception occurs.
          */
         protected void load(String file, boolean absolute, @MaybeNull String argument) throws IOException {
-            Connection.Response response = connection.execute(PROTOCOL_VERSION, LOAD_COMMAND, INSTRUMENT_COMMAND, Boolean.toString(absolute), (argument == null
-                    ? file
-                    : file + ARGUMENT_DELIMITER + argument));
+            String[] command = toLoadCommand(file, absolute, argument);
+            BufferedResponse response = new BufferedResponse(connection.execute(PROTOCOL_VERSION, command[0], command[1], command[2], command[3]));
             try {
                 checkHeader(response);
             } finally {
@@ -394,7 +489,7 @@ public interface VirtualMachine {
                     stringBuilder.append(value);
                 }
             }
-            Connection.Response response = connection.execute(PROTOCOL_VERSION, "jcmd", stringBuilder.toString(), null, null);
+            BufferedResponse response = new BufferedResponse(connection.execute(PROTOCOL_VERSION, "jcmd", stringBuilder.toString(), null, null));
             try {
                 checkHeader(response);
             } finally {
@@ -406,7 +501,7 @@ public interface VirtualMachine {
          * {@inheritDoc}
          */
         public String startLocalManagementAgent() throws IOException {
-            Connection.Response response = connection.execute(PROTOCOL_VERSION, "jcmd", "ManagementAgent.start_local", null, null);
+            BufferedResponse response = new BufferedResponse(connection.execute(PROTOCOL_VERSION, "jcmd", "ManagementAgent.start_local", null, null));
             try {
                 checkHeader(response);
                 return getAgentProperties().getProperty("com.sun.management.jmxremote.localConnectorAddress");
@@ -422,6 +517,369 @@ public interface VirtualMachine {
             connection.close();
         }
 
+        /**
+         * A pipeline of commands that are executed on a HotSpot VM. The HotSpot attach mechanism handles a single command
+         * per socket connection. A pipeline sends its commands before reading their responses such that the target VM
+         * can process commands while previous responses are still in transit. As a consequence, all commands are executed
+         * by the target VM even if a previous command fails. As the target VM processes commands sequentially and blocks
+         * while writing a response that is not consumed, only a limited amount of commands is in flight at any time. Once
+         * this limit is reached, the oldest response is read entirely before sending the next command.
+         */
+        public static class Pipeline {
+
+            /**
+             * The maximum amount of commands that are sent without reading their responses. This is kept below the
+             * connection backlog of the HotSpot attach listener.
+             */
+            private static final int MAXIMUM_IN_FLIGHT = 4;
+
+            /**
+             * The connection to the target VM.
+             */
+            private final Connection connection;
+
+            /**
+             * The arguments of the commands of this pipeline.
+             */
+            private final List<String[]> commands;
+
+            /**
+             * {@code true} for any command that yields properties.
+             */
+            private final List<Boolean> properties;
+
+            /**
+             * Creates a new pipeline.
+             *
+             * @param connection The connection to the target VM.
+             */
+            protected Pipeline(Connection connection) {
+                this.connection = connection;
+                commands = new ArrayList<String[]>();
+                properties = new ArrayList<Boolean>();
+            }
+
+            /**
+             * Adds a command for reading the target VM's system properties.
+             *
+             * @return This pipeline.
+             */
+            public Pipeline getSystemProperties() {
+                return add(true, "properties", null, null, null);
+            }
+
+            /**
+             * Adds a command for reading the target VM's agent properties.
+             *
+             * @return This pipeline.
+             */
+            public Pipeline getAgentProperties() {
+                return add(true, "agentProperties", null, null, null);
+            }
+
+            /**
+             * Adds a command for loading an agent.
+             *
+             * @param jarFile  The jar file to attach.
+             * @param argument The argument to provide or {@code null} if no argument should be provided.
+             * @return This pipeline.
+             */
+            public Pipeline loadAgent(String jarFile, @MaybeNull String argument) {
+                return add(false, toLoadCommand(jarFile, false, argument));
+            }
+
+            /**
+             * Adds a command for loading a native agent.
+             *
+             * @param path     The agent path.
+             * @param argument The argument to provide or {@code null} if no argument should be provided.
+             * @return This pipeline.
+             */
+            public Pipeline loadAgentPath(String path, @MaybeNull String argument) {
+                return add(false, toLoadCommand(path, true, argument));
+            }
+
+            /**
+             * Adds a command for loading a native agent library.
+             *
+             * @param library  The agent library.
+             * @param argument The argument to provide or {@code null} if no argument should be provided.
+             * @return This pipeline.
+             */
+            public Pipeline loadAgentLibrary(String library, @MaybeNull String argument) {
+                return add(false, toLoadCommand(library, false, argument));
+            }
+
+            /**
+             * Adds a command to this pipeline.
+             *
+             * @param properties {@code true} if the command yields properties.
+             * @param command    The arguments of the command.
+             * @return This pipeline.
+             */
+            private Pipeline add(boolean properties, String... command) {
+                commands.add(command);
+                this.properties.add(properties);
+                return this;
+            }
+
+            /**
+             * Executes all commands of this pipeline. Commands can be added to the pipeline after its execution to execute
+             * them again.
+             *
+             * @return A list of the results of each command in the order the commands were added where the result is
+             * {@code null} for commands that do not read properties.
+             * @throws IOException If an I/O exception occurs.
+             */
+            public List<Properties> execute() throws IOException {
+                List<BufferedResponse> responses = new ArrayList<BufferedResponse>(commands.size());
+                try {
+                    for (String[] command : commands) {
+                        if (responses.size() >= MAXIMUM_IN_FLIGHT) {
+                            responses.get(responses.size() - MAXIMUM_IN_FLIGHT).drain();
+                        }
+                        responses.add(new BufferedResponse(connection.execute(PROTOCOL_VERSION, command)));
+                    }
+                    List<Properties> results = new ArrayList<Properties>(responses.size());
+                    for (int index = 0; index < responses.size(); index++) {
+                        checkHeader(responses.get(index));
+                        results.add(properties.get(index)
+                                ? readProperties(responses.get(index))
+                                : null);
+                    }
+                    return results;
+                } finally {
+                    for (BufferedResponse response : responses) {
+                        response.close();
+                    }
+                }
+            }
+        }
+
+        /**
+         * A response that reads from its underlying response in chunks, what avoids reading single bytes from the target VM
+         * when reading a response's header.
+         */
+        protected static class BufferedResponse implements Connection.Response {
+
+            /**
+             * The underlying response.
+             */
+            private final Connection.Response response;
+
+            /**
+             * The buffer of bytes that were read but not yet consumed.
+             */
+            private byte[] buffer;
+
+            /**
+             * The index of the next unconsumed byte in the buffer.
+             */
+            private int position;
+
+            /**
+             * The amount of valid bytes in the buffer.
+             */
+            private int limit;
+
+            /**
+             * {@code true} if the underlying response was read entirely and closed.
+             */
+            private boolean drained;
+
+            /**
+             * Creates a new buffered response.
+             *
+             * @param response The underlying response.
+             */
+            protected BufferedResponse(Connection.Response response) {
+                this.response = response;
+                buffer = new byte[1024];
+            }
+
+            /**
+             * Reads a single byte of this response.
+             *
+             * @return The read byte or {@code -1} if the response is exhausted.
+             * @throws IOException If an I/O exception occurs.
+             */
+            protected int read() throws IOException {
+                while (position == limit) {
+                    if (drained) {
+                        return -1;
+                    }
+                    int length = response.read(buffer);
+                    if (length == -1) {
+                        return -1;
+                    }
+                    position = 0;
+                    limit = length;
+                }
+                return buffer[position++] & 0xFF;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public int read(byte[] buffer) throws IOException {
+                if (position == limit) {
+                    return drained
+                            ? -1
+                            : response.read(buffer);
+                }
+                int length = Math.min(buffer.length, limit - position);
+                System.arraycopy(this.buffer, position, buffer, 0, length);
+                position += length;
+                return length;
+            }
+
+            /**
+             * Reads the remainder of the underlying response into memory and closes it, what allows the target VM to
+             * complete writing the response.
+             *
+             * @throws IOException If an I/O exception occurs.
+             */
+            protected void drain() throws IOException {
+                if (!drained) {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    outputStream.write(buffer, position, limit - position);
+                    outputStream.write(readFully(response));
+                    buffer = outputStream.toByteArray();
+                    position = 0;
+                    limit = buffer.length;
+                    drained = true;
+                    response.close();
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                if (!drained) {
+                    response.close();
+                }
+            }
+        }
+
+        /**
+         * Represents a completed attachment to a virtual machine.
+         */
+        public static class Attachment {
+
+            /**
+             * The process id of the attached virtual machine.
+             */
+            private final String processId;
+
+            /**
+             * The attached virtual machine.
+             */
+            private final VirtualMachine virtualMachine;
+
+            /**
+             * The duration of the attachment in nanoseconds.
+             */
+            private final long duration;
+
+            /**
+             * Creates a new attachment.
+             *
+             * @param processId      The process id of the attached virtual machine.
+             * @param virtualMachine The attached virtual machine.
+             * @param duration       The duration of the attachment in nanoseconds.
+             */
+            protected Attachment(String processId, VirtualMachine virtualMachine, long duration) {
+                this.processId = processId;
+                this.virtualMachine = virtualMachine;
+                this.duration = duration;
+            }
+
+            /**
+             * Returns the process id of the attached virtual machine.
+             *
+             * @return The process id of the attached virtual machine.
+             */
+            public String getProcessId() {
+                return processId;
+            }
+
+            /**
+             * Returns the attached virtual machine which must be detached by the user of this attachment.
+             *
+             * @return The attached virtual machine.
+             */
+            public VirtualMachine getVirtualMachine() {
+                return virtualMachine;
+            }
+
+            /**
+             * Returns the time it took to attach to the virtual machine, not including the time the attachment was queued.
+             *
+             * @param timeUnit The time unit in which to return the duration.
+             * @return The duration of the attachment.
+             */
+            public long getDuration(TimeUnit timeUnit) {
+                return timeUnit.convert(duration, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        /**
+         * A task for attaching to a virtual machine.
+         */
+        protected static class AttachmentTask implements Callable<Attachment> {
+
+            /**
+             * The process id of the virtual machine to attach to.
+             */
+            private final String processId;
+
+            /**
+             * The connection factory to use.
+             */
+            private final Connection.Factory connectionFactory;
+
+            /**
+             * Creates a new attachment task.
+             *
+             * @param processId         The process id of the virtual machine to attach to.
+             * @param connectionFactory The connection factory to use.
+             */
+            protected AttachmentTask(String processId, Connection.Factory connectionFactory) {
+                this.processId = processId;
+                this.connectionFactory = connectionFactory;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Attachment call() throws IOException {
+                long started = System.nanoTime();
+                VirtualMachine virtualMachine = attach(processId, connectionFactory);
+                return new Attachment(processId, virtualMachine, System.nanoTime() - started);
+            }
+        }
+
+        /**
+         * A thread factory for daemon threads that attach to virtual machines.
+         */
+        protected enum DaemonThreadFactory implements ThreadFactory {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "byte-buddy-attach");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }
+
         /**
          * Represents a connection to a virtual machine.
          */
@@ -481,18 +939,26 @@ public interface VirtualMachine {
                      */
                     private static final String ATTACH_FILE_PREFIX = ".attach_pid";
 
+                    /**
+                     * The initial pause in nanoseconds between two checks for an established socket connection which is
+                     * doubled after each check until the configured pause is reached.
+                     */
+                    private static final long MINIMUM_PAUSE = TimeUnit.MILLISECONDS.toNanos(1);
+
                     /**
                      * The temporary directory to use.
                      */
                     private final String temporaryDirectory;
 
                     /**
-                     * The maximum amount of attempts for checking the establishment of a socket connection.
+                     * The maximum amount of attempts for checking the establishment of a socket connection. Together with
+                     * the pause, this determines the maximum time to wait for a socket connection.
                      */
                     private final int attempts;
 
                     /**
-                     * The pause between two checks for an established socket connection.
+                     * The maximum pause between two checks for an established socket connection. Checks are started with
+                     * a shorter pause which is increased exponentially up to this pause.
                      */
                     private final long pause;
 
@@ -537,9 +1003,15 @@ public interface VirtualMachine {
                             }
                             try {
                                 kill(processId, 3);
-                                int attempts = this.attempts;
-                                while (!socket.exists() && attempts-- > 0) {
-                                    timeUnit.sleep(pause);
+                                long maximum = timeUnit.toNanos(pause), backoff = Math.min(maximum, MINIMUM_PAUSE);
+                                long deadline = System.nanoTime() + maximum * attempts;
+                                while (!socket.exists()) {
+                                    long remaining = deadline - System.nanoTime();
+                                    if (remaining <= 0) {
+                                        break;
+                                    }
+                                    TimeUnit.NANOSECONDS.sleep(Math.min(backoff, remaining));
+                                    backoff = Math.min(maximum, backoff * 2);
                                 }
                                 if (!socket.exists()) {
                                     throw new IllegalStateException("Target VM did not respond: " + processId);
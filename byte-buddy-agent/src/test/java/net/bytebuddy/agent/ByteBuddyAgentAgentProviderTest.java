@@ -3,6 +3,7 @@ package net.bytebuddy.agent;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.jar.JarFile;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -26,4 +27,29 @@ public class ByteBuddyAgentAgentProviderTest {
         ByteBuddyAgent.AgentProvider provider = ByteBuddyAgent.AgentProvider.ForByteBuddyAgent.INSTANCE;
         assertThat(provider.resolve().isFile(), is(true));
     }
+
+    @Test
+    public void testCachedAgent() throws Exception {
+        File directory = File.createTempFile("byteBuddyAgentCache", "");
+        assertThat(directory.delete(), is(true));
+        System.setProperty(ByteBuddyAgent.CACHE_DIRECTORY, directory.getAbsolutePath());
+        try {
+            File agent = ByteBuddyAgent.AgentProvider.ForByteBuddyAgent.INSTANCE.resolve();
+            if (!agent.getParentFile().equals(directory)) {
+                return; // Agent is resolved from its own jar file.
+            }
+            assertThat(ByteBuddyAgent.AgentProvider.ForByteBuddyAgent.INSTANCE.resolve(), is(agent));
+            assertThat(directory.listFiles().length, is(1));
+            JarFile jarFile = new JarFile(agent);
+            try {
+                assertThat(jarFile.getManifest().getMainAttributes().getValue("Agent-Class"), is(Installer.class.getName()));
+            } finally {
+                jarFile.close();
+            }
+            assertThat(agent.delete(), is(true));
+        } finally {
+            System.clearProperty(ByteBuddyAgent.CACHE_DIRECTORY);
+            assertThat(!directory.exists() || directory.delete(), is(true));
+        }
+    }
 }
@@ -1,14 +1,22 @@
 package net.bytebuddy.agent;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -58,6 +66,92 @@ public class VirtualMachineForHotSpotTest {
         verify(connection).close();
     }
 
+    @Test
+    public void testPipeline() throws Exception {
+        VirtualMachine.ForHotSpot.Connection connection = mock(VirtualMachine.ForHotSpot.Connection.class);
+        VirtualMachine.ForHotSpot.Connection.Response load = mock(VirtualMachine.ForHotSpot.Connection.Response.class);
+        VirtualMachine.ForHotSpot.Connection.Response properties = mock(VirtualMachine.ForHotSpot.Connection.Response.class);
+        when(connection.execute("1", "load", "instrument", "false", FOO + "=" + BAR)).thenReturn(load);
+        when(connection.execute("1", "properties", null, null, null)).thenReturn(properties);
+        when(load.read(any(byte[].class))).then(new ByteAnswer("0\n".getBytes("UTF-8"))).thenReturn(-1);
+        when(properties.read(any(byte[].class)))
+                .then(new ByteAnswer(("0\n" + FOO + "=" + BAR).getBytes("ISO_8859_1")))
+                .thenReturn(-1);
+        List<Properties> results = new VirtualMachine.ForHotSpot(connection).pipeline()
+                .loadAgent(FOO, BAR)
+                .getSystemProperties()
+                .execute();
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0), nullValue(Properties.class));
+        assertThat(results.get(1).getProperty(FOO), is(BAR));
+        InOrder inOrder = inOrder(connection, load, properties);
+        inOrder.verify(connection).execute("1", "load", "instrument", "false", FOO + "=" + BAR);
+        inOrder.verify(connection).execute("1", "properties", null, null, null);
+        inOrder.verify(load).read(any(byte[].class));
+        verify(load).close();
+        verify(properties).close();
+        verifyNoMoreInteractions(connection);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPipelineFailureClosesAllResponses() throws Exception {
+        VirtualMachine.ForHotSpot.Connection connection = mock(VirtualMachine.ForHotSpot.Connection.class);
+        VirtualMachine.ForHotSpot.Connection.Response first = mock(VirtualMachine.ForHotSpot.Connection.Response.class);
+        VirtualMachine.ForHotSpot.Connection.Response second = mock(VirtualMachine.ForHotSpot.Connection.Response.class);
+        when(connection.execute(anyString(), Mockito.<String[]>any())).thenReturn(first, second);
+        when(first.read(any(byte[].class))).then(new ByteAnswer(("1\n" + FOO).getBytes("UTF-8"))).thenReturn(-1);
+        try {
+            new VirtualMachine.ForHotSpot(connection).pipeline().loadAgent(FOO, null).loadAgent(BAR, null).execute();
+        } finally {
+            verify(first).close();
+            verify(second).close();
+        }
+    }
+
+    @Test
+    public void testPipelineLimitsCommandsInFlight() throws Exception {
+        BacklogConnection connection = new BacklogConnection(5, 64 * 1024);
+        VirtualMachine.ForHotSpot.Pipeline pipeline = new VirtualMachine.ForHotSpot(connection).pipeline();
+        for (int index = 0; index < 20; index++) {
+            pipeline.getSystemProperties();
+        }
+        List<Properties> results = pipeline.execute();
+        assertThat(results.size(), is(20));
+        for (Properties properties : results) {
+            assertThat(properties.size(), is(64 * 1024 / 16));
+            assertThat(properties.getProperty("key" + 0), is(FOO));
+        }
+        assertThat(connection.pending, is(0));
+    }
+
+    @Test
+    public void testConcurrentAttachment() throws Exception {
+        VirtualMachine.ForHotSpot.Connection.Factory connectionFactory = mock(VirtualMachine.ForHotSpot.Connection.Factory.class);
+        VirtualMachine.ForHotSpot.Connection connection = mock(VirtualMachine.ForHotSpot.Connection.class);
+        when(connectionFactory.connect(FOO)).thenReturn(connection);
+        when(connectionFactory.connect(BAR)).thenThrow(new IOException());
+        Map<String, Future<VirtualMachine.ForHotSpot.Attachment>> attachments = VirtualMachine.ForHotSpot.attach(Arrays.asList(FOO, BAR, FOO), connectionFactory, 2);
+        assertThat(attachments.size(), is(2));
+        VirtualMachine.ForHotSpot.Attachment attachment = attachments.get(FOO).get(1, TimeUnit.MINUTES);
+        assertThat(attachment.getProcessId(), is(FOO));
+        assertThat(attachment.getDuration(TimeUnit.NANOSECONDS) >= 0L, is(true));
+        attachment.getVirtualMachine().detach();
+        verify(connection).close();
+        try {
+            attachments.get(BAR).get(1, TimeUnit.MINUTES);
+            throw new AssertionError();
+        } catch (ExecutionException exception) {
+            assertThat(exception.getCause() instanceof IOException, is(true));
+        }
+        verify(connectionFactory).connect(FOO);
+        verify(connectionFactory).connect(BAR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentAttachmentIllegalParallelism() throws Exception {
+        VirtualMachine.ForHotSpot.attach(Arrays.asList(FOO), mock(VirtualMachine.ForHotSpot.Connection.Factory.class), 0);
+    }
+
     @Test
     public void testAttachment() throws Exception {
         VirtualMachine.ForHotSpot.Connection connection = mock(VirtualMachine.ForHotSpot.Connection.class);
@@ -211,6 +305,64 @@ public class VirtualMachineForHotSpotTest {
         new VirtualMachine.ForHotSpot(connection).loadAgent(FOO, null);
     }
 
+    private static class BacklogConnection implements VirtualMachine.ForHotSpot.Connection {
+
+        private final int backlog;
+
+        private final byte[] payload;
+
+        private int pending;
+
+        private BacklogConnection(int backlog, int size) throws IOException {
+            this.backlog = backlog;
+            StringBuilder stringBuilder = new StringBuilder("0\n");
+            for (int index = 0; index < size / 16; index++) {
+                String key = "key" + index;
+                stringBuilder.append(key);
+                for (int padding = key.length(); padding < 11; padding++) {
+                    stringBuilder.append(' ');
+                }
+                stringBuilder.append('=').append(FOO).append('\n');
+            }
+            payload = stringBuilder.toString().getBytes("ISO_8859_1");
+        }
+
+        public Response execute(String protocol, String... argument) throws IOException {
+            if (pending == backlog) {
+                throw new AssertionError("Target VM would block while writing an unread response");
+            }
+            pending++;
+            return new Response() {
+
+                private int position;
+
+                private boolean closed;
+
+                public int read(byte[] buffer) {
+                    if (position == payload.length) {
+                        return -1;
+                    }
+                    int length = Math.min(buffer.length, payload.length - position);
+                    System.arraycopy(payload, position, buffer, 0, length);
+                    position += length;
+                    return length;
+                }
+
+                public void close() {
+                    if (closed) {
+                        throw new AssertionError("Response was closed twice");
+                    }
+                    closed = true;
+                    pending--;
+                }
+            };
+        }
+
+        public void close() {
+            /* do nothing */
+        }
+    }
+
     private static class ByteAnswer implements Answer<Integer> {
 
         private final byte[] value;
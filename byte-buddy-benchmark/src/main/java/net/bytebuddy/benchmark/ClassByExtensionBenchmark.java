@@ -451,6 +451,28 @@ public class ClassByExtensionBenchmark {
                 .newInstance();
     }
 
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses the annotation-based approach
+     * but binds a stateless invoker per intercepted method together with a view on the arguments, such that no proxy
+     * instance needs to be allocated for invoking the super method.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the invocation causes an exception.
+     */
+    @Benchmark
+    public ExampleClass benchmarkByteBuddyWithCallSite() throws Exception {
+        return new ByteBuddy()
+                .with(TypeValidation.DISABLED)
+                .ignore(none())
+                .subclass(baseClass)
+                .method(isDeclaredBy(baseClass)).intercept(MethodDelegation.to(ByteBuddyCallSiteInterceptor.class))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
     /**
      * Performs a benchmark of a class extension using cglib.
      *
@@ -546,6 +568,36 @@ public class ClassByExtensionBenchmark {
         }
     }
 
+    /**
+     * Instead of using the {@link net.bytebuddy.implementation.SuperMethodCall} implementation, we are using
+     * a delegate that invokes the super method by a stateless invoker and a view on the intercepted method's arguments.
+     */
+    public static class ByteBuddyCallSiteInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyCallSiteInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Call the super method.
+         *
+         * @param target    The target instance.
+         * @param invoker   An invoker for the super method.
+         * @param arguments A view on the arguments of the intercepted method.
+         * @return The return value of the super method invocation.
+         * @throws Exception If the super method call yields an exception.
+         */
+        @RuntimeType
+        public static Object intercept(@This Object target,
+                                       @SuperCallSite SuperCallSite.Invoker invoker,
+                                       @ArgumentsView ArgumentsView.Arguments arguments) throws Exception {
+            return invoker.invoke(target, arguments);
+        }
+    }
+
     /**
      * Instead of using the {@link net.bytebuddy.implementation.SuperMethodCall} implementation, we are creating
      * delegate methods that allow the invocation of the original code.
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+
+/**
+ * <p>
+ * A benchmark for matching type names against a large ignore list of name prefixes and infixes, as it is typical for Java agents.
+ * The benchmark compares a disjunction of individual name matchers to the compiled matcher that Byte Buddy creates when
+ * combining name matchers via {@link ElementMatcher.Junction#or(ElementMatcher)}.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NameMatcherBenchmark {
+
+    /**
+     * The number of patterns of the ignore list.
+     */
+    public static final int PATTERNS = 1000;
+
+    /**
+     * A disjunction that applies every name matcher in sequence.
+     */
+    private ElementMatcher<TypeDescription> sequential;
+
+    /**
+     * A matcher that is compiled from all name matchers.
+     */
+    private ElementMatcher<TypeDescription> compiled;
+
+    /**
+     * A type that is not matched by any pattern.
+     */
+    private TypeDescription unmatched = TypeDescription.ForLoadedType.of(NameMatcherBenchmark.class);
+
+    /**
+     * A type that is matched by the last prefix pattern.
+     */
+    private TypeDescription matched = TypeDescription.ForLoadedType.of(Object.class);
+
+    /**
+     * Sets up this benchmark.
+     */
+    @Setup
+    public void setup() {
+        List<ElementMatcher<? super TypeDescription>> matchers = new ArrayList<ElementMatcher<? super TypeDescription>>(PATTERNS);
+        ElementMatcher.Junction<TypeDescription> compiled = null;
+        for (int index = 0; index < PATTERNS - 1; index++) {
+            ElementMatcher.Junction<TypeDescription> matcher = index % 2 == 0
+                    ? ElementMatchers.<TypeDescription>nameStartsWith("com.example" + index + ".")
+                    : ElementMatchers.<TypeDescription>nameContains("$$Generated" + index + "$$");
+            matchers.add(matcher);
+            compiled = index == 0
+                    ? matcher
+                    : compiled.or(matcher);
+        }
+        matchers.add(nameStartsWith("java."));
+        sequential = new ElementMatcher.Junction.Disjunction<TypeDescription>(matchers);
+        this.compiled = compiled.or(nameStartsWith("java."));
+    }
+
+    /**
+     * Matches a type that is not contained in the ignore list using a sequential disjunction.
+     *
+     * @return {@code true} if the type is matched.
+     */
+    @Benchmark
+    public boolean benchmarkSequentialMismatch() {
+        return sequential.matches(unmatched);
+    }
+
+    /**
+     * Matches a type that is not contained in the ignore list using a compiled matcher.
+     *
+     * @return {@code true} if the type is matched.
+     */
+    @Benchmark
+    public boolean benchmarkCompiledMismatch() {
+        return compiled.matches(unmatched);
+    }
+
+    /**
+     * Matches a type that is matched by the last pattern of the ignore list using a sequential disjunction.
+     *
+     * @return {@code true} if the type is matched.
+     */
+    @Benchmark
+    public boolean benchmarkSequentialMatch() {
+        return sequential.matches(matched);
+    }
+
+    /**
+     * Matches a type that is matched by the last pattern of the ignore list using a compiled matcher.
+     *
+     * @return {@code true} if the type is matched.
+     */
+    @Benchmark
+    public boolean benchmarkCompiledMatch() {
+        return compiled.matches(matched);
+    }
+}
@@ -96,6 +96,13 @@ public class SuperClassInvocationBenchmark {
     @MaybeNull
     private ExampleClass byteBuddyWithProxyInstance;
 
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by binding a
+     * stateless invoker for the super method and a view on the arguments to a delegation target.
+     */
+    @MaybeNull
+    private ExampleClass byteBuddyWithCallSiteInstance;
+
     /**
      * An instance created by Byte Buddy for performing benchmarks on. This instance is created by adding
      * super invocation methods which are exposed via the reflection API.
@@ -140,6 +147,7 @@ public class SuperClassInvocationBenchmark {
         ClassByExtensionBenchmark classByExtensionBenchmark = new ClassByExtensionBenchmark();
         baselineInstance = classByExtensionBenchmark.baseline();
         byteBuddyWithProxyInstance = classByExtensionBenchmark.benchmarkByteBuddyWithProxy();
+        byteBuddyWithCallSiteInstance = classByExtensionBenchmark.benchmarkByteBuddyWithCallSite();
         byteBuddyWithAccessorInstance = classByExtensionBenchmark.benchmarkByteBuddyWithAccessor();
         byteBuddyWithPrefixInstance = classByExtensionBenchmark.benchmarkByteBuddyWithPrefix();
         byteBuddySpecializedInstance = classByExtensionBenchmark.benchmarkByteBuddySpecialized();
@@ -208,6 +216,37 @@ public class SuperClassInvocationBenchmark {
         blackHole.consume(byteBuddyWithProxyInstance.method(stringValue, stringValue, stringValue));
     }
 
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach with a stateless invoker and a view on the arguments which avoids the allocation of a proxy instance.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithCallSite(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(booleanValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(byteValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(shortValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(intValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(charValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(intValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(longValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(floatValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(doubleValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(stringValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(booleanValue, booleanValue, booleanValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(byteValue, byteValue, byteValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(shortValue, shortValue, shortValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(charValue, charValue, charValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(intValue, intValue, intValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(longValue, longValue, longValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(floatValue, floatValue, floatValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(doubleValue, doubleValue, doubleValue));
+        blackHole.consume(byteBuddyWithCallSiteInstance.method(stringValue, stringValue, stringValue));
+    }
+
     /**
      * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark also uses the annotation-based approach
      * but creates delegation methods which do not require the creation of additional classes.
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A benchmark for repeatedly describing and subclassing a type that was already described before, as it is typical for
+ * runtime proxy factories. The benchmark compares the canonical description that is returned by
+ * {@link TypeDescription.ForLoadedType#of(Class)}, where reflected members are only resolved once, to a fresh description
+ * of the same type that needs to resolve all members anew. Canonical descriptions are only returned if the benchmark is
+ * run with the {@link TypeDescription.ForLoadedType#CANONICAL_PROPERTY} set to {@code true}.
+ * </p>
+ * <p>
+ * Note that this class defines all values that are accessed by benchmark methods as instance fields. This way, the JIT
+ * compiler's capability of constant folding is limited in order to produce more comparable test results.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WarmTypeDescriptionBenchmark {
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    public static final Class<? extends ExampleClass> BASE_CLASS = ExampleClass.class;
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    private Class<? extends ExampleClass> baseClass = BASE_CLASS;
+
+    /**
+     * The Byte Buddy instance to use.
+     */
+    private ByteBuddy byteBuddy;
+
+    /**
+     * Sets up this benchmark by warming up the canonical description of the base class.
+     */
+    @Setup
+    public void setup() {
+        byteBuddy = new ByteBuddy().with(TypeValidation.DISABLED);
+        TypeDescription.ForLoadedType.of(baseClass).getDeclaredMethods();
+    }
+
+    /**
+     * Resolves the declared methods of the base class from its canonical description.
+     *
+     * @return The declared methods of the base class.
+     */
+    @Benchmark
+    public MethodList<MethodDescription.InDefinedShape> benchmarkCanonicalDeclaredMethods() {
+        return TypeDescription.ForLoadedType.of(baseClass).getDeclaredMethods();
+    }
+
+    /**
+     * Resolves the declared methods of the base class from a fresh description.
+     *
+     * @return The declared methods of the base class.
+     */
+    @Benchmark
+    public MethodList<MethodDescription.InDefinedShape> benchmarkFreshDeclaredMethods() {
+        return new TypeDescription.ForLoadedType(baseClass).getDeclaredMethods();
+    }
+
+    /**
+     * Creates a subclass of the base class from its canonical description.
+     *
+     * @return The class file of the created subclass.
+     */
+    @Benchmark
+    public byte[] benchmarkCanonicalSubclass() {
+        return byteBuddy.subclass(baseClass).make().getBytes();
+    }
+
+    /**
+     * Creates a subclass of the base class from a fresh description.
+     *
+     * @return The class file of the created subclass.
+     */
+    @Benchmark
+    public byte[] benchmarkFreshSubclass() {
+        return byteBuddy.subclass(new TypeDescription.ForLoadedType(baseClass)).make().getBytes();
+    }
+}
@@ -21,6 +21,18 @@ public class ClassByExtensionBenchmarkByteBuddyInterceptorTest {
         }
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCallSiteInterceptor() throws Exception {
+        Constructor<?> constructor = ClassByExtensionBenchmark.ByteBuddyCallSiteInterceptor.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException exception) {
+            throw (UnsupportedOperationException) exception.getTargetException();
+        }
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void testAccessorInterceptor() throws Exception {
         Constructor<?> constructor = ClassByExtensionBenchmark.ByteBuddyAccessInterceptor.class.getDeclaredConstructor();
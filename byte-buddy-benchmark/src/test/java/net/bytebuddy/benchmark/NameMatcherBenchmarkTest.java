@@ -0,0 +1,30 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameMatcherBenchmarkTest {
+
+    private NameMatcherBenchmark nameMatcherBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        nameMatcherBenchmark = new NameMatcherBenchmark();
+        nameMatcherBenchmark.setup();
+    }
+
+    @Test
+    public void testMismatch() throws Exception {
+        assertThat(nameMatcherBenchmark.benchmarkSequentialMismatch(), is(false));
+        assertThat(nameMatcherBenchmark.benchmarkCompiledMismatch(), is(false));
+    }
+
+    @Test
+    public void testMatch() throws Exception {
+        assertThat(nameMatcherBenchmark.benchmarkSequentialMatch(), is(true));
+        assertThat(nameMatcherBenchmark.benchmarkCompiledMatch(), is(true));
+    }
+}
@@ -23,6 +23,11 @@ public class SuperClassInvocationBenchmarkTest extends AbstractBlackHoleTest {
         superClassInvocationBenchmark.benchmarkByteBuddyWithProxy(blackHole);
     }
 
+    @Test
+    public void testByteBuddyWithCallSiteBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithCallSite(blackHole);
+    }
+
     @Test
     public void testByteBuddyWithAccessorsBenchmark() throws Exception {
         superClassInvocationBenchmark.benchmarkByteBuddyWithAccessor(blackHole);
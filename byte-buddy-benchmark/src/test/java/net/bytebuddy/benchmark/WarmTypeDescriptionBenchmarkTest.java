@@ -0,0 +1,33 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WarmTypeDescriptionBenchmarkTest {
+
+    private WarmTypeDescriptionBenchmark warmTypeDescriptionBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        warmTypeDescriptionBenchmark = new WarmTypeDescriptionBenchmark();
+        warmTypeDescriptionBenchmark.setup();
+    }
+
+    @Test
+    public void testDeclaredMethods() throws Exception {
+        assertThat(warmTypeDescriptionBenchmark.benchmarkCanonicalDeclaredMethods(),
+                is(TypeDescription.ForLoadedType.of(WarmTypeDescriptionBenchmark.BASE_CLASS).getDeclaredMethods()));
+        assertThat(warmTypeDescriptionBenchmark.benchmarkFreshDeclaredMethods(),
+                is(TypeDescription.ForLoadedType.of(WarmTypeDescriptionBenchmark.BASE_CLASS).getDeclaredMethods()));
+    }
+
+    @Test
+    public void testSubclass() throws Exception {
+        assertThat(warmTypeDescriptionBenchmark.benchmarkCanonicalSubclass().length > 0, is(true));
+        assertThat(warmTypeDescriptionBenchmark.benchmarkFreshSubclass().length > 0, is(true));
+    }
+}
@@ -94,7 +94,6 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
-import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -116,10 +115,12 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -990,6 +991,17 @@ public interface AgentBuilder {
          */
         WithoutResubmissionSpecification withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler);
 
+        /**
+         * Specifies resubmission for given unloaded types or types that fail upon an exception during instrumentation. Once
+         * the specified amount of types is enqueued for resubmission, no further types are enqueued until enqueued types were
+         * resubmitted.
+         *
+         * @param resubmissionScheduler The resubmission scheduler to use.
+         * @param maximumSize           The maximum amount of types that are enqueued for resubmission at the same time.
+         * @return A new builder to determine what types should be resubmitted given the supplied resubmission scheduler.
+         */
+        WithoutResubmissionSpecification withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, int maximumSize);
+
         /**
          * A matcher that determines if types should be resubmitted if it is not yet loaded and if an exception is raised.
          */
@@ -3714,6 +3726,11 @@ public interface AgentBuilder {
          * <p>
          * All types that are returned by the locator's type pool are resolved lazily.
          * </p>
+         * <p>
+         * Optionally, a parent type pool can be shared by all created type pools, typically a {@link TypePool.Default.Shared} pool
+         * that describes the types of the boot and the platform loader such that these types are not parsed and cached once per
+         * class loader. The parent pool is never queried for the type that is currently transformed.
+         * </p>
          */
         @HashCodeAndEqualsPlugin.Enhance
         abstract class WithTypePoolCache implements PoolStrategy {
@@ -3723,20 +3740,36 @@ public interface AgentBuilder {
              */
             protected final TypePool.Default.ReaderMode readerMode;
 
+            /**
+             * The parent type pool that is shared by all type pools that are created by this pool strategy.
+             */
+            protected final TypePool parentPool;
+
             /**
              * Creates a new type locator that creates {@link TypePool}s but provides a custom {@link net.bytebuddy.pool.TypePool.CacheProvider}.
              *
              * @param readerMode The reader mode to use for parsing a class file.
              */
             protected WithTypePoolCache(TypePool.Default.ReaderMode readerMode) {
+                this(readerMode, TypePool.Empty.INSTANCE);
+            }
+
+            /**
+             * Creates a new type locator that creates {@link TypePool}s but provides a custom {@link net.bytebuddy.pool.TypePool.CacheProvider}.
+             *
+             * @param readerMode The reader mode to use for parsing a class file.
+             * @param parentPool The parent type pool that is shared by all type pools that are created by this pool strategy.
+             */
+            protected WithTypePoolCache(TypePool.Default.ReaderMode readerMode, TypePool parentPool) {
                 this.readerMode = readerMode;
+                this.parentPool = parentPool;
             }
 
             /**
              * {@inheritDoc}
              */
             public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader) {
-                return new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode));
+                return new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode, parentPool));
             }
 
             /**
@@ -3745,7 +3778,9 @@ public interface AgentBuilder {
             public TypePool typePool(ClassFileLocator classFileLocator, @MaybeNull ClassLoader classLoader, String name) {
                 return new TypePool.LazyFacade(new TypePool.Default.WithLazyResolution(new TypePool.CacheProvider.Discriminating(ElementMatchers.<String>is(name),
                         new TypePool.CacheProvider.Simple(),
-                        locate(classLoader)), classFileLocator, readerMode));
+                        locate(classLoader)), classFileLocator, readerMode, parentPool == TypePool.Empty.INSTANCE
+                        ? parentPool
+                        : new Excluding(parentPool, name)));
             }
 
             /**
@@ -3757,6 +3792,51 @@ public interface AgentBuilder {
              */
             protected abstract TypePool.CacheProvider locate(@MaybeNull ClassLoader classLoader);
 
+            /**
+             * A type pool that delegates to a parent type pool for all types but the type that is currently transformed. This way,
+             * the transformed type is always described by the binary representation that is supplied to the class file transformer.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Excluding implements TypePool {
+
+                /**
+                 * The type pool to delegate to.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * The name of the excluded type.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new excluding type pool.
+                 *
+                 * @param typePool The type pool to delegate to.
+                 * @param name     The name of the excluded type.
+                 */
+                protected Excluding(TypePool typePool, String name) {
+                    this.typePool = typePool;
+                    this.name = name;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution describe(String name) {
+                    return this.name.equals(name)
+                            ? new Resolution.Illegal(name)
+                            : typePool.describe(name);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void clear() {
+                    typePool.clear();
+                }
+            }
+
             /**
              * An implementation of a type locator {@link WithTypePoolCache} (note documentation of the linked class) that is based on a
              * {@link ConcurrentMap}. It is the responsibility of the type locator's user to avoid the type locator from leaking memory.
@@ -3791,7 +3871,22 @@ public interface AgentBuilder {
                  * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
                  */
                 public Simple(TypePool.Default.ReaderMode readerMode, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
-                    super(readerMode);
+                    this(readerMode, cacheProviders, TypePool.Empty.INSTANCE);
+                }
+
+                /**
+                 * Creates a new type locator that caches a cache provider per class loader in a concurrent map and that resolves
+                 * types from a parent type pool that is shared by all class loaders, if possible.
+                 *
+                 * @param readerMode     The reader mode to use for parsing a class file.
+                 * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
+                 * @param parentPool     The parent type pool that is shared by all type pools that are created by this pool strategy,
+                 *                       typically a {@link TypePool.Default.Shared} pool.
+                 */
+                public Simple(TypePool.Default.ReaderMode readerMode,
+                              ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders,
+                              TypePool parentPool) {
+                    super(readerMode, parentPool);
                     this.cacheProviders = cacheProviders;
                 }
 
@@ -7399,6 +7494,18 @@ public interface AgentBuilder {
                  */
                 void cancel();
 
+                /**
+                 * A cancelable of a resubmission job that is not executed periodically but that is triggered whenever types are
+                 * enqueued for resubmission.
+                 */
+                interface Triggerable extends Cancelable {
+
+                    /**
+                     * Indicates that types were enqueued for resubmission such that the resubmission job should be executed.
+                     */
+                    void trigger();
+                }
+
                 /**
                  * A non-operational cancelable.
                  */
@@ -7568,6 +7675,187 @@ public interface AgentBuilder {
                     return new Cancelable.ForFuture(scheduledExecutorService.scheduleWithFixedDelay(job, time, time, timeUnit));
                 }
             }
+
+            /**
+             * A resubmission scheduler that does not execute jobs periodically but only after types were enqueued for resubmission.
+             * Upon the first enqueued type, the job is scheduled after a given delay such that types that are enqueued within this
+             * delay are resubmitted by a single execution. Types that are enqueued while a job is executing cause another execution
+             * after the job completes. Without enqueued types, no job is executed.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class WithDebounce implements ResubmissionScheduler {
+
+                /**
+                 * The executor service to schedule to.
+                 */
+                private final ScheduledExecutorService scheduledExecutorService;
+
+                /**
+                 * The time to wait for further enqueued types before executing a job.
+                 */
+                private final long time;
+
+                /**
+                 * The time's time unit.
+                 */
+                private final TimeUnit timeUnit;
+
+                /**
+                 * Creates a new resubmission scheduler that executes jobs after types were enqueued for resubmission.
+                 *
+                 * @param scheduledExecutorService The executor service to schedule to.
+                 * @param time                     The time to wait for further enqueued types before executing a job.
+                 * @param timeUnit                 The time's time unit.
+                 */
+                public WithDebounce(ScheduledExecutorService scheduledExecutorService, long time, TimeUnit timeUnit) {
+                    this.scheduledExecutorService = scheduledExecutorService;
+                    this.time = time;
+                    this.timeUnit = timeUnit;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isAlive() {
+                    return !scheduledExecutorService.isShutdown();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Cancelable schedule(Runnable job) {
+                    return new Job(scheduledExecutorService, job, time, timeUnit);
+                }
+
+                /**
+                 * A job that is executed with a debounce delay upon being triggered.
+                 */
+                protected static class Job implements Cancelable.Triggerable, Runnable {
+
+                    /**
+                     * Indicates that the job is neither scheduled nor executing.
+                     */
+                    private static final int IDLE = 0;
+
+                    /**
+                     * Indicates that the job is scheduled but not yet executing.
+                     */
+                    private static final int SCHEDULED = 1;
+
+                    /**
+                     * Indicates that the job is executing.
+                     */
+                    private static final int RUNNING = 2;
+
+                    /**
+                     * Indicates that the job is executing and that it was triggered during its execution.
+                     */
+                    private static final int RETRIGGERED = 3;
+
+                    /**
+                     * The executor service to schedule to.
+                     */
+                    private final ScheduledExecutorService scheduledExecutorService;
+
+                    /**
+                     * The job to execute.
+                     */
+                    private final Runnable job;
+
+                    /**
+                     * The time to wait for further triggers before executing the job.
+                     */
+                    private final long time;
+
+                    /**
+                     * The time's time unit.
+                     */
+                    private final TimeUnit timeUnit;
+
+                    /**
+                     * The current state of this job.
+                     */
+                    private final AtomicInteger state;
+
+                    /**
+                     * The future of the currently scheduled execution or {@code null} if no execution was scheduled.
+                     */
+                    @MaybeNull
+                    private volatile Future<?> future;
+
+                    /**
+                     * {@code true} if this job was canceled.
+                     */
+                    private volatile boolean canceled;
+
+                    /**
+                     * Creates a new job.
+                     *
+                     * @param scheduledExecutorService The executor service to schedule to.
+                     * @param job                      The job to execute.
+                     * @param time                     The time to wait for further triggers before executing the job.
+                     * @param timeUnit                 The time's time unit.
+                     */
+                    protected Job(ScheduledExecutorService scheduledExecutorService, Runnable job, long time, TimeUnit timeUnit) {
+                        this.scheduledExecutorService = scheduledExecutorService;
+                        this.job = job;
+                        this.time = time;
+                        this.timeUnit = timeUnit;
+                        state = new AtomicInteger(IDLE);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void trigger() {
+                        while (!canceled) {
+                            int state = this.state.get();
+                            if (state == IDLE) {
+                                if (this.state.compareAndSet(IDLE, SCHEDULED)) {
+                                    try {
+                                        future = scheduledExecutorService.schedule(this, time, timeUnit);
+                                    } catch (RejectedExecutionException ignored) {
+                                        this.state.set(IDLE);
+                                    }
+                                    return;
+                                }
+                            } else if (state == RUNNING) {
+                                if (this.state.compareAndSet(RUNNING, RETRIGGERED)) {
+                                    return;
+                                }
+                            } else {
+                                return;
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void run() {
+                        state.set(RUNNING);
+                        try {
+                            job.run();
+                        } finally {
+                            if (!state.compareAndSet(RUNNING, IDLE)) {
+                                state.set(IDLE);
+                                trigger();
+                            }
+                        }
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void cancel() {
+                        canceled = true;
+                        Future<?> future = this.future;
+                        if (future != null) {
+                            future.cancel(true);
+                        }
+                    }
+                }
+            }
         }
 
         /**
@@ -7640,6 +7928,11 @@ public interface AgentBuilder {
             @HashCodeAndEqualsPlugin.Enhance
             class Enabled implements ResubmissionStrategy {
 
+                /**
+                 * The default maximum amount of types that are enqueued for resubmission at the same time.
+                 */
+                protected static final int DEFAULT_MAXIMUM_SIZE = 16384;
+
                 /**
                  * A scheduler that is responsible for resubmission of types.
                  */
@@ -7655,6 +7948,11 @@ public interface AgentBuilder {
                  */
                 private final RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher;
 
+                /**
+                 * The maximum amount of types that are enqueued for resubmission at the same time.
+                 */
+                private final int maximumSize;
+
                 /**
                  * Creates a new enabled resubmission strategy.
                  *
@@ -7665,9 +7963,25 @@ public interface AgentBuilder {
                 protected Enabled(ResubmissionScheduler resubmissionScheduler,
                                   RedefinitionListenable.ResubmissionOnErrorMatcher resubmissionOnErrorMatcher,
                                   RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher) {
+                    this(resubmissionScheduler, resubmissionOnErrorMatcher, resubmissionImmediateMatcher, DEFAULT_MAXIMUM_SIZE);
+                }
+
+                /**
+                 * Creates a new enabled resubmission strategy.
+                 *
+                 * @param resubmissionScheduler        A scheduler that is responsible for resubmission of types.
+                 * @param resubmissionOnErrorMatcher   A matcher to determine resubmissions on errors.
+                 * @param resubmissionImmediateMatcher A matcher to determine resubmissions without errors.
+                 * @param maximumSize                  The maximum amount of types that are enqueued for resubmission at the same time.
+                 */
+                protected Enabled(ResubmissionScheduler resubmissionScheduler,
+                                  RedefinitionListenable.ResubmissionOnErrorMatcher resubmissionOnErrorMatcher,
+                                  RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher,
+                                  int maximumSize) {
                     this.resubmissionScheduler = resubmissionScheduler;
                     this.resubmissionOnErrorMatcher = resubmissionOnErrorMatcher;
                     this.resubmissionImmediateMatcher = resubmissionImmediateMatcher;
+                    this.maximumSize = maximumSize;
                 }
 
                 /**
@@ -7686,7 +8000,7 @@ public interface AgentBuilder {
                                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                           RedefinitionStrategy.Listener redefinitionBatchListener) {
                     if (resubmissionScheduler.isAlive()) {
-                        ConcurrentMap<StorageKey, Set<String>> types = new ConcurrentHashMap<StorageKey, Set<String>>();
+                        ResubmissionQueue types = new ResubmissionQueue(maximumSize);
                         Resubmitter resubmitter = new Resubmitter(resubmissionOnErrorMatcher, resubmissionImmediateMatcher, types);
                         return new Installation(new AgentBuilder.Listener.Compound(resubmitter, listener),
                                 new InstallationListener.Compound(new ResubmissionInstallationListener(instrumentation,
@@ -7724,20 +8038,20 @@ public interface AgentBuilder {
                     private final RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher;
 
                     /**
-                     * A map of class loaders to their types to resubmit.
+                     * The queue of types to resubmit.
                      */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                    private final ResubmissionQueue types;
 
                     /**
                      * Creates a new resubmitter.
                      *
                      * @param resubmissionOnErrorMatcher   A matcher to determine resubmissions on errors.
                      * @param resubmissionImmediateMatcher A matcher to determine resubmissions without errors.
-                     * @param types                        A map of class loaders to their types to resubmit.
+                     * @param types                        The queue of types to resubmit.
                      */
                     protected Resubmitter(RedefinitionListenable.ResubmissionOnErrorMatcher resubmissionOnErrorMatcher,
                                           RedefinitionListenable.ResubmissionImmediateMatcher resubmissionImmediateMatcher,
-                                          ConcurrentMap<StorageKey, Set<String>> types) {
+                                          ResubmissionQueue types) {
                         this.resubmissionOnErrorMatcher = resubmissionOnErrorMatcher;
                         this.resubmissionImmediateMatcher = resubmissionImmediateMatcher;
                         this.types = types;
@@ -7746,84 +8060,19 @@ public interface AgentBuilder {
                     /**
                      * {@inheritDoc}
                      */
-                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
                     public void onError(String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, boolean loaded, Throwable throwable) {
                         if (!loaded && resubmissionOnErrorMatcher.matches(throwable, typeName, classLoader, module)) {
-                            Set<String> types = this.types.get(new LookupKey(classLoader));
-                            if (types == null) {
-                                types = new ConcurrentHashSet<String>();
-                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
-                                if (previous != null) {
-                                    types = previous;
-                                }
-                            }
-                            types.add(typeName);
+                            types.offer(typeName, classLoader);
                         }
                     }
 
                     /**
                      * {@inheritDoc}
                      */
-                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
                     public boolean isEnforced(String typeName, @MaybeNull ClassLoader classLoader, @MaybeNull JavaModule module, @MaybeNull Class<?> classBeingRedefined) {
-                        if (classBeingRedefined == null && resubmissionImmediateMatcher.matches(typeName, classLoader, module)) {
-                            Set<String> types = this.types.get(new LookupKey(classLoader));
-                            if (types == null) {
-                                types = new ConcurrentHashSet<String>();
-                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
-                                if (previous != null) {
-                                    types = previous;
-                                }
-                            }
-                            types.add(typeName);
-                            return true;
-                        } else {
-                            return false;
-                        }
-                    }
-
-                    /**
-                     * A set projection for a {@link ConcurrentHashMap}.
-                     *
-                     * @param <T> The element type of the set projection.
-                     */
-                    protected static class ConcurrentHashSet<T> extends AbstractSet<T> {
-
-                        /**
-                         * The delegate map.
-                         */
-                        private final ConcurrentMap<T, Boolean> delegate;
-
-                        /**
-                         * Creates a concurrent hash set.
-                         */
-                        protected ConcurrentHashSet() {
-                            delegate = new ConcurrentHashMap<T, Boolean>();
-                        }
-
-                        @Override
-                        public boolean add(T value) {
-                            return delegate.put(value, Boolean.TRUE) == null;
-                        }
-
-                        @Override
-                        public boolean remove(Object value) {
-                            return delegate.remove(value) != null;
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public Iterator<T> iterator() {
-                            return delegate.keySet().iterator();
-                        }
-
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public int size() {
-                            return delegate.size();
-                        }
+                        return classBeingRedefined == null
+                                && resubmissionImmediateMatcher.matches(typeName, classLoader, module)
+                                && types.offer(typeName, classLoader);
                     }
                 }
 
@@ -7893,9 +8142,9 @@ public interface AgentBuilder {
                     private final Listener redefinitionBatchListener;
 
                     /**
-                     * A map of class loaders to their types to resubmit.
+                     * The queue of types to resubmit.
                      */
-                    private final ConcurrentMap<StorageKey, Set<String>> types;
+                    private final ResubmissionQueue types;
 
                     /**
                      * This scheduler's cancelable or {@code null} if no cancelable was registered.
@@ -7918,7 +8167,7 @@ public interface AgentBuilder {
                      * @param redefinitionStrategy       The redefinition strategy to use.
                      * @param redefinitionBatchAllocator The batch allocator to use.
                      * @param redefinitionBatchListener  The batch listener to notify.
-                     * @param types                      A map of class loaders to their types to resubmit.
+                     * @param types                      The queue of types to resubmit.
                      */
                     protected ResubmissionInstallationListener(Instrumentation instrumentation,
                                                                ResubmissionScheduler resubmissionScheduler,
@@ -7932,7 +8181,7 @@ public interface AgentBuilder {
                                                                RedefinitionStrategy redefinitionStrategy,
                                                                BatchAllocator redefinitionBatchAllocator,
                                                                Listener redefinitionBatchListener,
-                                                               ConcurrentMap<StorageKey, Set<String>> types) {
+                                                               ResubmissionQueue types) {
                         this.instrumentation = instrumentation;
                         this.resubmissionScheduler = resubmissionScheduler;
                         this.poolStrategy = poolStrategy;
@@ -7950,7 +8199,11 @@ public interface AgentBuilder {
 
                     @Override
                     public void onInstall(Instrumentation instrumentation, ResettableClassFileTransformer classFileTransformer) {
-                        cancelable = resubmissionScheduler.schedule(this);
+                        ResubmissionScheduler.Cancelable cancelable = resubmissionScheduler.schedule(this);
+                        this.cancelable = cancelable;
+                        if (cancelable instanceof ResubmissionScheduler.Cancelable.Triggerable) {
+                            types.bind((ResubmissionScheduler.Cancelable.Triggerable) cancelable);
+                        }
                     }
 
                     @Override
@@ -7974,21 +8227,20 @@ public interface AgentBuilder {
                                     listener,
                                     matcher,
                                     circularityLock);
-                            Iterator<Map.Entry<StorageKey, Set<String>>> entries = types.entrySet().iterator();
+                            Iterator<Map.Entry<StorageKey, ConcurrentMap<String, Boolean>>> entries = types.iterator();
                             while (entries.hasNext()) {
                                 if (Thread.interrupted()) {
                                     return;
                                 }
-                                Map.Entry<StorageKey, Set<String>> entry = entries.next();
+                                Map.Entry<StorageKey, ConcurrentMap<String, Boolean>> entry = entries.next();
                                 ClassLoader classLoader = entry.getKey().get();
                                 if (classLoader != null || entry.getKey().isBootstrapLoader()) {
-                                    Iterator<String> iterator = entry.getValue().iterator();
-                                    while (iterator.hasNext()) {
+                                    for (String typeName : types.byFrequency(entry.getKey(), entry.getValue())) {
                                         if (Thread.interrupted()) {
                                             return;
                                         }
                                         try {
-                                            Class<?> type = Class.forName(iterator.next(), false, classLoader);
+                                            Class<?> type = Class.forName(typeName, false, classLoader);
                                             collector.consider(type, !type.isArray()
                                                     && !type.isPrimitive()
                                                     && (DISPATCHER.isModifiableClass(instrumentation, type)
@@ -7996,11 +8248,11 @@ public interface AgentBuilder {
                                         } catch (Throwable ignored) {
                                             /* do nothing */
                                         } finally {
-                                            iterator.remove();
+                                            types.remove(entry.getValue(), typeName);
                                         }
                                     }
                                 } else {
-                                    entries.remove();
+                                    types.remove(entries, entry);
                                 }
                             }
                             collector.apply(instrumentation,
@@ -8016,39 +8268,283 @@ public interface AgentBuilder {
                 }
 
                 /**
-                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 * A bounded queue of types to resubmit which are grouped by their class loader. Once the maximum size of the queue
+                 * is reached, no further types are accepted until enqueued types were resubmitted. Additionally, the queue counts
+                 * how often a type was enqueued such that frequently loaded types are resubmitted first. These counts are retained
+                 * across resubmissions and are bounded by the maximum size of the queue as well. If this bound is exceeded, all
+                 * counts are discarded such that the queue recovers priorities of currently relevant types.
                  */
-                protected static class LookupKey {
+                protected static class ResubmissionQueue {
 
                     /**
-                     * The represented class loader.
+                     * The maximum amount of types that are enqueued at the same time.
                      */
-                    @MaybeNull
-                    private final ClassLoader classLoader;
+                    private final int maximumSize;
 
                     /**
-                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     * A map of class loaders to their types to resubmit.
                      */
-                    private final int hashCode;
+                    private final ConcurrentMap<StorageKey, ConcurrentMap<String, Boolean>> types;
 
                     /**
-                     * Creates a new lookup key.
-                     *
-                     * @param classLoader The represented class loader.
+                     * The amount of currently enqueued types.
                      */
-                    protected LookupKey(@MaybeNull ClassLoader classLoader) {
-                        this.classLoader = classLoader;
-                        hashCode = System.identityHashCode(classLoader);
-                    }
+                    private final AtomicInteger size;
 
-                    @Override
-                    public int hashCode() {
-                        return hashCode;
-                    }
+                    /**
+                     * A map of class loaders to the names of their enqueued types, mapped to the amount of times they were enqueued.
+                     */
+                    private final ConcurrentMap<StorageKey, ConcurrentMap<String, AtomicInteger>> frequencies;
 
-                    @Override
-                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
-                    public boolean equals(@MaybeNull Object other) {
+                    /**
+                     * The approximate amount of types for which a frequency is counted.
+                     */
+                    private final AtomicInteger counted;
+
+                    /**
+                     * The triggerable to notify upon enqueuing a type or {@code null} if no such triggerable is bound.
+                     */
+                    @MaybeNull
+                    private volatile ResubmissionScheduler.Cancelable.Triggerable triggerable;
+
+                    /**
+                     * Creates a new resubmission queue.
+                     *
+                     * @param maximumSize The maximum amount of types that are enqueued at the same time.
+                     */
+                    protected ResubmissionQueue(int maximumSize) {
+                        this.maximumSize = maximumSize;
+                        types = new ConcurrentHashMap<StorageKey, ConcurrentMap<String, Boolean>>();
+                        size = new AtomicInteger();
+                        frequencies = new ConcurrentHashMap<StorageKey, ConcurrentMap<String, AtomicInteger>>();
+                        counted = new AtomicInteger();
+                    }
+
+                    /**
+                     * Enqueues a type for resubmission.
+                     *
+                     * @param typeName    The name of the type to resubmit.
+                     * @param classLoader The class loader of the type or {@code null} if the type is loaded by the bootstrap loader.
+                     * @return {@code true} if the type is enqueued or {@code false} if the queue is exhausted.
+                     */
+                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
+                    protected boolean offer(String typeName, @MaybeNull ClassLoader classLoader) {
+                        count(typeName, classLoader);
+                        ConcurrentMap<String, Boolean> types = this.types.get(new LookupKey(classLoader));
+                        if (types == null) {
+                            types = new ConcurrentHashMap<String, Boolean>();
+                            ConcurrentMap<String, Boolean> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
+                            if (previous != null) {
+                                types = previous;
+                            }
+                        }
+                        if (!types.containsKey(typeName)) {
+                            if (size.incrementAndGet() > maximumSize) {
+                                size.decrementAndGet();
+                                return false;
+                            } else if (types.putIfAbsent(typeName, Boolean.TRUE) != null) {
+                                size.decrementAndGet();
+                            }
+                        }
+                        ResubmissionScheduler.Cancelable.Triggerable triggerable = this.triggerable;
+                        if (triggerable != null) {
+                            triggerable.trigger();
+                        }
+                        return true;
+                    }
+
+                    /**
+                     * Increments the amount of times a type was enqueued. If the amount of counted types exceeds the maximum size
+                     * of this queue, all counts are discarded.
+                     *
+                     * @param typeName    The name of the enqueued type.
+                     * @param classLoader The class loader of the type or {@code null} if the type is loaded by the bootstrap loader.
+                     */
+                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Cross-comparison is intended.")
+                    private void count(String typeName, @MaybeNull ClassLoader classLoader) {
+                        ConcurrentMap<String, AtomicInteger> frequencies = this.frequencies.get(new LookupKey(classLoader));
+                        if (frequencies == null) {
+                            frequencies = new ConcurrentHashMap<String, AtomicInteger>();
+                            ConcurrentMap<String, AtomicInteger> previous = this.frequencies.putIfAbsent(new StorageKey(classLoader), frequencies);
+                            if (previous != null) {
+                                frequencies = previous;
+                            }
+                        }
+                        AtomicInteger frequency = frequencies.get(typeName);
+                        if (frequency == null) {
+                            if (counted.incrementAndGet() > maximumSize) {
+                                this.frequencies.clear();
+                                counted.set(0);
+                                return;
+                            }
+                            frequency = frequencies.putIfAbsent(typeName, new AtomicInteger(1));
+                            if (frequency != null) {
+                                counted.decrementAndGet();
+                                frequency.incrementAndGet();
+                            }
+                        } else {
+                            frequency.incrementAndGet();
+                        }
+                    }
+
+                    /**
+                     * Returns the supplied enqueued types of a class loader in the descending order of how often they were enqueued.
+                     *
+                     * @param key   The key of the class loader of the supplied types.
+                     * @param types The enqueued types of the class loader.
+                     * @return The names of the supplied types in the descending order of how often they were enqueued.
+                     */
+                    protected List<String> byFrequency(StorageKey key, ConcurrentMap<String, Boolean> types) {
+                        ConcurrentMap<String, AtomicInteger> frequencies = this.frequencies.get(key);
+                        List<Frequency> sorted = new ArrayList<Frequency>(types.size());
+                        for (String typeName : types.keySet()) {
+                            AtomicInteger frequency = frequencies == null
+                                    ? null
+                                    : frequencies.get(typeName);
+                            sorted.add(new Frequency(typeName, frequency == null
+                                    ? 0
+                                    : frequency.get()));
+                        }
+                        Collections.sort(sorted);
+                        List<String> typeNames = new ArrayList<String>(sorted.size());
+                        for (Frequency frequency : sorted) {
+                            typeNames.add(frequency.typeName);
+                        }
+                        return typeNames;
+                    }
+
+                    /**
+                     * Binds a triggerable that is notified whenever a type is enqueued. If types are already enqueued, the
+                     * triggerable is notified immediately.
+                     *
+                     * @param triggerable The triggerable to notify.
+                     */
+                    protected void bind(ResubmissionScheduler.Cancelable.Triggerable triggerable) {
+                        this.triggerable = triggerable;
+                        if (size.get() > 0) {
+                            triggerable.trigger();
+                        }
+                    }
+
+                    /**
+                     * Returns an iterator over all class loaders and their enqueued types.
+                     *
+                     * @return An iterator over all class loaders and their enqueued types.
+                     */
+                    protected Iterator<Map.Entry<StorageKey, ConcurrentMap<String, Boolean>>> iterator() {
+                        return types.entrySet().iterator();
+                    }
+
+                    /**
+                     * Removes a type from this queue.
+                     *
+                     * @param types    The types of the class loader that loads the type.
+                     * @param typeName The name of the type to remove.
+                     */
+                    protected void remove(ConcurrentMap<String, Boolean> types, String typeName) {
+                        if (types.remove(typeName) != null) {
+                            size.decrementAndGet();
+                        }
+                    }
+
+                    /**
+                     * Removes all types of a class loader from this queue and discards their counts.
+                     *
+                     * @param iterator The iterator that currently points to the class loader.
+                     * @param entry    The class loader's entry.
+                     */
+                    protected void remove(Iterator<?> iterator, Map.Entry<StorageKey, ConcurrentMap<String, Boolean>> entry) {
+                        iterator.remove();
+                        ConcurrentMap<String, AtomicInteger> frequencies = this.frequencies.remove(entry.getKey());
+                        if (frequencies != null) {
+                            counted.addAndGet(-frequencies.size());
+                        }
+                        for (String typeName : new ArrayList<String>(entry.getValue().keySet())) {
+                            remove(entry.getValue(), typeName);
+                        }
+                    }
+
+                    /**
+                     * Returns the amount of currently enqueued types.
+                     *
+                     * @return The amount of currently enqueued types.
+                     */
+                    protected int size() {
+                        return size.get();
+                    }
+
+                    /**
+                     * A snapshot of how often a type was enqueued which is ordered descendingly by this frequency.
+                     */
+                    @SuppressFBWarnings(value = "EQ_COMPARETO_USE_OBJECT_EQUALS", justification = "Frequencies are only compared for sorting.")
+                    protected static class Frequency implements Comparable<Frequency> {
+
+                        /**
+                         * The name of the enqueued type.
+                         */
+                        private final String typeName;
+
+                        /**
+                         * The amount of times the type was enqueued.
+                         */
+                        private final int value;
+
+                        /**
+                         * Creates a new frequency snapshot.
+                         *
+                         * @param typeName The name of the enqueued type.
+                         * @param value    The amount of times the type was enqueued.
+                         */
+                        protected Frequency(String typeName, int value) {
+                            this.typeName = typeName;
+                            this.value = value;
+                        }
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public int compareTo(Frequency other) {
+                            return value < other.value
+                                    ? 1
+                                    : (value == other.value ? 0 : -1);
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The represented class loader.
+                     */
+                    @MaybeNull
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param classLoader The represented class loader.
+                     */
+                    protected LookupKey(@MaybeNull ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                        hashCode = System.identityHashCode(classLoader);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                    public boolean equals(@MaybeNull Object other) {
                         if (this == other) {
                             return true;
                         } else if (other instanceof LookupKey) {
@@ -8645,7 +9141,9 @@ public interface AgentBuilder {
             protected void apply(ByteBuddy byteBuddy,
                                  Instrumentation instrumentation,
                                  ClassFileTransformer classFileTransformer) {
-                if (LambdaFactory.register(classFileTransformer, new LambdaInstanceFactory(byteBuddy))) {
+                LambdaClassCache lambdaClassCache = new LambdaClassCache(LambdaClassCache.DEFAULT_MAXIMUM_SIZE);
+                LAMBDA_CLASS_CACHES.put(classFileTransformer, lambdaClassCache);
+                if (LambdaFactory.register(classFileTransformer, new LambdaInstanceFactory(byteBuddy, lambdaClassCache))) {
                     Class<?> lambdaMetaFactory;
                     try {
                         lambdaMetaFactory = Class.forName("java.lang.invoke.LambdaMetafactory");
@@ -8686,6 +9184,11 @@ public interface AgentBuilder {
             }
         };
 
+        /**
+         * A mapping of class file transformers that instrument lambda expressions to their lambda class caches.
+         */
+        private static final Map<ClassFileTransformer, LambdaClassCache> LAMBDA_CLASS_CACHES = new ConcurrentHashMap<ClassFileTransformer, LambdaClassCache>();
+
         /**
          * Releases the supplied class file transformer when it was built with {@link AgentBuilder#with(LambdaInstrumentationStrategy)} enabled.
          * Subsequently, the class file transformer is no longer applied when a class that represents a lambda expression is created.
@@ -8694,6 +9197,7 @@ public interface AgentBuilder {
          * @param instrumentation      The instrumentation instance that is used to potentially rollback the instrumentation of the {@code LambdaMetafactory}.
          */
         public static void release(ClassFileTransformer classFileTransformer, Instrumentation instrumentation) {
+            LAMBDA_CLASS_CACHES.remove(classFileTransformer);
             if (LambdaFactory.release(classFileTransformer)) {
                 try {
                     ClassReloadingStrategy.of(instrumentation).reset(Class.forName("java.lang.invoke.LambdaMetafactory"));
@@ -8703,6 +9207,21 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * Returns the cache of class files of lambda expressions that is used for the supplied class file transformer if it was
+         * built with {@link AgentBuilder#with(LambdaInstrumentationStrategy)} enabled. The cache can be used to monitor its
+         * effectiveness or to discard its class files. A cache is no longer available once its class file transformer is
+         * {@link LambdaInstrumentationStrategy#release(ClassFileTransformer, Instrumentation) released}.
+         *
+         * @param classFileTransformer The class file transformer for which to return the lambda class cache.
+         * @return The lambda class cache of the supplied class file transformer or {@code null} if the class file transformer
+         * does not instrument lambda expressions.
+         */
+        @MaybeNull
+        public static LambdaClassCache getLambdaClassCache(ClassFileTransformer classFileTransformer) {
+            return LAMBDA_CLASS_CACHES.get(classFileTransformer);
+        }
+
         /**
          * Returns an enabled lambda instrumentation strategy for {@code true}.
          *
@@ -9445,6 +9964,344 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * <p>
+         * A cache for the class files of lambda expressions that are created by Byte Buddy when the {@code LambdaMetafactory} is
+         * instrumented. A lambda class is fully determined by the shape of its bootstrap, i.e. the name of the declaring type,
+         * the functional interface, the target method handle and the captured types. If a class that declares lambda expressions
+         * is loaded by multiple class loaders, the class file is only created once and subsequently reused where only the registered
+         * class file transformers are applied anew. As the class file also depends on the functional interface, a class file is only
+         * reused for the identical functional interface which is referenced weakly. The cache does not strongly reference any loaded classes.
+         * </p>
+         * <p>
+         * Lookups do not require any locking. The number of cache hits and cache misses are recorded and can be used to monitor
+         * the effectiveness of the cache. Once the maximum size of the cache is reached, entries of collected functional interfaces
+         * are removed and additional class files are no longer cached if no such entry exists. A cache is owned by the lambda
+         * instance factory of a class file transformer such that it is discarded once the class file transformer is released.
+         * </p>
+         */
+        public static class LambdaClassCache {
+
+            /**
+             * The default maximum amount of class files that are cached.
+             */
+            private static final int DEFAULT_MAXIMUM_SIZE = 16384;
+
+            /**
+             * The maximum amount of class files that are cached.
+             */
+            private final int maximumSize;
+
+            /**
+             * A map of lambda shapes to previously created class files.
+             */
+            private final ConcurrentMap<Shape, Entry> entries;
+
+            /**
+             * The amount of cache hits.
+             */
+            private final AtomicLong hits;
+
+            /**
+             * The amount of cache misses.
+             */
+            private final AtomicLong misses;
+
+            /**
+             * Creates a new lambda class cache.
+             *
+             * @param maximumSize The maximum amount of class files that are cached.
+             */
+            public LambdaClassCache(int maximumSize) {
+                this.maximumSize = maximumSize;
+                entries = new ConcurrentHashMap<Shape, Entry>();
+                hits = new AtomicLong();
+                misses = new AtomicLong();
+            }
+
+            /**
+             * Looks up a previously created class file.
+             *
+             * @param shape The shape of the lambda expression.
+             * @return The cached class file or {@code null} if no class file is cached for the supplied shape.
+             */
+            @MaybeNull
+            protected Entry find(Shape shape) {
+                Entry entry = entries.get(shape);
+                if (entry == null) {
+                    misses.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                }
+                return entry;
+            }
+
+            /**
+             * Registers a class file for a lambda expression if the cache is not yet exhausted.
+             *
+             * @param shape The shape of the lambda expression.
+             * @param entry The class file to cache.
+             */
+            protected void register(Shape shape, Entry entry) {
+                if (entries.size() >= maximumSize) {
+                    Iterator<Shape> iterator = entries.keySet().iterator();
+                    while (iterator.hasNext()) {
+                        if (iterator.next().isStale()) {
+                            iterator.remove();
+                        }
+                    }
+                }
+                if (entries.size() < maximumSize) {
+                    entries.putIfAbsent(shape, entry);
+                }
+            }
+
+            /**
+             * Returns the amount of lambda expressions for which a cached class file was reused.
+             *
+             * @return The amount of cache hits.
+             */
+            public long getHitCount() {
+                return hits.get();
+            }
+
+            /**
+             * Returns the amount of lambda expressions for which a class file had to be created.
+             *
+             * @return The amount of cache misses.
+             */
+            public long getMissCount() {
+                return misses.get();
+            }
+
+            /**
+             * Returns the amount of class files that are currently cached.
+             *
+             * @return The amount of cached class files.
+             */
+            public int size() {
+                return entries.size();
+            }
+
+            /**
+             * Removes all cached class files.
+             */
+            public void clear() {
+                entries.clear();
+            }
+
+            /**
+             * A description of the shape of a lambda expression that determines its class file. A shape only references names
+             * and descriptors and a weak reference to the functional interface such that it does not retain any class loader.
+             */
+            protected static class Shape {
+
+                /**
+                 * The Byte Buddy instance that is used for creating the class file.
+                 */
+                private final ByteBuddy byteBuddy;
+
+                /**
+                 * A weak reference to the functional interface that is implemented by the lambda expression.
+                 */
+                private final WeakReference<Class<?>> functionalInterface;
+
+                /**
+                 * The name of the type that declares the lambda expression.
+                 */
+                private final String targetTypeName;
+
+                /**
+                 * The name of the lambda expression's represented method.
+                 */
+                private final String lambdaMethodName;
+
+                /**
+                 * The descriptor of the lambda expression's factory method.
+                 */
+                private final String factoryMethodDescriptor;
+
+                /**
+                 * The descriptor of the lambda expression's represented method.
+                 */
+                private final String lambdaMethodDescriptor;
+
+                /**
+                 * A description of the handle that represents the target of the lambda expression's method.
+                 */
+                private final String targetMethodHandle;
+
+                /**
+                 * The descriptor of the specialization of the lambda expression's represented method.
+                 */
+                private final String specializedLambdaMethodDescriptor;
+
+                /**
+                 * {@code true} if the lambda expression is serializable.
+                 */
+                private final boolean serializable;
+
+                /**
+                 * The names of the marker interfaces of the lambda expression.
+                 */
+                private final List<String> markerInterfaces;
+
+                /**
+                 * The descriptors of the additional bridge methods of the lambda expression.
+                 */
+                private final List<String> additionalBridges;
+
+                /**
+                 * The hash code of this shape.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new shape of a lambda expression.
+                 *
+                 * @param byteBuddy               The Byte Buddy instance that is used for creating the class file.
+                 * @param functionalInterface     The functional interface that is implemented by the lambda expression.
+                 * @param targetType              The type that declares the lambda expression.
+                 * @param lambdaMethodName        The name of the lambda expression's represented method.
+                 * @param factoryMethod           The type of the lambda expression's factory method.
+                 * @param lambdaMethod            The type of the lambda expression's represented method.
+                 * @param targetMethod            The handle that represents the target of the lambda expression's method.
+                 * @param specializedLambdaMethod The specialization of the lambda expression's represented method.
+                 * @param serializable            {@code true} if the lambda expression is serializable.
+                 * @param markerInterfaces        The marker interfaces of the lambda expression.
+                 * @param additionalBridges       The types of the additional bridge methods of the lambda expression.
+                 */
+                protected Shape(ByteBuddy byteBuddy,
+                                Class<?> functionalInterface,
+                                Class<?> targetType,
+                                String lambdaMethodName,
+                                JavaConstant.MethodType factoryMethod,
+                                JavaConstant.MethodType lambdaMethod,
+                                JavaConstant.MethodHandle targetMethod,
+                                JavaConstant.MethodType specializedLambdaMethod,
+                                boolean serializable,
+                                List<Class<?>> markerInterfaces,
+                                List<JavaConstant.MethodType> additionalBridges) {
+                    this.byteBuddy = byteBuddy;
+                    this.functionalInterface = new WeakReference<Class<?>>(functionalInterface);
+                    targetTypeName = targetType.getName();
+                    this.lambdaMethodName = lambdaMethodName;
+                    factoryMethodDescriptor = factoryMethod.getDescriptor();
+                    lambdaMethodDescriptor = lambdaMethod.getDescriptor();
+                    targetMethodHandle = targetMethod.getHandleType().getIdentifier()
+                            + (targetMethod.getOwnerType().isInterface() ? "I" : "C")
+                            + targetMethod.getOwnerType().getDescriptor()
+                            + targetMethod.getName()
+                            + targetMethod.getDescriptor();
+                    specializedLambdaMethodDescriptor = specializedLambdaMethod.getDescriptor();
+                    this.serializable = serializable;
+                    this.markerInterfaces = new ArrayList<String>(markerInterfaces.size());
+                    for (Class<?> markerInterface : markerInterfaces) {
+                        this.markerInterfaces.add(markerInterface.getName());
+                    }
+                    this.additionalBridges = new ArrayList<String>(additionalBridges.size());
+                    for (JavaConstant.MethodType additionalBridge : additionalBridges) {
+                        this.additionalBridges.add(additionalBridge.getDescriptor());
+                    }
+                    int hashCode = byteBuddy.hashCode();
+                    hashCode = 31 * hashCode + System.identityHashCode(functionalInterface);
+                    hashCode = 31 * hashCode + targetTypeName.hashCode();
+                    hashCode = 31 * hashCode + lambdaMethodName.hashCode();
+                    hashCode = 31 * hashCode + factoryMethodDescriptor.hashCode();
+                    hashCode = 31 * hashCode + lambdaMethodDescriptor.hashCode();
+                    hashCode = 31 * hashCode + targetMethodHandle.hashCode();
+                    hashCode = 31 * hashCode + specializedLambdaMethodDescriptor.hashCode();
+                    hashCode = 31 * hashCode + (serializable ? 1 : 0);
+                    hashCode = 31 * hashCode + this.markerInterfaces.hashCode();
+                    this.hashCode = 31 * hashCode + this.additionalBridges.hashCode();
+                }
+
+                /**
+                 * Returns {@code true} if the functional interface of this shape was garbage collected.
+                 *
+                 * @return {@code true} if the functional interface of this shape was garbage collected.
+                 */
+                protected boolean isStale() {
+                    return functionalInterface.get() == null;
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other == null || getClass() != other.getClass()) {
+                        return false;
+                    }
+                    Shape shape = (Shape) other;
+                    Class<?> functionalInterface = this.functionalInterface.get();
+                    return hashCode == shape.hashCode
+                            && functionalInterface != null
+                            && functionalInterface == shape.functionalInterface.get()
+                            && serializable == shape.serializable
+                            && targetTypeName.equals(shape.targetTypeName)
+                            && lambdaMethodName.equals(shape.lambdaMethodName)
+                            && factoryMethodDescriptor.equals(shape.factoryMethodDescriptor)
+                            && lambdaMethodDescriptor.equals(shape.lambdaMethodDescriptor)
+                            && targetMethodHandle.equals(shape.targetMethodHandle)
+                            && specializedLambdaMethodDescriptor.equals(shape.specializedLambdaMethodDescriptor)
+                            && markerInterfaces.equals(shape.markerInterfaces)
+                            && additionalBridges.equals(shape.additionalBridges)
+                            && byteBuddy.equals(shape.byteBuddy);
+                }
+            }
+
+            /**
+             * A cached class file of a lambda expression.
+             */
+            protected static class Entry {
+
+                /**
+                 * The name of the lambda class.
+                 */
+                private final String name;
+
+                /**
+                 * The binary representation of the lambda class before applying any class file transformer.
+                 */
+                private final byte[] binaryRepresentation;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param name                 The name of the lambda class.
+                 * @param binaryRepresentation The binary representation of the lambda class before applying any class file transformer.
+                 */
+                @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "The array is not modified by class contract.")
+                protected Entry(String name, byte[] binaryRepresentation) {
+                    this.name = name;
+                    this.binaryRepresentation = binaryRepresentation;
+                }
+
+                /**
+                 * Returns the name of the lambda class.
+                 *
+                 * @return The name of the lambda class.
+                 */
+                protected String getName() {
+                    return name;
+                }
+
+                /**
+                 * Returns a copy of the binary representation of the lambda class before applying any class file transformer.
+                 *
+                 * @return A copy of the binary representation of the lambda class.
+                 */
+                protected byte[] getBinaryRepresentation() {
+                    return binaryRepresentation.clone();
+                }
+            }
+        }
+
         /**
          * A factory that creates instances that represent lambda expressions.
          */
@@ -9479,18 +10336,40 @@ public interface AgentBuilder {
              */
             private static final AtomicInteger LAMBDA_NAME_COUNTER = new AtomicInteger();
 
+            /**
+             * A dispatcher for extracting information from a {@code java.lang.invoke.MethodType} instance.
+             */
+            private static final MethodType METHOD_TYPE = Default.doPrivileged(JavaDispatcher.of(MethodType.class));
+
             /**
              * The Byte Buddy instance to use for creating lambda objects.
              */
             private final ByteBuddy byteBuddy;
 
             /**
-             * Creates a new lambda instance factory.
+             * The cache for class files of previously created lambda expressions.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final LambdaClassCache lambdaClassCache;
+
+            /**
+             * Creates a new lambda instance factory with its own cache for class files of lambda expressions.
              *
              * @param byteBuddy The Byte Buddy instance to use for creating lambda objects.
              */
             protected LambdaInstanceFactory(ByteBuddy byteBuddy) {
+                this(byteBuddy, new LambdaClassCache(LambdaClassCache.DEFAULT_MAXIMUM_SIZE));
+            }
+
+            /**
+             * Creates a new lambda instance factory.
+             *
+             * @param byteBuddy        The Byte Buddy instance to use for creating lambda objects.
+             * @param lambdaClassCache The cache for class files of previously created lambda expressions.
+             */
+            protected LambdaInstanceFactory(ByteBuddy byteBuddy, LambdaClassCache lambdaClassCache) {
                 this.byteBuddy = byteBuddy;
+                this.lambdaClassCache = lambdaClassCache;
             }
 
             /**
@@ -9523,7 +10402,79 @@ public interface AgentBuilder {
                 JavaConstant.MethodHandle targetMethod = JavaConstant.MethodHandle.ofLoaded(targetMethodHandle, targetTypeLookup);
                 JavaConstant.MethodType specializedLambdaMethod = JavaConstant.MethodType.ofLoaded(specializedLambdaMethodType);
                 Class<?> targetType = JavaConstant.MethodHandle.lookupType(targetTypeLookup);
-                String lambdaClassName = targetType.getName() + LAMBDA_TYPE_INFIX + LAMBDA_NAME_COUNTER.incrementAndGet();
+                List<JavaConstant.MethodType> additionalBridgeTypes = new ArrayList<JavaConstant.MethodType>(additionalBridges.size());
+                for (Object additionalBridgeType : additionalBridges) {
+                    additionalBridgeTypes.add(JavaConstant.MethodType.ofLoaded(additionalBridgeType));
+                }
+                LambdaClassCache.Shape shape = new LambdaClassCache.Shape(byteBuddy,
+                        METHOD_TYPE.returnType(factoryMethodType),
+                        targetType,
+                        lambdaMethodName,
+                        factoryMethod,
+                        lambdaMethod,
+                        targetMethod,
+                        specializedLambdaMethod,
+                        serializable,
+                        markerInterfaces,
+                        additionalBridgeTypes);
+                LambdaClassCache.Entry entry = lambdaClassCache.find(shape);
+                if (entry == null) {
+                    String lambdaClassName = targetType.getName() + LAMBDA_TYPE_INFIX + LAMBDA_NAME_COUNTER.incrementAndGet();
+                    entry = new LambdaClassCache.Entry(lambdaClassName, make(targetType,
+                            lambdaClassName,
+                            lambdaMethodName,
+                            factoryMethod,
+                            lambdaMethod,
+                            targetMethod,
+                            specializedLambdaMethod,
+                            serializable,
+                            markerInterfaces,
+                            additionalBridgeTypes));
+                    lambdaClassCache.register(shape, entry);
+                }
+                byte[] classFile = entry.getBinaryRepresentation();
+                for (ClassFileTransformer classFileTransformer : classFileTransformers) {
+                    try {
+                        byte[] transformedClassFile = classFileTransformer.transform(targetType.getClassLoader(),
+                                entry.getName().replace('.', '/'),
+                                NOT_PREVIOUSLY_DEFINED,
+                                targetType.getProtectionDomain(),
+                                classFile);
+                        classFile = transformedClassFile == null
+                                ? classFile
+                                : transformedClassFile;
+                    } catch (Throwable ignored) {
+                        /* do nothing */
+                    }
+                }
+                return classFile;
+            }
+
+            /**
+             * Creates the class file of a lambda expression before applying any class file transformer.
+             *
+             * @param targetType              The type that declares the lambda expression.
+             * @param lambdaClassName         The name of the lambda class.
+             * @param lambdaMethodName        The name of the lambda expression's represented method.
+             * @param factoryMethod           The type of the lambda expression's factory method.
+             * @param lambdaMethod            The type of the lambda expression's represented method.
+             * @param targetMethod            The handle that represents the target of the lambda expression's method.
+             * @param specializedLambdaMethod The specialization of the lambda expression's represented method.
+             * @param serializable            {@code true} if the lambda expression should be serializable.
+             * @param markerInterfaces        A list of interfaces for the lambda expression to represent.
+             * @param additionalBridges       The types of the additional bridge methods to be implemented by the lambda expression.
+             * @return A binary representation of the created class file.
+             */
+            private byte[] make(Class<?> targetType,
+                                String lambdaClassName,
+                                String lambdaMethodName,
+                                JavaConstant.MethodType factoryMethod,
+                                JavaConstant.MethodType lambdaMethod,
+                                JavaConstant.MethodHandle targetMethod,
+                                JavaConstant.MethodType specializedLambdaMethod,
+                                boolean serializable,
+                                List<Class<?>> markerInterfaces,
+                                List<JavaConstant.MethodType> additionalBridges) {
                 DynamicType.Builder<?> builder = byteBuddy
                         .subclass(factoryMethod.getReturnType(), ConstructorStrategy.Default.NO_CONSTRUCTORS)
                         .modifiers(TypeManifestation.FINAL, Visibility.PUBLIC)
@@ -9555,7 +10506,7 @@ public interface AgentBuilder {
                                     lambdaMethodName,
                                     lambdaMethod,
                                     targetMethod,
-                                    JavaConstant.MethodType.ofLoaded(specializedLambdaMethodType)));
+                                    specializedLambdaMethod));
                 } else if (factoryMethod.getReturnType().isAssignableTo(Serializable.class)) {
                     builder = builder.defineMethod("readObject", void.class, Visibility.PRIVATE)
                             .withParameters(ObjectInputStream.class)
@@ -9566,28 +10517,27 @@ public interface AgentBuilder {
                             .throwing(NotSerializableException.class)
                             .intercept(ExceptionMethod.throwing(NotSerializableException.class, "Non-serializable lambda"));
                 }
-                for (Object additionalBridgeType : additionalBridges) {
-                    JavaConstant.MethodType additionalBridge = JavaConstant.MethodType.ofLoaded(additionalBridgeType);
+                for (JavaConstant.MethodType additionalBridge : additionalBridges) {
                     builder = builder.defineMethod(lambdaMethodName, additionalBridge.getReturnType(), MethodManifestation.BRIDGE, Visibility.PUBLIC)
                             .withParameters(additionalBridge.getParameterTypes())
                             .intercept(new BridgeMethodImplementation(lambdaMethodName, lambdaMethod));
                 }
-                byte[] classFile = builder.make().getBytes();
-                for (ClassFileTransformer classFileTransformer : classFileTransformers) {
-                    try {
-                        byte[] transformedClassFile = classFileTransformer.transform(targetType.getClassLoader(),
-                                lambdaClassName.replace('.', '/'),
-                                NOT_PREVIOUSLY_DEFINED,
-                                targetType.getProtectionDomain(),
-                                classFile);
-                        classFile = transformedClassFile == null
-                                ? classFile
-                                : transformedClassFile;
-                    } catch (Throwable ignored) {
-                        /* do nothing */
-                    }
-                }
-                return classFile;
+                return builder.make().getBytes();
+            }
+
+            /**
+             * A dispatcher for extracting information from a {@code java.lang.invoke.MethodType} instance.
+             */
+            @JavaDispatcher.Proxied("java.lang.invoke.MethodType")
+            protected interface MethodType {
+
+                /**
+                 * Extracts the return type of the supplied method type.
+                 *
+                 * @param methodType An instance of {@code java.lang.invoke.MethodType}.
+                 * @return The return type that is described by the supplied instance.
+                 */
+                Class<?> returnType(Object methodType);
             }
 
             /**
@@ -13887,12 +14837,22 @@ public interface AgentBuilder {
              * {@inheritDoc}
              */
             public WithoutResubmissionSpecification withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler) {
+                return withResubmission(resubmissionScheduler, RedefinitionStrategy.ResubmissionStrategy.Enabled.DEFAULT_MAXIMUM_SIZE);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public WithoutResubmissionSpecification withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, int maximumSize) {
                 if (!redefinitionStrategy.isEnabled()) {
                     throw new IllegalStateException("Cannot enable resubmission when redefinition is disabled");
+                } else if (maximumSize < 1) {
+                    throw new IllegalArgumentException("Maximum size must be a positive number: " + maximumSize);
                 }
                 return new WithResubmission(resubmissionScheduler,
                         ResubmissionOnErrorMatcher.Trivial.NON_MATCHING,
-                        ResubmissionImmediateMatcher.Trivial.NON_MATCHING);
+                        ResubmissionImmediateMatcher.Trivial.NON_MATCHING,
+                        maximumSize);
             }
 
             /**
@@ -13915,19 +14875,27 @@ public interface AgentBuilder {
                  */
                 private final ResubmissionImmediateMatcher resubmissionImmediateMatcher;
 
+                /**
+                 * The maximum amount of types that are enqueued for resubmission at the same time.
+                 */
+                private final int maximumSize;
+
                 /**
                  * Creates a new delegator that applies resubmissions.
                  *
                  * @param resubmissionScheduler        The resubmission scheduler to use.
                  * @param resubmissionOnErrorMatcher   A matcher to determine resubmissions on errors.
                  * @param resubmissionImmediateMatcher A matcher to determine resubmissions without errors.
+                 * @param maximumSize                  The maximum amount of types that are enqueued for resubmission at the same time.
                  */
                 protected WithResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler,
                                            ResubmissionOnErrorMatcher resubmissionOnErrorMatcher,
-                                           ResubmissionImmediateMatcher resubmissionImmediateMatcher) {
+                                           ResubmissionImmediateMatcher resubmissionImmediateMatcher,
+                                           int maximumSize) {
                     this.resubmissionScheduler = resubmissionScheduler;
                     this.resubmissionOnErrorMatcher = resubmissionOnErrorMatcher;
                     this.resubmissionImmediateMatcher = resubmissionImmediateMatcher;
+                    this.maximumSize = maximumSize;
                 }
 
                 @Override
@@ -13947,7 +14915,10 @@ public interface AgentBuilder {
                             redefinitionDiscoveryStrategy,
                             redefinitionBatchAllocator,
                             redefinitionListener,
-                            new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, resubmissionOnErrorMatcher, resubmissionImmediateMatcher),
+                            new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler,
+                                    resubmissionOnErrorMatcher,
+                                    resubmissionImmediateMatcher,
+                                    maximumSize),
                             injectionStrategy,
                             lambdaInstrumentationStrategy,
                             descriptionStrategy,
@@ -14005,7 +14976,8 @@ public interface AgentBuilder {
                 public WithResubmissionSpecification resubmitOnError(ResubmissionOnErrorMatcher matcher) {
                     return new WithResubmission(resubmissionScheduler,
                             new ResubmissionOnErrorMatcher.Disjunction(resubmissionOnErrorMatcher, matcher),
-                            resubmissionImmediateMatcher);
+                            resubmissionImmediateMatcher,
+                            maximumSize);
                 }
 
                 /**
@@ -14045,7 +15017,8 @@ public interface AgentBuilder {
                 public WithResubmissionSpecification resubmitImmediate(ResubmissionImmediateMatcher matcher) {
                     return new WithResubmission(resubmissionScheduler,
                             resubmissionOnErrorMatcher,
-                            new ResubmissionImmediateMatcher.Disjunction(resubmissionImmediateMatcher, matcher));
+                            new ResubmissionImmediateMatcher.Disjunction(resubmissionImmediateMatcher, matcher),
+                            maximumSize);
                 }
             }
         }
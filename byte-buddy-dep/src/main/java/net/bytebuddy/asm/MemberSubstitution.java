@@ -274,6 +274,30 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
         return new MemberSubstitution(methodGraphCompiler, typePoolResolver, strict, failIfNoMatch, replacementFactory);
     }
 
+    /**
+     * <p>
+     * Merges the supplied member substitution into this member substitution such that the substitutions of both are applied
+     * within a single pass over a method's byte code. Any interaction with a byte code element is then only resolved once and
+     * is substituted by the first substitution that matches it where the substitutions of this instance are considered first.
+     * Other than when chaining two member substitutions, a substitution is not applied to the byte code that is emitted by
+     * another substitution.
+     * </p>
+     * <p>
+     * The merged member substitution uses the method graph compiler and type pool resolver of this instance. It is strict only
+     * if both substitutions are strict and fails if no match is found if any of the two substitutions does.
+     * </p>
+     *
+     * @param memberSubstitution The member substitution to merge into this member substitution.
+     * @return A new member substitution that applies the substitutions of this and the supplied member substitution.
+     */
+    public MemberSubstitution and(MemberSubstitution memberSubstitution) {
+        return new MemberSubstitution(methodGraphCompiler,
+                typePoolResolver,
+                strict && memberSubstitution.strict,
+                failIfNoMatch || memberSubstitution.failIfNoMatch,
+                new Replacement.Factory.Compound(replacementFactory, memberSubstitution.replacementFactory));
+    }
+
     /**
      * Applies this member substitution to any method that matches the supplied matcher.
      *
@@ -501,6 +525,48 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
             return replaceWith(new Substitution.ForMethodInvocation.OfMatchedMethod(matcher, methodGraphCompiler));
         }
 
+        /**
+         * Replaces any interaction with a matched byte code element with an {@code invokedynamic} instruction that is bootstrapped
+         * by the supplied method. This allows for linking the substituted expression at runtime, for example to maintain an inline
+         * cache that is relinked without retransforming the instrumented type.
+         *
+         * @param bootstrap The bootstrap method to use.
+         * @param constant  The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+         * @return A member substitution that replaces any matched byte code element with an {@code invokedynamic} instruction.
+         * @see Substitution.ForDynamicInvocation
+         */
+        public MemberSubstitution replaceWithDynamicInvocation(Method bootstrap, Object... constant) {
+            return replaceWithDynamicInvocation(new MethodDescription.ForLoadedMethod(bootstrap), constant);
+        }
+
+        /**
+         * Replaces any interaction with a matched byte code element with an {@code invokedynamic} instruction that is bootstrapped
+         * by the supplied method. This allows for linking the substituted expression at runtime, for example to maintain an inline
+         * cache that is relinked without retransforming the instrumented type.
+         *
+         * @param bootstrap The bootstrap method to use.
+         * @param constant  The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+         * @return A member substitution that replaces any matched byte code element with an {@code invokedynamic} instruction.
+         * @see Substitution.ForDynamicInvocation
+         */
+        public MemberSubstitution replaceWithDynamicInvocation(MethodDescription.InDefinedShape bootstrap, Object... constant) {
+            return replaceWithDynamicInvocation(bootstrap, Arrays.asList(constant));
+        }
+
+        /**
+         * Replaces any interaction with a matched byte code element with an {@code invokedynamic} instruction that is bootstrapped
+         * by the supplied method. This allows for linking the substituted expression at runtime, for example to maintain an inline
+         * cache that is relinked without retransforming the instrumented type.
+         *
+         * @param bootstrap The bootstrap method to use.
+         * @param constants The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+         * @return A member substitution that replaces any matched byte code element with an {@code invokedynamic} instruction.
+         * @see Substitution.ForDynamicInvocation
+         */
+        public MemberSubstitution replaceWithDynamicInvocation(MethodDescription.InDefinedShape bootstrap, List<?> constants) {
+            return replaceWith(Substitution.ForDynamicInvocation.of(bootstrap, constants));
+        }
+
         /**
          * Replaces any interaction with a matched byte code element with an invocation of the instrumented
          * method. This can cause an infinite recursive call if the arguments to the method are not altered.
@@ -1761,6 +1827,88 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
             }
         }
 
+        /**
+         * <p>
+         * A substitution that replaces the substituted expression with an {@code invokedynamic} instruction. The instruction is
+         * bound to the name of the substituted member and to a method type that consumes the values of the substituted expression
+         * and returns its result. The bootstrap method receives a method handle of the substituted expression as its first constant
+         * argument, followed by any user-supplied constants. For an {@code invokedynamic} instruction that is itself substituted,
+         * this method handle represents the original bootstrap method. A constructor is bound to the name {@code new}.
+         * </p>
+         * <p>
+         * As the call site is linked at runtime, a bootstrap method can return a mutable call site that, for example, implements an
+         * inline cache by the receiver's type which can be relinked at any time without retransforming the instrumented type.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class ForDynamicInvocation implements Substitution<Target>, Factory<Target> {
+
+            /**
+             * The name that is used for binding a constructor.
+             */
+            private static final String CONSTRUCTOR_NAME = "new";
+
+            /**
+             * The bootstrap method to use.
+             */
+            private final MethodDescription.InDefinedShape bootstrapMethod;
+
+            /**
+             * The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+             */
+            private final List<? extends JavaConstant> arguments;
+
+            /**
+             * Creates a new substitution for a dynamic invocation.
+             *
+             * @param bootstrapMethod The bootstrap method to use.
+             * @param arguments       The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+             */
+            protected ForDynamicInvocation(MethodDescription.InDefinedShape bootstrapMethod, List<? extends JavaConstant> arguments) {
+                this.bootstrapMethod = bootstrapMethod;
+                this.arguments = arguments;
+            }
+
+            /**
+             * Creates a new substitution for a dynamic invocation.
+             *
+             * @param bootstrapMethod The bootstrap method to use.
+             * @param constants       The constant arguments to supply to the bootstrap method, following a method handle of the substituted expression.
+             * @return An appropriate substitution factory.
+             */
+            public static Factory<Target> of(MethodDescription.InDefinedShape bootstrapMethod, List<?> constants) {
+                List<JavaConstant> arguments = JavaConstant.Simple.wrap(constants);
+                if (!bootstrapMethod.isInvokeBootstrap(CompoundList.of(JavaType.METHOD_HANDLE.getTypeStub(), TypeList.Explicit.of(arguments)))) {
+                    throw new IllegalArgumentException("Not a valid bootstrap method " + bootstrapMethod + " for " + arguments);
+                }
+                return new ForDynamicInvocation(bootstrapMethod, arguments);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Substitution<Target> make(TypeDescription instrumentedType, MethodDescription instrumentedMethod, TypePool typePool) {
+                return this;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public StackManipulation resolve(Target target,
+                                             TypeList.Generic parameters,
+                                             TypeDescription.Generic result,
+                                             JavaConstant.MethodHandle methodHandle,
+                                             StackManipulation stackManipulation,
+                                             int freeOffset) {
+                return MethodInvocation.invoke(bootstrapMethod).dynamic(MethodDescription.CONSTRUCTOR_INTERNAL_NAME.equals(target.getName())
+                                ? CONSTRUCTOR_NAME
+                                : target.getName(),
+                        result.asErasure(),
+                        parameters.asErasures(),
+                        CompoundList.<JavaConstant>of(methodHandle, arguments));
+            }
+        }
+
         /**
          * A substitution chain allows for chaining multiple substitution steps for a byte code element being replaced.
          *
@@ -8199,6 +8347,16 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
          */
         private boolean matched;
 
+        /**
+         * A cache of method graphs by the name of the type they were compiled for.
+         */
+        private final Map<String, MethodGraph.Linked> methodGraphs;
+
+        /**
+         * A cache of bindings by the opcode, owner, name and descriptor of the instruction they were resolved for.
+         */
+        private final Map<String, Replacement.Binding> bindings;
+
         /**
          * Creates a new substituting method visitor.
          *
@@ -8235,6 +8393,24 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
             this.virtualPrivateCalls = virtualPrivateCalls;
             stackSizeBuffer = 0;
             localVariableExtension = 0;
+            methodGraphs = new HashMap<String, MethodGraph.Linked>();
+            bindings = new HashMap<String, Replacement.Binding>();
+        }
+
+        /**
+         * Resolves the method graph of a type that is the owner of an invoked method. Method graphs are cached
+         * such that a type's graph is only compiled once per visited method.
+         *
+         * @param typeDescription The type for which to resolve the method graph.
+         * @return The method graph of the supplied type.
+         */
+        private MethodGraph.Linked toMethodGraph(TypeDescription typeDescription) {
+            MethodGraph.Linked methodGraph = methodGraphs.get(typeDescription.getName());
+            if (methodGraph == null) {
+                methodGraph = methodGraphCompiler.compile((TypeDefinition) typeDescription, instrumentedType);
+                methodGraphs.put(typeDescription.getName(), methodGraph);
+            }
+            return methodGraph;
         }
 
         @Override
@@ -8249,11 +8425,16 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
                             : ElementMatchers.<FieldDescription>failSafe(named(internalName).and(hasDescriptor(descriptor))));
                 } while (iterator.hasNext() && candidates.isEmpty());
                 if (!candidates.isEmpty()) {
-                    Replacement.Binding binding = replacement.bind(instrumentedType,
-                            instrumentedMethod,
-                            resolution.resolve(),
-                            candidates.getOnly(),
-                            opcode == Opcodes.PUTFIELD || opcode == Opcodes.PUTSTATIC);
+                    String key = opcode + owner + '.' + internalName + descriptor;
+                    Replacement.Binding binding = bindings.get(key);
+                    if (binding == null) {
+                        binding = replacement.bind(instrumentedType,
+                                instrumentedMethod,
+                                resolution.resolve(),
+                                candidates.getOnly(),
+                                opcode == Opcodes.PUTFIELD || opcode == Opcodes.PUTSTATIC);
+                        bindings.put(key, binding);
+                    }
                     if (binding.isBound()) {
                         TypeList.Generic parameters;
                         TypeDescription.Generic result;
@@ -8328,21 +8509,26 @@ public class MemberSubstitution implements AsmVisitorWrapper.ForDeclaredMethods.
                             ? ElementMatchers.<MethodDescription>isPrivate().and(not(isStatic())).and(named(internalName).and(hasDescriptor(descriptor)))
                             : ElementMatchers.<MethodDescription>failSafe(isPrivate().<MethodDescription>and(not(isStatic())).and(named(internalName).and(hasDescriptor(descriptor)))));
                     if (candidates.isEmpty()) {
-                        candidates = methodGraphCompiler.compile((TypeDefinition) resolution.resolve(), instrumentedType).listNodes().asMethodList().filter(strict
+                        candidates = toMethodGraph(resolution.resolve()).listNodes().asMethodList().filter(strict
                                 ? ElementMatchers.<MethodDescription>named(internalName).and(hasDescriptor(descriptor))
                                 : ElementMatchers.<MethodDescription>failSafe(named(internalName).and(hasDescriptor(descriptor))));
                     }
                 } else {
-                    candidates = methodGraphCompiler.compile((TypeDefinition) resolution.resolve(), instrumentedType).listNodes().asMethodList().filter(strict
+                    candidates = toMethodGraph(resolution.resolve()).listNodes().asMethodList().filter(strict
                             ? ElementMatchers.<MethodDescription>named(internalName).and(hasDescriptor(descriptor))
                             : ElementMatchers.<MethodDescription>failSafe(named(internalName).and(hasDescriptor(descriptor))));
                 }
                 if (!candidates.isEmpty()) {
-                    Replacement.Binding binding = replacement.bind(instrumentedType,
-                            instrumentedMethod,
-                            resolution.resolve(),
-                            candidates.getOnly(),
-                            Replacement.InvocationType.of(opcode, candidates.getOnly()));
+                    String key = opcode + owner + '.' + internalName + descriptor;
+                    Replacement.Binding binding = bindings.get(key);
+                    if (binding == null) {
+                        binding = replacement.bind(instrumentedType,
+                                instrumentedMethod,
+                                resolution.resolve(),
+                                candidates.getOnly(),
+                                Replacement.InvocationType.of(opcode, candidates.getOnly()));
+                        bindings.put(key, binding);
+                    }
                     if (binding.isBound()) {
                         StackManipulation.Size size = binding.make(
                                 candidates.getOnly().isStatic() || candidates.getOnly().isConstructor()
@@ -50,9 +50,15 @@ import org.objectweb.asm.signature.SignatureWriter;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.*;
 import java.security.PrivilegedAction;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.is;
 
@@ -8724,11 +8730,23 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
          */
         private static final Dispatcher DISPATCHER = doPrivileged(JavaDispatcher.of(Dispatcher.class));
 
+        /**
+         * A property that enables the reuse of canonical type descriptions for loaded types if set to {@code true}. Canonical
+         * descriptions are not enabled by default as they can delay the unloading of types until memory is short.
+         */
+        public static final String CANONICAL_PROPERTY = "net.bytebuddy.canonical";
+
         /**
          * A cache of type descriptions for commonly used types to avoid unnecessary allocations.
          */
         private static final Map<Class<?>, TypeDescription> TYPE_CACHE;
 
+        /**
+         * A cache of canonical type descriptions for any other loaded type or {@code null} if canonical descriptions are not enabled.
+         */
+        @MaybeNull
+        private static final Canonicalization CANONICALIZATION;
+
         /*
          * Initializes the type cache.
          */
@@ -8757,6 +8775,15 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
             TYPE_CACHE.put(long.class, new ForLoadedType(long.class));
             TYPE_CACHE.put(float.class, new ForLoadedType(float.class));
             TYPE_CACHE.put(double.class, new ForLoadedType(double.class));
+            boolean canonical;
+            try {
+                canonical = Boolean.parseBoolean(doPrivileged(new GetSystemPropertyAction(CANONICAL_PROPERTY)));
+            } catch (Exception ignored) {
+                canonical = false;
+            }
+            CANONICALIZATION = canonical
+                    ? new Canonicalization()
+                    : null;
         }
 
         /**
@@ -8803,16 +8830,23 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
         }
 
         /**
-         * Returns a new immutable type description for a loaded type.
+         * Returns an immutable type description for a loaded type. If enabled by the {@link ForLoadedType#CANONICAL_PROPERTY},
+         * the same description is returned for repeated lookups of a type such that its reflected members and annotations are
+         * only resolved once. Canonical descriptions are softly referenced. They are therefore retained when they are not
+         * otherwise in use, but they are released if memory is short such that a type can still be unloaded.
          *
          * @param type The type to be represented by this type description.
          * @return The type description representing the given type.
          */
         public static TypeDescription of(Class<?> type) {
             TypeDescription typeDescription = TYPE_CACHE.get(type);
-            return typeDescription == null
+            if (typeDescription != null) {
+                return typeDescription;
+            }
+            Canonicalization canonicalization = CANONICALIZATION;
+            return canonicalization == null
                     ? new ForLoadedType(type)
-                    : typeDescription;
+                    : canonicalization.of(type);
         }
 
         @Override
@@ -9027,6 +9061,15 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
             }
         }
 
+        /**
+         * Returns the loaded type that is represented by this type description.
+         *
+         * @return The loaded type that is represented by this type description.
+         */
+        public Class<?> getLoadedType() {
+            return type;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -9186,6 +9229,148 @@ public interface TypeDescription extends TypeDefinition, ByteCodeElement, TypeVa
             }
         }
 
+        /**
+         * A cache of canonical type descriptions that weakly references the described types and softly references their
+         * descriptions. This way, a description is retained across lookups even if it is not referenced elsewhere. As a
+         * description strongly references its type, the described type and its class loader can only be unloaded once the
+         * garbage collector clears the soft reference, what it does before running out of memory.
+         */
+        protected static class Canonicalization extends ReferenceQueue<Class<?>> {
+
+            /**
+             * The canonical descriptions of loaded types.
+             */
+            private final ConcurrentMap<Object, Reference<TypeDescription>> typeDescriptions;
+
+            /**
+             * Creates a new canonicalization.
+             */
+            protected Canonicalization() {
+                typeDescriptions = new ConcurrentHashMap<Object, Reference<TypeDescription>>();
+            }
+
+            /**
+             * Returns the canonical description of a loaded type.
+             *
+             * @param type The loaded type.
+             * @return A canonical description of the loaded type.
+             */
+            protected TypeDescription of(Class<?> type) {
+                Reference<?> stale;
+                while ((stale = poll()) != null) {
+                    typeDescriptions.remove(stale);
+                }
+                Reference<TypeDescription> reference = typeDescriptions.get(new LookupKey(type));
+                TypeDescription typeDescription = reference == null
+                        ? null
+                        : reference.get();
+                if (typeDescription == null) {
+                    typeDescription = new ForLoadedType(type);
+                    typeDescriptions.put(new StorageKey(type, this), new SoftReference<TypeDescription>(typeDescription));
+                }
+                return typeDescription;
+            }
+
+            /**
+             * Returns the amount of types for which a canonical description is currently registered.
+             *
+             * @return The amount of types for which a canonical description is registered.
+             */
+            protected int size() {
+                return typeDescriptions.size();
+            }
+
+            /**
+             * A key for looking up a canonical description without registering a weak reference.
+             */
+            protected static class LookupKey {
+
+                /**
+                 * The represented type.
+                 */
+                private final Class<?> type;
+
+                /**
+                 * The represented type's identity hash code.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new lookup key.
+                 *
+                 * @param type The represented type.
+                 */
+                protected LookupKey(Class<?> type) {
+                    this.type = type;
+                    hashCode = System.identityHashCode(type);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        return type == ((LookupKey) other).type;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        return hashCode == storageKey.hashCode && type == storageKey.get();
+                    } else {
+                        return false;
+                    }
+                }
+            }
+
+            /**
+             * A key for registering a canonical description that only weakly references the described type.
+             */
+            protected static class StorageKey extends WeakReference<Class<?>> {
+
+                /**
+                 * The represented type's identity hash code.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new storage key.
+                 *
+                 * @param type           The represented type.
+                 * @param referenceQueue The reference queue to notify upon the represented type's collection.
+                 */
+                protected StorageKey(Class<?> type, ReferenceQueue<? super Class<?>> referenceQueue) {
+                    super(type, referenceQueue);
+                    hashCode = System.identityHashCode(type);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+                public boolean equals(@MaybeNull Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (other instanceof LookupKey) {
+                        LookupKey lookupKey = (LookupKey) other;
+                        return hashCode == lookupKey.hashCode && get() == lookupKey.type;
+                    } else if (other instanceof StorageKey) {
+                        StorageKey storageKey = (StorageKey) other;
+                        Class<?> type = get();
+                        return hashCode == storageKey.hashCode && type != null && type == storageKey.get();
+                    } else {
+                        return false;
+                    }
+                }
+            }
+        }
+
         /**
          * A dispatcher for using methods of {@link Class} that are not declared for Java 6.
          */
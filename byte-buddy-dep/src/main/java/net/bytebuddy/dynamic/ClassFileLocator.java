@@ -43,6 +43,16 @@ import java.net.URLClassLoader;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -249,6 +259,68 @@ public interface ClassFileLocator extends Closeable {
          */
         @MaybeNull
         protected abstract byte[] doLocate(String path) throws IOException;
+
+        /**
+         * Returns the names of all types for which this class file locator can locate a class file, considering only those
+         * multi-release versions that are applied by this class file locator.
+         *
+         * @return The names of all types that this class file locator can locate or {@code null} if this class file locator
+         * cannot enumerate its class files.
+         * @throws IOException If an I/O exception occurs.
+         */
+        @MaybeNull
+        public Set<String> getTypeNames() throws IOException {
+            List<String> paths = doEnumerate();
+            if (paths == null) {
+                return null;
+            }
+            Set<String> typeNames = new HashSet<String>();
+            for (String path : paths) {
+                if (!path.endsWith(CLASS_FILE_EXTENSION)) {
+                    continue;
+                } else if (path.startsWith(META_INF_VERSIONS)) {
+                    int separator = path.indexOf('/', META_INF_VERSIONS.length());
+                    if (separator == -1 || !isApplied(path.substring(META_INF_VERSIONS.length(), separator))) {
+                        continue;
+                    }
+                    path = path.substring(separator + 1);
+                }
+                typeNames.add(path.substring(0, path.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+            }
+            return typeNames;
+        }
+
+        /**
+         * Checks if a multi-release version folder is applied by this class file locator.
+         *
+         * @param folder The name of the multi-release version folder.
+         * @return {@code true} if the version is applied by this class file locator.
+         */
+        private boolean isApplied(String folder) {
+            try {
+                int candidate = Integer.parseInt(folder);
+                for (int aVersion : version) {
+                    if (aVersion == candidate) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (NumberFormatException ignored) {
+                return false;
+            }
+        }
+
+        /**
+         * Enumerates the paths of all files that are represented by this class file locator.
+         *
+         * @return A list of the paths of all represented files, separated by {@code /}, or {@code null} if this
+         * class file locator cannot enumerate its files.
+         * @throws IOException If an I/O exception occurs.
+         */
+        @MaybeNull
+        protected List<String> doEnumerate() throws IOException {
+            return null;
+        }
     }
 
     /**
@@ -1002,6 +1074,22 @@ public interface ClassFileLocator extends Closeable {
             }
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected List<String> doEnumerate() {
+            List<String> paths = new ArrayList<String>();
+            Enumeration<JarEntry> enumeration = jarFile.entries();
+            while (enumeration.hasMoreElements()) {
+                JarEntry jarEntry = enumeration.nextElement();
+                if (!jarEntry.isDirectory()) {
+                    paths.add(jarEntry.getName());
+                }
+            }
+            return paths;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1302,6 +1390,35 @@ public interface ClassFileLocator extends Closeable {
             }
         }
 
+        /**
+         * {@inheritDoc}
+         * Folders are only traversed once by their canonical path such that symbolic links cannot cause a cycle.
+         */
+        @Override
+        protected List<String> doEnumerate() throws IOException {
+            List<String> paths = new ArrayList<String>();
+            Set<String> visited = new HashSet<String>(Collections.singleton(folder.getCanonicalPath()));
+            LinkedList<String> prefixes = new LinkedList<String>(Collections.singleton(""));
+            LinkedList<File> folders = new LinkedList<File>(Collections.singleton(folder));
+            while (!folders.isEmpty()) {
+                String prefix = prefixes.removeFirst();
+                File[] file = folders.removeFirst().listFiles();
+                if (file != null) {
+                    for (File aFile : file) {
+                        if (aFile.isDirectory()) {
+                            if (visited.add(aFile.getCanonicalPath())) {
+                                prefixes.add(prefix + aFile.getName() + "/");
+                                folders.add(aFile);
+                            }
+                        } else {
+                            paths.add(prefix + aFile.getName());
+                        }
+                    }
+                }
+            }
+            return paths;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -2113,14 +2230,26 @@ public interface ClassFileLocator extends Closeable {
          *                          the order of their application.
          */
         public Compound(List<? extends ClassFileLocator> classFileLocators) {
-            this.classFileLocators = new ArrayList<ClassFileLocator>();
+            this.classFileLocators = flatten(classFileLocators);
+        }
+
+        /**
+         * Flattens a list of class file locators by inlining the delegates of any compound class file locator and by
+         * removing any no-op class file locator.
+         *
+         * @param classFileLocators The class file locators to flatten.
+         * @return A list of the flattened class file locators in the order of their application.
+         */
+        private static List<ClassFileLocator> flatten(List<? extends ClassFileLocator> classFileLocators) {
+            List<ClassFileLocator> flattened = new ArrayList<ClassFileLocator>();
             for (ClassFileLocator classFileLocator : classFileLocators) {
                 if (classFileLocator instanceof Compound) {
-                    this.classFileLocators.addAll(((Compound) classFileLocator).classFileLocators);
+                    flattened.addAll(((Compound) classFileLocator).classFileLocators);
                 } else if (!(classFileLocator instanceof NoOp)) {
-                    this.classFileLocators.add(classFileLocator);
+                    flattened.add(classFileLocator);
                 }
             }
+            return flattened;
         }
 
         /**
@@ -2144,5 +2273,511 @@ public interface ClassFileLocator extends Closeable {
                 classFileLocator.close();
             }
         }
+
+        /**
+         * <p>
+         * A compound class file locator that indexes the names of the types of all delegates that can enumerate their class files,
+         * such as {@link ForJarFile} and {@link ForFolder}. A lookup only queries the first indexed delegate that contains a type,
+         * while delegates that cannot enumerate their class files are still queried in order. If all delegates are indexed, a lookup
+         * of a type that none of them contains does not require any I/O.
+         * </p>
+         * <p>
+         * <b>Important</b>: The index is created upon the first lookup. Class files that are added to a jar file or a folder
+         * after this point are not discovered.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        public static class Indexed extends Compound {
+
+            /**
+             * The {@link ClassFileLocator}s which are represented by this compound class file locator in the order of their application.
+             */
+            private final List<ClassFileLocator> classFileLocators;
+
+            /**
+             * The index of this class file locator or {@code null} if the index was not yet created.
+             */
+            @MaybeNull
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private volatile Index index;
+
+            /**
+             * Creates a new indexed compound class file locator.
+             *
+             * @param classFileLocator The {@link ClassFileLocator}s to be represented by this compound class file locator
+             *                         in the order of their application.
+             */
+            public Indexed(ClassFileLocator... classFileLocator) {
+                this(Arrays.asList(classFileLocator));
+            }
+
+            /**
+             * Creates a new indexed compound class file locator.
+             *
+             * @param classFileLocators The {@link ClassFileLocator}s to be represented by this compound class file locator
+             *                          in the order of their application.
+             */
+            public Indexed(List<? extends ClassFileLocator> classFileLocators) {
+                super(classFileLocators);
+                this.classFileLocators = flatten(classFileLocators);
+            }
+
+            @Override
+            public Resolution locate(String name) throws IOException {
+                Index index = this.index;
+                if (index == null) {
+                    index = Index.of(classFileLocators);
+                    this.index = index;
+                }
+                Integer owner = index.getOwner(name);
+                if (owner == null && index.isComplete()) {
+                    return new Resolution.Illegal(name);
+                }
+                for (int position = 0; position < classFileLocators.size(); position++) {
+                    if (!index.isIndexed(position) || owner != null && owner == position) {
+                        Resolution resolution = classFileLocators.get(position).locate(name);
+                        if (resolution.isResolved()) {
+                            return resolution;
+                        }
+                    }
+                }
+                return new Resolution.Illegal(name);
+            }
+
+            /**
+             * An index of the type names of the delegates of a compound class file locator.
+             */
+            protected static class Index {
+
+                /**
+                 * A mapping of type names to the position of the first indexed delegate that contains the type.
+                 */
+                private final Map<String, Integer> owners;
+
+                /**
+                 * An array indicating for each delegate if it is indexed.
+                 */
+                private final boolean[] indexed;
+
+                /**
+                 * {@code true} if all delegates are indexed.
+                 */
+                private final boolean complete;
+
+                /**
+                 * Creates a new index.
+                 *
+                 * @param owners   A mapping of type names to the position of the first indexed delegate that contains the type.
+                 * @param indexed  An array indicating for each delegate if it is indexed.
+                 * @param complete {@code true} if all delegates are indexed.
+                 */
+                protected Index(Map<String, Integer> owners, boolean[] indexed, boolean complete) {
+                    this.owners = owners;
+                    this.indexed = indexed;
+                    this.complete = complete;
+                }
+
+                /**
+                 * Creates an index of the supplied class file locators.
+                 *
+                 * @param classFileLocators The class file locators to index.
+                 * @return An index of the supplied class file locators.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                protected static Index of(List<ClassFileLocator> classFileLocators) throws IOException {
+                    Map<String, Integer> owners = new HashMap<String, Integer>();
+                    boolean[] indexed = new boolean[classFileLocators.size()];
+                    boolean complete = true;
+                    for (int position = 0; position < classFileLocators.size(); position++) {
+                        ClassFileLocator classFileLocator = classFileLocators.get(position);
+                        Set<String> typeNames = classFileLocator instanceof MultiReleaseAware
+                                ? ((MultiReleaseAware) classFileLocator).getTypeNames()
+                                : null;
+                        if (typeNames == null) {
+                            complete = false;
+                        } else {
+                            indexed[position] = true;
+                            for (String typeName : typeNames) {
+                                if (!owners.containsKey(typeName)) {
+                                    owners.put(typeName, position);
+                                }
+                            }
+                        }
+                    }
+                    return new Index(owners, indexed, complete);
+                }
+
+                /**
+                 * Returns the position of the first indexed delegate that contains a type.
+                 *
+                 * @param name The name of the type.
+                 * @return The position of the first indexed delegate that contains the type or {@code null} if no indexed delegate contains it.
+                 */
+                @MaybeNull
+                protected Integer getOwner(String name) {
+                    return owners.get(name);
+                }
+
+                /**
+                 * Checks if a delegate is indexed.
+                 *
+                 * @param position The position of the delegate.
+                 * @return {@code true} if the delegate is indexed.
+                 */
+                protected boolean isIndexed(int position) {
+                    return indexed[position];
+                }
+
+                /**
+                 * Checks if all delegates are indexed.
+                 *
+                 * @return {@code true} if all delegates are indexed.
+                 */
+                protected boolean isComplete() {
+                    return complete;
+                }
+            }
+        }
+    }
+
+    /**
+     * A locator for class files that resolves class files asynchronously. Such a locator can be used if class files are
+     * read from a remote store or a slow file system, such that I/O can overlap with the processing of other class files.
+     */
+    interface Asynchronous extends Closeable {
+
+        /**
+         * Locates the class file for a given type and returns a future of the binary data of the class file. If the class
+         * file cannot be read, the returned future completes exceptionally with an {@link IOException}.
+         *
+         * @param name The name of the type to locate a class file representation for.
+         * @return A future of a binary representation of the type which might be illegal.
+         */
+        Future<Resolution> locate(String name);
+
+        /**
+         * An asynchronous class file locator that resolves class files by submitting lookups of a synchronous class file locator
+         * to an executor. Lookups of a class file that are requested while a lookup of the same class file is still pending are
+         * coalesced such that the synchronous class file locator is only queried once. Every caller receives its own future such
+         * that canceling a future does not affect the lookup for other callers. The amount of lookups that are executed
+         * concurrently can be limited. The executor is not shut down when this class file locator is closed.
+         */
+        class ForClassFileLocator implements Asynchronous {
+
+            /**
+             * The class file locator to query.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * The executor to use for executing lookups.
+             */
+            private final Executor executor;
+
+            /**
+             * The maximum amount of lookups that are executed concurrently.
+             */
+            private final int parallelism;
+
+            /**
+             * A mapping of type names to lookups that are not yet completed.
+             */
+            private final ConcurrentMap<String, Lookup> lookups;
+
+            /**
+             * A queue of lookups that are not yet submitted to the executor.
+             */
+            private final Queue<Lookup> queue;
+
+            /**
+             * The amount of lookups that are currently submitted to the executor.
+             */
+            private final AtomicInteger active;
+
+            /**
+             * Creates a new asynchronous class file locator that does not limit the amount of concurrent lookups.
+             *
+             * @param classFileLocator The class file locator to query.
+             * @param executor         The executor to use for executing lookups.
+             */
+            public ForClassFileLocator(ClassFileLocator classFileLocator, Executor executor) {
+                this(classFileLocator, executor, Integer.MAX_VALUE);
+            }
+
+            /**
+             * Creates a new asynchronous class file locator.
+             *
+             * @param classFileLocator The class file locator to query.
+             * @param executor         The executor to use for executing lookups.
+             * @param parallelism      The maximum amount of lookups that are executed concurrently.
+             */
+            public ForClassFileLocator(ClassFileLocator classFileLocator, Executor executor, int parallelism) {
+                if (parallelism < 1) {
+                    throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+                }
+                this.classFileLocator = classFileLocator;
+                this.executor = executor;
+                this.parallelism = parallelism;
+                lookups = new ConcurrentHashMap<String, Lookup>();
+                queue = new ConcurrentLinkedQueue<Lookup>();
+                active = new AtomicInteger();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Future<Resolution> locate(String name) {
+                Lookup lookup = lookups.get(name);
+                if (lookup == null) {
+                    lookup = new Lookup(name);
+                    Lookup previous = lookups.putIfAbsent(name, lookup);
+                    if (previous == null) {
+                        queue.add(lookup);
+                        drain();
+                    } else {
+                        lookup = previous;
+                    }
+                }
+                return lookup.subscribe();
+            }
+
+            /**
+             * Submits queued lookups to the executor as long as the maximum amount of concurrent lookups is not reached.
+             */
+            protected void drain() {
+                while (!queue.isEmpty()) {
+                    int current = active.get();
+                    if (current >= parallelism) {
+                        return;
+                    } else if (active.compareAndSet(current, current + 1)) {
+                        Lookup lookup = queue.poll();
+                        if (lookup == null) {
+                            active.decrementAndGet();
+                        } else {
+                            try {
+                                executor.execute(lookup);
+                            } catch (RuntimeException exception) {
+                                active.decrementAndGet();
+                                lookup.reject(exception);
+                            }
+                        }
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                classFileLocator.close();
+            }
+
+            /**
+             * A lookup of a class file that is executed by the executor. A lookup is never exposed to a caller, such that
+             * it cannot be canceled, but completes the subscriptions of all callers once it is done.
+             */
+            protected class Lookup extends FutureTask<Resolution> {
+
+                /**
+                 * The name of the type to locate.
+                 */
+                private final String name;
+
+                /**
+                 * The subscriptions that are not yet completed.
+                 */
+                private final Queue<Subscription> subscriptions;
+
+                /**
+                 * Creates a new lookup.
+                 *
+                 * @param name The name of the type to locate.
+                 */
+                protected Lookup(String name) {
+                    super(new Dispatcher(classFileLocator, name));
+                    this.name = name;
+                    subscriptions = new ConcurrentLinkedQueue<Subscription>();
+                }
+
+                /**
+                 * Creates a subscription to the result of this lookup.
+                 *
+                 * @return A future that is completed with the result of this lookup.
+                 */
+                protected Future<Resolution> subscribe() {
+                    Subscription subscription = new Subscription();
+                    subscriptions.add(subscription);
+                    if (isDone() && subscriptions.remove(subscription)) {
+                        subscription.complete(this);
+                    }
+                    return subscription;
+                }
+
+                @Override
+                public void run() {
+                    try {
+                        super.run();
+                    } finally {
+                        active.decrementAndGet();
+                        drain();
+                    }
+                }
+
+                /**
+                 * Completes this lookup exceptionally if it cannot be submitted to the executor.
+                 *
+                 * @param exception The exception that was raised when submitting this lookup.
+                 */
+                protected void reject(RuntimeException exception) {
+                    setException(exception);
+                }
+
+                @Override
+                protected void done() {
+                    lookups.remove(name, this);
+                    Subscription subscription;
+                    while ((subscription = subscriptions.poll()) != null) {
+                        subscription.complete(this);
+                    }
+                }
+            }
+
+            /**
+             * A future of a single caller that is completed by a lookup. Canceling a subscription does not cancel the lookup.
+             */
+            protected static class Subscription extends FutureTask<Resolution> {
+
+                /**
+                 * Creates a new subscription.
+                 */
+                protected Subscription() {
+                    super(Unresolved.INSTANCE);
+                }
+
+                /**
+                 * Completes this subscription with the result of a completed lookup.
+                 *
+                 * @param lookup The completed lookup.
+                 */
+                protected void complete(Future<Resolution> lookup) {
+                    try {
+                        set(lookup.get());
+                    } catch (ExecutionException exception) {
+                        setException(exception.getCause());
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        setException(exception);
+                    } catch (CancellationException exception) {
+                        setException(exception);
+                    }
+                }
+
+                /**
+                 * A callable that is never invoked as a subscription is only completed by its lookup.
+                 */
+                protected enum Unresolved implements Callable<Resolution> {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Resolution call() {
+                        throw new IllegalStateException("A subscription is only completed by its lookup");
+                    }
+                }
+            }
+
+            /**
+             * A callable that queries a synchronous class file locator.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            protected static class Dispatcher implements Callable<Resolution> {
+
+                /**
+                 * The class file locator to query.
+                 */
+                private final ClassFileLocator classFileLocator;
+
+                /**
+                 * The name of the type to locate.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new dispatcher.
+                 *
+                 * @param classFileLocator The class file locator to query.
+                 * @param name             The name of the type to locate.
+                 */
+                protected Dispatcher(ClassFileLocator classFileLocator, String name) {
+                    this.classFileLocator = classFileLocator;
+                    this.name = name;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution call() throws IOException {
+                    return classFileLocator.locate(name);
+                }
+            }
+        }
+
+        /**
+         * A synchronous class file locator that awaits the resolution of an asynchronous class file locator.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Blocking implements ClassFileLocator {
+
+            /**
+             * The asynchronous class file locator to query.
+             */
+            private final Asynchronous asynchronous;
+
+            /**
+             * Creates a new blocking class file locator.
+             *
+             * @param asynchronous The asynchronous class file locator to query.
+             */
+            public Blocking(Asynchronous asynchronous) {
+                this.asynchronous = asynchronous;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution locate(String name) throws IOException {
+                try {
+                    return asynchronous.locate(name).get();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while locating " + name);
+                } catch (CancellationException exception) {
+                    throw new InterruptedIOException("Canceled while locating " + name);
+                } catch (ExecutionException exception) {
+                    Throwable cause = exception.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new IllegalStateException("Failed to locate " + name, cause);
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                asynchronous.close();
+            }
+        }
     }
 }
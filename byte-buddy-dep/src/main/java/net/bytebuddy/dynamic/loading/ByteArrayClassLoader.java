@@ -27,17 +27,23 @@ import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * <p>
@@ -265,7 +271,10 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
                                 PackageDefinitionStrategy packageDefinitionStrategy,
                                 ClassFilePostProcessor classFilePostProcessor) {
         super(parent, sealed);
-        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions.size());
+        for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+            this.typeDefinitions.put(entry.getKey(), persistenceHandler.retain(entry.getValue()));
+        }
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         this.packageDefinitionStrategy = packageDefinitionStrategy;
@@ -370,11 +379,81 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
         return result;
     }
 
+    /**
+     * Loads a given set of class descriptions and their binary representations but only defines the supplied entry type
+     * eagerly. All other types are only defined once they are requested from the created class loader, for example when
+     * they are resolved by the entry type. Until then, the binary representations are retained in a compressed form.
+     *
+     * @param classLoader The parent class loader.
+     * @param entry       The type to define eagerly.
+     * @param types       The unloaded types to be loaded, including the entry type.
+     * @return The loaded entry type.
+     */
+    public static Class<?> loadLazily(@MaybeNull ClassLoader classLoader, TypeDescription entry, Map<TypeDescription, byte[]> types) {
+        return loadLazily(classLoader,
+                entry,
+                types,
+                ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                PersistenceHandler.COMPRESSED,
+                PackageDefinitionStrategy.Trivial.INSTANCE,
+                false,
+                true);
+    }
+
+    /**
+     * Loads a given set of class descriptions and their binary representations but only defines the supplied entry type
+     * eagerly. All other types are only defined once they are requested from the created class loader, for example when
+     * they are resolved by the entry type.
+     *
+     * @param classLoader               The parent class loader.
+     * @param entry                     The type to define eagerly.
+     * @param types                     The unloaded types to be loaded, including the entry type.
+     * @param protectionDomain          The protection domain to apply where {@code null} references an implicit protection domain.
+     * @param persistenceHandler        The persistence handler of the created class loader.
+     * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+     * @param forbidExisting            {@code true} if the class loading should throw an exception if a class was already loaded by a parent class loader.
+     * @param sealed                    {@code true} if the class loader should be sealed.
+     * @return The loaded entry type.
+     */
+    @SuppressFBWarnings(value = "DP_CREATE_CLASSLOADER_INSIDE_DO_PRIVILEGED", justification = "Assuring privilege is explicit user responsibility.")
+    public static Class<?> loadLazily(@MaybeNull ClassLoader classLoader,
+                                      TypeDescription entry,
+                                      Map<TypeDescription, byte[]> types,
+                                      @MaybeNull ProtectionDomain protectionDomain,
+                                      PersistenceHandler persistenceHandler,
+                                      PackageDefinitionStrategy packageDefinitionStrategy,
+                                      boolean forbidExisting,
+                                      boolean sealed) {
+        if (!types.containsKey(entry)) {
+            throw new IllegalArgumentException("Entry type is not contained in loaded types: " + entry);
+        }
+        Map<String, byte[]> typesByName = new HashMap<String, byte[]>();
+        for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+            typesByName.put(type.getKey().getName(), type.getValue());
+        }
+        classLoader = new ByteArrayClassLoader(classLoader,
+                sealed,
+                typesByName,
+                protectionDomain,
+                persistenceHandler,
+                packageDefinitionStrategy,
+                ClassFilePostProcessor.NoOp.INSTANCE);
+        try {
+            Class<?> type = Class.forName(entry.getName(), false, classLoader);
+            if (!GraalImageCode.getCurrent().isNativeImageExecution() && forbidExisting && type.getClassLoader() != classLoader) {
+                throw new IllegalStateException("Class already loaded: " + type);
+            }
+            return type;
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException("Cannot load class " + entry, exception);
+        }
+    }
+
     @Override
     protected Map<String, Class<?>> doDefineClasses(Map<String, byte[]> typeDefinitions) throws ClassNotFoundException {
         Map<String, byte[]> previous = new HashMap<String, byte[]>();
         for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
-            previous.put(entry.getKey(), this.typeDefinitions.putIfAbsent(entry.getKey(), entry.getValue()));
+            previous.put(entry.getKey(), this.typeDefinitions.putIfAbsent(entry.getKey(), persistenceHandler.retain(entry.getValue())));
         }
         try {
             Map<String, Class<?>> types = new LinkedHashMap<String, Class<?>>();
@@ -835,6 +914,114 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
                 return NO_URL;
             }
 
+            @Override
+            protected void release(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                typeDefinitions.remove(name);
+            }
+        },
+
+        /**
+         * The off-heap persistence handler retains all class file representations and makes them accessible similarly to the
+         * {@link PersistenceHandler#MANIFEST} handler. The class files are however stored in shared slabs of direct memory outside
+         * of the Java heap. A slab is released once all class loaders that retain any of its class files are garbage collected.
+         */
+        OFF_HEAP(true) {
+            @Override
+            protected byte[] retain(byte[] binaryRepresentation) {
+                return OffHeapStorage.store(binaryRepresentation);
+            }
+
+            @Override
+            @MaybeNull
+            protected byte[] lookup(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                byte[] handle = typeDefinitions.get(name);
+                return handle == null
+                        ? null
+                        : OffHeapStorage.resolve(handle);
+            }
+
+            @Override
+            protected URL url(String resourceName, ConcurrentMap<String, byte[]> typeDefinitions) {
+                if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
+                    return NO_URL;
+                } else if (resourceName.startsWith("/")) {
+                    resourceName = resourceName.substring(1);
+                }
+                String typeName = resourceName.replace('/', '.').substring(FROM_BEGINNING, resourceName.length() - CLASS_FILE_SUFFIX.length());
+                byte[] handle = typeDefinitions.get(typeName);
+                return handle == null
+                        ? NO_URL
+                        : doPrivileged(new UrlDefinitionAction(resourceName, OffHeapStorage.resolve(handle)));
+            }
+
+            @Override
+            protected void release(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                /* do nothing */
+            }
+        },
+
+        /**
+         * The compressed persistence handler hides all class file representations similarly to the {@link PersistenceHandler#LATENT}
+         * handler but retains class files in a compressed form until they are loaded. This reduces the memory footprint of a class loader
+         * that defines many types of which only some are ever loaded.
+         */
+        COMPRESSED(false) {
+            @Override
+            protected byte[] retain(byte[] binaryRepresentation) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    deflater.setInput(binaryRepresentation);
+                    deflater.finish();
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length / 2 + LENGTH_PREFIX);
+                    outputStream.write(binaryRepresentation.length >>> 24);
+                    outputStream.write(binaryRepresentation.length >>> 16);
+                    outputStream.write(binaryRepresentation.length >>> 8);
+                    outputStream.write(binaryRepresentation.length);
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while (!deflater.finished()) {
+                        outputStream.write(buffer, FROM_BEGINNING, deflater.deflate(buffer));
+                    }
+                    return outputStream.toByteArray();
+                } finally {
+                    deflater.end();
+                }
+            }
+
+            @Override
+            @MaybeNull
+            protected byte[] lookup(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
+                byte[] compressed = typeDefinitions.remove(name);
+                if (compressed == null) {
+                    return null;
+                }
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(compressed, LENGTH_PREFIX, compressed.length - LENGTH_PREFIX);
+                    byte[] binaryRepresentation = new byte[(compressed[0] & 0xFF) << 24
+                            | (compressed[1] & 0xFF) << 16
+                            | (compressed[2] & 0xFF) << 8
+                            | compressed[3] & 0xFF];
+                    int offset = FROM_BEGINNING;
+                    while (offset < binaryRepresentation.length) {
+                        int length = inflater.inflate(binaryRepresentation, offset, binaryRepresentation.length - offset);
+                        if (length == 0 && (inflater.finished() || inflater.needsInput())) {
+                            throw new IllegalStateException("Compressed class file is truncated: " + name);
+                        }
+                        offset += length;
+                    }
+                    return binaryRepresentation;
+                } catch (DataFormatException exception) {
+                    throw new IllegalStateException("Cannot decompress class file of " + name, exception);
+                } finally {
+                    inflater.end();
+                }
+            }
+
+            @Override
+            protected URL url(String resourceName, ConcurrentMap<String, byte[]> typeDefinitions) {
+                return NO_URL;
+            }
+
             @Override
             protected void release(String name, ConcurrentMap<String, byte[]> typeDefinitions) {
                 typeDefinitions.remove(name);
@@ -846,6 +1033,16 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /**
+         * The amount of bytes that are used for storing the length of a compressed class file.
+         */
+        private static final int LENGTH_PREFIX = 4;
+
+        /**
+         * The size of the buffer that is used when compressing class files.
+         */
+        private static final int BUFFER_SIZE = 1024;
+
         /**
          * {@code true} if this persistence handler represents manifest class file storage.
          */
@@ -869,6 +1066,16 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             return manifest;
         }
 
+        /**
+         * Transforms a binary representation into the form in which it is retained by a class loader until it is looked up.
+         *
+         * @param binaryRepresentation The binary representation of a class file.
+         * @return The binary representation in the form in which it is retained.
+         */
+        protected byte[] retain(byte[] binaryRepresentation) {
+            return binaryRepresentation;
+        }
+
         /**
          * Performs a lookup of a class file by its name.
          *
@@ -897,6 +1104,80 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
          */
         protected abstract void release(String name, ConcurrentMap<String, byte[]> typeDefinitions);
 
+        /**
+         * A storage for class files that are retained outside of the Java heap. Class files are copied into shared slabs of
+         * direct memory and are represented by an opaque handle that is retained by a class loader instead of the class file.
+         * Once a handle is no longer referenced, its storage becomes eligible for garbage collection. A slab is released
+         * once none of its class files is referenced.
+         */
+        protected static class OffHeapStorage {
+
+            /**
+             * The size of a shared slab of direct memory.
+             */
+            private static final int SLAB_SIZE = 1024 * 1024;
+
+            /**
+             * The maximum size of a class file that is stored in a shared slab. Larger class files are stored in dedicated buffers.
+             */
+            private static final int MAXIMUM_SHARED_SIZE = SLAB_SIZE / 16;
+
+            /**
+             * A mapping of handles to the buffers that store the represented class files. A handle's identity is used as its key.
+             */
+            private static final Map<byte[], ByteBuffer> BUFFERS = new WeakHashMap<byte[], ByteBuffer>();
+
+            /**
+             * The slab that is currently used for storing class files or {@code null} if no slab was allocated yet.
+             */
+            @MaybeNull
+            private static ByteBuffer slab;
+
+            /**
+             * Stores a class file outside of the Java heap.
+             *
+             * @param binaryRepresentation The binary representation of the class file.
+             * @return A handle that represents the stored class file.
+             */
+            protected static synchronized byte[] store(byte[] binaryRepresentation) {
+                ByteBuffer buffer;
+                if (binaryRepresentation.length > MAXIMUM_SHARED_SIZE) {
+                    buffer = ByteBuffer.allocateDirect(binaryRepresentation.length);
+                } else {
+                    if (slab == null || slab.remaining() < binaryRepresentation.length) {
+                        slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+                    }
+                    buffer = slab.slice();
+                    ((Buffer) slab).position(slab.position() + binaryRepresentation.length);
+                }
+                buffer.put(binaryRepresentation);
+                ((Buffer) buffer).flip();
+                byte[] handle = new byte[0];
+                BUFFERS.put(handle, buffer);
+                return handle;
+            }
+
+            /**
+             * Resolves a class file that was stored outside of the Java heap.
+             *
+             * @param handle The handle that represents the stored class file.
+             * @return A copy of the binary representation of the stored class file.
+             */
+            protected static byte[] resolve(byte[] handle) {
+                ByteBuffer buffer;
+                synchronized (OffHeapStorage.class) {
+                    buffer = BUFFERS.get(handle);
+                }
+                if (buffer == null) {
+                    throw new IllegalStateException("Unknown handle for off-heap class file");
+                }
+                buffer = buffer.duplicate();
+                byte[] binaryRepresentation = new byte[buffer.remaining()];
+                buffer.get(binaryRepresentation);
+                return binaryRepresentation;
+            }
+        }
+
         /**
          * An action to define a URL that represents a class file.
          */
@@ -1296,6 +1577,76 @@ public class ByteArrayClassLoader extends InjectionClassLoader {
             return result;
         }
 
+        /**
+         * Loads a given set of class descriptions and their binary representations using a child-first class loader but only defines
+         * the supplied entry type eagerly. All other types are only defined once they are requested from the created class loader, for
+         * example when they are resolved by the entry type. Until then, the binary representations are retained in a compressed form.
+         *
+         * @param classLoader The parent class loader.
+         * @param entry       The type to define eagerly.
+         * @param types       The unloaded types to be loaded, including the entry type.
+         * @return The loaded entry type.
+         */
+        public static Class<?> loadLazily(@MaybeNull ClassLoader classLoader, TypeDescription entry, Map<TypeDescription, byte[]> types) {
+            return loadLazily(classLoader,
+                    entry,
+                    types,
+                    ClassLoadingStrategy.NO_PROTECTION_DOMAIN,
+                    PersistenceHandler.COMPRESSED,
+                    PackageDefinitionStrategy.Trivial.INSTANCE,
+                    false,
+                    true);
+        }
+
+        /**
+         * Loads a given set of class descriptions and their binary representations using a child-first class loader but only defines
+         * the supplied entry type eagerly. All other types are only defined once they are requested from the created class loader, for
+         * example when they are resolved by the entry type.
+         *
+         * @param classLoader               The parent class loader.
+         * @param entry                     The type to define eagerly.
+         * @param types                     The unloaded types to be loaded, including the entry type.
+         * @param protectionDomain          The protection domain to apply where {@code null} references an implicit protection domain.
+         * @param persistenceHandler        The persistence handler of the created class loader.
+         * @param packageDefinitionStrategy The package definer to be queried for package definitions.
+         * @param forbidExisting            {@code true} if the class loading should throw an exception if a class was already loaded by a parent class loader.
+         * @param sealed                    {@code true} if the class loader should be sealed.
+         * @return The loaded entry type.
+         */
+        @SuppressFBWarnings(value = "DP_CREATE_CLASSLOADER_INSIDE_DO_PRIVILEGED", justification = "Assuring privilege is explicit user responsibility.")
+        public static Class<?> loadLazily(@MaybeNull ClassLoader classLoader,
+                                          TypeDescription entry,
+                                          Map<TypeDescription, byte[]> types,
+                                          @MaybeNull ProtectionDomain protectionDomain,
+                                          PersistenceHandler persistenceHandler,
+                                          PackageDefinitionStrategy packageDefinitionStrategy,
+                                          boolean forbidExisting,
+                                          boolean sealed) {
+            if (!types.containsKey(entry)) {
+                throw new IllegalArgumentException("Entry type is not contained in loaded types: " + entry);
+            }
+            Map<String, byte[]> typesByName = new HashMap<String, byte[]>();
+            for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+                typesByName.put(type.getKey().getName(), type.getValue());
+            }
+            classLoader = new ChildFirst(classLoader,
+                    sealed,
+                    typesByName,
+                    protectionDomain,
+                    persistenceHandler,
+                    packageDefinitionStrategy,
+                    ClassFilePostProcessor.NoOp.INSTANCE);
+            try {
+                Class<?> type = Class.forName(entry.getName(), false, classLoader);
+                if (!GraalImageCode.getCurrent().isNativeImageExecution() && forbidExisting && type.getClassLoader() != classLoader) {
+                    throw new IllegalStateException("Class already loaded: " + type);
+                }
+                return type;
+            } catch (ClassNotFoundException exception) {
+                throw new IllegalStateException("Cannot load class " + entry, exception);
+            }
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -34,17 +34,20 @@ import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.utility.GraalImageCode;
 import net.bytebuddy.utility.JavaModule;
 import net.bytebuddy.utility.JavaType;
+import net.bytebuddy.utility.OpenedClassReader;
 import net.bytebuddy.utility.RandomString;
 import net.bytebuddy.utility.dispatcher.JavaDispatcher;
 import net.bytebuddy.utility.nullability.AlwaysNull;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import net.bytebuddy.utility.nullability.UnknownNull;
 import net.bytebuddy.utility.privilege.GetMethodAction;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.*;
 import java.net.URL;
@@ -166,6 +169,141 @@ public interface ClassInjector {
         public Map<String, Class<?>> injectRaw(Map<String, byte[]> types) {
             return injectRaw(types.keySet(), new ClassFileLocator.Simple(types));
         }
+
+        /**
+         * Orders the supplied binary representations such that any type's super class and interfaces are defined prior to the
+         * type itself if they are contained in the same batch. Doing so, no type's definition triggers the resolution of a
+         * type of the same batch that is not yet defined.
+         *
+         * @param binaryRepresentations The binary representations of the batch's types by their names.
+         * @return The supplied binary representations in an order that can be used for defining them.
+         */
+        protected static Map<String, byte[]> inDependencyOrder(Map<String, byte[]> binaryRepresentations) {
+            Map<String, byte[]> ordered = new LinkedHashMap<String, byte[]>();
+            for (String name : binaryRepresentations.keySet()) {
+                inDependencyOrder(name, binaryRepresentations, ordered, new HashSet<String>());
+            }
+            return ordered;
+        }
+
+        /**
+         * Adds a type of a batch after its super types that are contained in the same batch.
+         *
+         * @param name                  The name of the type to add.
+         * @param binaryRepresentations The binary representations of the batch's types by their names.
+         * @param ordered               The types that were already ordered.
+         * @param visited               The types that are currently being ordered to guard against circular type hierarchies.
+         */
+        @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "A malformed class file should be reported upon its definition.")
+        private static void inDependencyOrder(String name,
+                                              Map<String, byte[]> binaryRepresentations,
+                                              Map<String, byte[]> ordered,
+                                              Set<String> visited) {
+            byte[] binaryRepresentation = binaryRepresentations.get(name);
+            if (binaryRepresentation == null || ordered.containsKey(name) || !visited.add(name)) {
+                return;
+            }
+            List<String> dependencies = new ArrayList<String>();
+            try {
+                ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+                if (classReader.getSuperName() != null) {
+                    dependencies.add(classReader.getSuperName().replace('/', '.'));
+                }
+                for (String internalName : classReader.getInterfaces()) {
+                    dependencies.add(internalName.replace('/', '.'));
+                }
+            } catch (Exception ignored) {
+                /* do nothing */
+            }
+            for (String dependency : dependencies) {
+                inDependencyOrder(dependency, binaryRepresentations, ordered, visited);
+            }
+            ordered.put(name, binaryRepresentation);
+        }
+    }
+
+    /**
+     * A listener that is notified after a class injector defined a batch of types.
+     */
+    interface Listener {
+
+        /**
+         * Invoked after a batch of types was injected.
+         *
+         * @param classInjector The class injector that injected the batch.
+         * @param types         The injected types by their names.
+         * @param duration      The time in nanoseconds that was required for resolving and injecting the batch.
+         */
+        void onBatch(ClassInjector classInjector, Map<String, Class<?>> types, long duration);
+
+        /**
+         * A non-operational listener.
+         */
+        enum NoOp implements Listener {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onBatch(ClassInjector classInjector, Map<String, Class<?>> types, long duration) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A listener that writes the duration of every injected batch to a {@link PrintStream}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class StreamWriting implements Listener {
+
+            /**
+             * The prefix that is appended to all written messages.
+             */
+            protected static final String PREFIX = "[Byte Buddy]";
+
+            /**
+             * The print stream written to.
+             */
+            private final PrintStream printStream;
+
+            /**
+             * Creates a new stream writing listener.
+             *
+             * @param printStream The print stream written to.
+             */
+            public StreamWriting(PrintStream printStream) {
+                this.printStream = printStream;
+            }
+
+            /**
+             * Creates a new stream writing listener that writes to {@link java.lang.System#out}.
+             *
+             * @return A listener writing events to the standard output stream.
+             */
+            public static Listener toSystemOut() {
+                return new StreamWriting(java.lang.System.out);
+            }
+
+            /**
+             * Creates a new stream writing listener that writes to {@link java.lang.System#err}.
+             *
+             * @return A listener writing events to the standard error stream.
+             */
+            public static Listener toSystemError() {
+                return new StreamWriting(java.lang.System.err);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onBatch(ClassInjector classInjector, Map<String, Class<?>> types, long duration) {
+                printStream.printf(PREFIX + " INJECT %d type(s) in %d ns [%s, %s]%n", types.size(), duration, classInjector, Thread.currentThread());
+            }
+        }
     }
 
     /**
@@ -1600,13 +1738,29 @@ public interface ClassInjector {
          */
         private final Object lookup;
 
+        /**
+         * The listener to notify upon the injection of a batch of types.
+         */
+        private final Listener listener;
+
         /**
          * Creates a new class injector using a lookup instance.
          *
          * @param lookup The {@code java.lang.invoke.MethodHandles$Lookup} instance to use.
          */
         protected UsingLookup(Object lookup) {
+            this(lookup, Listener.NoOp.INSTANCE);
+        }
+
+        /**
+         * Creates a new class injector using a lookup instance.
+         *
+         * @param lookup   The {@code java.lang.invoke.MethodHandles$Lookup} instance to use.
+         * @param listener The listener to notify upon the injection of a batch of types.
+         */
+        protected UsingLookup(Object lookup, Listener listener) {
             this.lookup = lookup;
+            this.listener = listener;
         }
 
         /**
@@ -1655,12 +1809,22 @@ public interface ClassInjector {
          */
         public UsingLookup in(Class<?> type) {
             try {
-                return new UsingLookup(METHOD_HANDLES.privateLookupIn(type, lookup));
+                return new UsingLookup(METHOD_HANDLES.privateLookupIn(type, lookup), listener);
             } catch (IllegalAccessException exception) {
                 throw new IllegalStateException("Cannot access " + type.getName() + " from " + lookup, exception);
             }
         }
 
+        /**
+         * Returns a new injector that notifies the supplied listener upon the injection of a batch of types.
+         *
+         * @param listener The listener to notify upon the injection of a batch of types.
+         * @return A new injector that notifies the supplied listener.
+         */
+        public UsingLookup with(Listener listener) {
+            return new UsingLookup(lookup, listener);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1672,22 +1836,32 @@ public interface ClassInjector {
          * {@inheritDoc}
          */
         public Map<String, Class<?>> injectRaw(Set<String> names, ClassFileLocator classFileLocator) {
+            long started = java.lang.System.nanoTime();
             PackageDescription target = TypeDescription.ForLoadedType.of(lookupType()).getPackage();
             if (target == null) {
                 throw new IllegalArgumentException("Cannot inject array or primitive type");
             }
-            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>();
             for (String name : names) {
                 int index = name.lastIndexOf('.');
                 if (!target.getName().equals(index == -1 ? "" : name.substring(0, index))) {
                     throw new IllegalArgumentException(name + " must be defined in the same package as " + lookup);
                 }
                 try {
-                    result.put(name, METHOD_HANDLES_LOOKUP.defineClass(lookup, classFileLocator.locate(name).resolve()));
+                    binaryRepresentations.put(name, classFileLocator.locate(name).resolve());
                 } catch (Exception exception) {
                     throw new IllegalStateException(exception);
                 }
             }
+            Map<String, Class<?>> result = new LinkedHashMap<String, Class<?>>();
+            for (Map.Entry<String, byte[]> entry : inDependencyOrder(binaryRepresentations).entrySet()) {
+                try {
+                    result.put(entry.getKey(), METHOD_HANDLES_LOOKUP.defineClass(lookup, entry.getValue()));
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }
+            listener.onBatch(this, result, java.lang.System.nanoTime() - started);
             return result;
         }
 
@@ -1804,6 +1978,11 @@ public interface ClassInjector {
          */
         private final Dispatcher.Initializable dispatcher;
 
+        /**
+         * The listener to notify upon the injection of a batch of types.
+         */
+        private final Listener listener;
+
         /**
          * Creates a new unsafe injector for the given class loader with a default protection domain.
          *
@@ -1831,9 +2010,35 @@ public interface ClassInjector {
          * @param dispatcher       The dispatcher to use.
          */
         protected UsingUnsafe(@MaybeNull ClassLoader classLoader, @MaybeNull ProtectionDomain protectionDomain, Dispatcher.Initializable dispatcher) {
+            this(classLoader, protectionDomain, dispatcher, Listener.NoOp.INSTANCE);
+        }
+
+        /**
+         * Creates a new unsafe injector for the given class loader with a default protection domain.
+         *
+         * @param classLoader      The class loader to inject classes into or {@code null} for the bootstrap loader.
+         * @param protectionDomain The protection domain to use or {@code null} for no protection domain.
+         * @param dispatcher       The dispatcher to use.
+         * @param listener         The listener to notify upon the injection of a batch of types.
+         */
+        protected UsingUnsafe(@MaybeNull ClassLoader classLoader,
+                              @MaybeNull ProtectionDomain protectionDomain,
+                              Dispatcher.Initializable dispatcher,
+                              Listener listener) {
             this.classLoader = classLoader;
             this.protectionDomain = protectionDomain;
             this.dispatcher = dispatcher;
+            this.listener = listener;
+        }
+
+        /**
+         * Returns a new injector that notifies the supplied listener upon the injection of a batch of types.
+         *
+         * @param listener The listener to notify upon the injection of a batch of types.
+         * @return A new injector that notifies the supplied listener.
+         */
+        public UsingUnsafe with(Listener listener) {
+            return new UsingUnsafe(classLoader, protectionDomain, dispatcher, listener);
         }
 
         /**
@@ -1859,37 +2064,45 @@ public interface ClassInjector {
          * {@inheritDoc}
          */
         public Map<String, Class<?>> injectRaw(Set<String> names, ClassFileLocator classFileLocator) {
+            long started = java.lang.System.nanoTime();
             Dispatcher dispatcher = this.dispatcher.initialize();
-            Map<String, Class<?>> result = new HashMap<String, Class<?>>();
+            Map<String, Class<?>> result = new LinkedHashMap<String, Class<?>>();
             synchronized (classLoader == null
                     ? BOOTSTRAP_LOADER_LOCK
                     : classLoader) {
+                Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>();
                 for (String name : names) {
                     try {
                         result.put(name, Class.forName(name, false, classLoader));
                     } catch (ClassNotFoundException ignored) {
                         try {
-                            result.put(name, dispatcher.defineClass(classLoader, name, classFileLocator.locate(name).resolve(), protectionDomain));
-                        } catch (
-                                RuntimeException exception) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
-                            try {
-                                result.put(name, Class.forName(name, false, classLoader));
-                            } catch (ClassNotFoundException ignored2) {
-                                throw exception;
-                            }
+                            binaryRepresentations.put(name, classFileLocator.locate(name).resolve());
                         } catch (IOException exception) {
                             throw new IllegalStateException("Failed to resolve binary representation of " + name, exception);
-                        } catch (
-                                Error error) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
-                            try {
-                                result.put(name, Class.forName(name, false, classLoader));
-                            } catch (ClassNotFoundException ignored2) {
-                                throw error;
-                            }
+                        }
+                    }
+                }
+                for (Map.Entry<String, byte[]> entry : inDependencyOrder(binaryRepresentations).entrySet()) {
+                    try {
+                        result.put(entry.getKey(), dispatcher.defineClass(classLoader, entry.getKey(), entry.getValue(), protectionDomain));
+                    } catch (
+                            RuntimeException exception) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
+                        try {
+                            result.put(entry.getKey(), Class.forName(entry.getKey(), false, classLoader));
+                        } catch (ClassNotFoundException ignored) {
+                            throw exception;
+                        }
+                    } catch (
+                            Error error) { // The bootstrap loader lock might be replicated throughout multiple class loaders.
+                        try {
+                            result.put(entry.getKey(), Class.forName(entry.getKey(), false, classLoader));
+                        } catch (ClassNotFoundException ignored) {
+                            throw error;
                         }
                     }
                 }
             }
+            listener.onBatch(this, result, java.lang.System.nanoTime() - started);
             return result;
         }
 
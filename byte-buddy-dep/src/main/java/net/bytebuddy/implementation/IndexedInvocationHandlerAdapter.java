@@ -0,0 +1,1257 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.scaffold.FieldLocator;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.Removal;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.Throw;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.collection.ArrayAccess;
+import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.utility.nullability.MaybeNull;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * An adapter that delegates method invocations to an {@link Handler}. Other than an {@link InvocationHandlerAdapter},
+ * this adapter does not supply a {@link Method} instance to the handler but an {@code int} index that represents
+ * the position of the intercepted method within a list of methods that is supplied when creating this implementation.
+ * </p>
+ * <p>
+ * For methods that take no or a single argument, the argument is not boxed and wrapped in an array but passed
+ * directly. For this purpose, any {@code boolean}, {@code byte}, {@code short}, {@code char} and {@code int} value is
+ * widened to a {@code long} and any {@code float} value is widened to a {@code double}. Similarly, any primitive
+ * return value is received as a {@code long} or {@code double} value and narrowed to the instrumented method's return
+ * type where a {@code boolean} value is represented by the lowest bit of the received value. Methods that take two
+ * or more arguments are dispatched by supplying all arguments within an {@code Object} array.
+ * </p>
+ * <p>
+ * To invoke the original code of an intercepted method, the instrumented type can implement a {@link Dispatcher} by
+ * {@link IndexedInvocationHandlerAdapter#dispatcher(List)} which resolves all indexed methods from a single method.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public abstract class IndexedInvocationHandlerAdapter implements Implementation.Composable {
+
+    /**
+     * A type description of the {@link Handler}.
+     */
+    private static final TypeDescription.Generic HANDLER_TYPE = TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Handler.class);
+
+    /**
+     * Indicates that a handler is returning its return value.
+     */
+    private static final boolean RETURNING = true;
+
+    /**
+     * Indicates that a handler is dropping its return value.
+     */
+    private static final boolean DROPPING = false;
+
+    /**
+     * The name of the field for storing a handler.
+     */
+    protected final String fieldName;
+
+    /**
+     * The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+     */
+    protected final List<MethodDescription.SignatureToken> signatureTokens;
+
+    /**
+     * Determines if this implementation is returning the result value or is dropping it.
+     */
+    protected final boolean returning;
+
+    /**
+     * The assigner that is used for assigning the handler's return value to a non-primitive return type of the intercepted method.
+     */
+    protected final Assigner assigner;
+
+    /**
+     * Creates a new indexed invocation handler adapter.
+     *
+     * @param fieldName       The name of the field for storing a handler.
+     * @param signatureTokens The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+     * @param returning       Determines if this implementation is returning the result value or is dropping it.
+     * @param assigner        The assigner that is used for assigning the handler's return value to a non-primitive return type of the intercepted method.
+     */
+    protected IndexedInvocationHandlerAdapter(String fieldName, List<MethodDescription.SignatureToken> signatureTokens, boolean returning, Assigner assigner) {
+        this.fieldName = fieldName;
+        this.signatureTokens = signatureTokens;
+        this.returning = returning;
+        this.assigner = assigner;
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to the given handler which will be stored in a {@code static} field.
+     *
+     * @param handler The handler to which all method calls are delegated.
+     * @param method  The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to the given handler.
+     */
+    public static IndexedInvocationHandlerAdapter of(Handler handler, Method... method) {
+        return of(handler, new MethodList.ForLoadedMethods(new Constructor<?>[0], method));
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to the given handler which will be stored in a {@code static} field.
+     *
+     * @param handler The handler to which all method calls are delegated.
+     * @param methods The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to the given handler.
+     */
+    public static IndexedInvocationHandlerAdapter of(Handler handler, List<? extends MethodDescription> methods) {
+        return of(handler, ForInstance.PREFIX + "$" + RandomString.hashOf(handler), methods);
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to the given handler which will be stored in a {@code static} field.
+     *
+     * @param handler   The handler to which all method calls are delegated.
+     * @param fieldName The name of the field.
+     * @param methods   The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to the given handler.
+     */
+    public static IndexedInvocationHandlerAdapter of(Handler handler, String fieldName, List<? extends MethodDescription> methods) {
+        return new ForInstance(fieldName, toSignatureTokens(methods), RETURNING, Assigner.DEFAULT, handler);
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to a field with the given name. This field has to be of a
+     * subtype of {@link Handler} and needs to be set before any invocations are intercepted. Otherwise, a {@link NullPointerException}
+     * will be thrown.
+     *
+     * @param name   The name of the field.
+     * @param method The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to a field of the given name.
+     */
+    public static IndexedInvocationHandlerAdapter toField(String name, Method... method) {
+        return toField(name, new MethodList.ForLoadedMethods(new Constructor<?>[0], method));
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to a field with the given name. This field has to be of a
+     * subtype of {@link Handler} and needs to be set before any invocations are intercepted. Otherwise, a {@link NullPointerException}
+     * will be thrown.
+     *
+     * @param name    The name of the field.
+     * @param methods The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to a field of the given name.
+     */
+    public static IndexedInvocationHandlerAdapter toField(String name, List<? extends MethodDescription> methods) {
+        return toField(name, FieldLocator.ForClassHierarchy.Factory.INSTANCE, methods);
+    }
+
+    /**
+     * Creates an implementation that delegates all method interceptions to a field with the given name. This field has to be of a
+     * subtype of {@link Handler} and needs to be set before any invocations are intercepted. Otherwise, a {@link NullPointerException}
+     * will be thrown.
+     *
+     * @param name                The name of the field.
+     * @param fieldLocatorFactory The field locator factory
+     * @param methods             The methods that are dispatched in the order of their index.
+     * @return An implementation that delegates all method interceptions to a field of the given name.
+     */
+    public static IndexedInvocationHandlerAdapter toField(String name, FieldLocator.Factory fieldLocatorFactory, List<? extends MethodDescription> methods) {
+        return new ForField(name, toSignatureTokens(methods), RETURNING, Assigner.DEFAULT, fieldLocatorFactory);
+    }
+
+    /**
+     * Resolves the signature tokens of the supplied methods.
+     *
+     * @param methods The methods that are dispatched in the order of their index.
+     * @return A list of the methods' signature tokens.
+     */
+    private static List<MethodDescription.SignatureToken> toSignatureTokens(List<? extends MethodDescription> methods) {
+        List<MethodDescription.SignatureToken> signatureTokens = new ArrayList<MethodDescription.SignatureToken>(methods.size());
+        for (MethodDescription method : methods) {
+            if (method.isStatic() || method.isConstructor()) {
+                throw new IllegalArgumentException("Cannot dispatch the static method or constructor " + method);
+            }
+            signatureTokens.add(method.asSignatureToken());
+        }
+        return signatureTokens;
+    }
+
+    /**
+     * Creates an implementation of {@link Dispatcher#dispatch(int, Object[])} that invokes the super method, or the default
+     * method, of any of the supplied methods from a single {@code tableswitch} that is keyed by the methods' indices. A
+     * {@link Handler} can cast the proxy instance to {@link Dispatcher} for invoking an intercepted method's original code
+     * without requiring an auxiliary type or an accessor method for each intercepted method. For this, the instrumented
+     * type must implement {@link Dispatcher} where this implementation must be applied onto its method.
+     *
+     * @param method The methods that are dispatched in the order of their index.
+     * @return An implementation of a dispatcher that invokes the super methods of the supplied methods.
+     */
+    public static Implementation dispatcher(Method... method) {
+        return dispatcher(new MethodList.ForLoadedMethods(new Constructor<?>[0], method));
+    }
+
+    /**
+     * Creates an implementation of {@link Dispatcher#dispatch(int, Object[])} that invokes the super method, or the default
+     * method, of any of the supplied methods from a single {@code tableswitch} that is keyed by the methods' indices. A
+     * {@link Handler} can cast the proxy instance to {@link Dispatcher} for invoking an intercepted method's original code
+     * without requiring an auxiliary type or an accessor method for each intercepted method. For this, the instrumented
+     * type must implement {@link Dispatcher} where this implementation must be applied onto its method.
+     *
+     * @param methods The methods that are dispatched in the order of their index.
+     * @return An implementation of a dispatcher that invokes the super methods of the supplied methods.
+     */
+    public static Implementation dispatcher(List<? extends MethodDescription> methods) {
+        return new ForDispatcher(toSignatureTokens(methods), Assigner.DEFAULT);
+    }
+
+    /**
+     * Configures an assigner to use with this adapter.
+     *
+     * @param assigner The assigner to apply when defining this implementation.
+     * @return This instrumentation with the given {@code assigner} configured.
+     */
+    public abstract Implementation.Composable withAssigner(Assigner assigner);
+
+    /**
+     * Applies an implementation that delegates to a handler.
+     *
+     * @param methodVisitor         The method visitor for writing the byte code to.
+     * @param implementationContext The implementation context for the current implementation.
+     * @param instrumentedMethod    The method that is instrumented.
+     * @param preparingManipulation A stack manipulation that applies any preparation to the operand stack.
+     * @param fieldDescription      The field that contains the value for the handler.
+     * @return The size of the applied assignment.
+     */
+    protected ByteCodeAppender.Size apply(MethodVisitor methodVisitor,
+                                          Context implementationContext,
+                                          MethodDescription instrumentedMethod,
+                                          StackManipulation preparingManipulation,
+                                          FieldDescription fieldDescription) {
+        if (instrumentedMethod.isStatic() || instrumentedMethod.isConstructor()) {
+            throw new IllegalStateException("It is not possible to apply a handler onto the static method or constructor " + instrumentedMethod);
+        }
+        int index = signatureTokens.indexOf(instrumentedMethod.asSignatureToken());
+        if (index == -1) {
+            throw new IllegalStateException("No index is registered for " + instrumentedMethod);
+        }
+        TypeList.Generic parameterTypes = instrumentedMethod.getParameters().asTypeList();
+        List<StackManipulation> arguments = new ArrayList<StackManipulation>(parameterTypes.size());
+        int offset = 1;
+        for (TypeDescription.Generic parameterType : parameterTypes) {
+            arguments.add(new StackManipulation.Compound(MethodVariableAccess.of(parameterType).loadFrom(offset), parameterTypes.size() == 1
+                    ? Conversion.toArgument(parameterType)
+                    : assigner.assign(parameterType, TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class), Assigner.Typing.STATIC)));
+            offset += parameterType.getStackSize().getSize();
+        }
+        List<TypeDescription> handlerParameterTypes = new ArrayList<TypeDescription>(3);
+        handlerParameterTypes.add(TypeDescription.ForLoadedType.of(Object.class));
+        handlerParameterTypes.add(TypeDescription.ForLoadedType.of(int.class));
+        StackManipulation argumentLoading;
+        switch (parameterTypes.size()) {
+            case 0:
+                argumentLoading = StackManipulation.Trivial.INSTANCE;
+                break;
+            case 1:
+                handlerParameterTypes.add(Conversion.toArgumentType(parameterTypes.getOnly()));
+                argumentLoading = new StackManipulation.Compound(arguments);
+                break;
+            default:
+                handlerParameterTypes.add(TypeDescription.ForLoadedType.of(Object[].class));
+                argumentLoading = ArrayFactory.forType(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class)).withValues(arguments);
+        }
+        TypeDefinition returnType = instrumentedMethod.getReturnType();
+        MethodDescription handlerMethod = HANDLER_TYPE.getDeclaredMethods()
+                .filter(named(Conversion.toHandlerMethodName(returnType)).and(takesArguments(handlerParameterTypes)))
+                .getOnly();
+        StackManipulation.Size stackSize = new StackManipulation.Compound(
+                preparingManipulation,
+                FieldAccess.forField(fieldDescription).read(),
+                MethodVariableAccess.loadThis(),
+                IntegerConstant.forValue(index),
+                argumentLoading,
+                MethodInvocation.invoke(handlerMethod),
+                returning
+                        ? new StackManipulation.Compound(returnType.isPrimitive()
+                        ? Conversion.toReturnValue(returnType)
+                        : assigner.assign(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class), instrumentedMethod.getReturnType(), Assigner.Typing.DYNAMIC), MethodReturn.of(returnType))
+                        : Removal.of(handlerMethod.getReturnType())
+        ).apply(methodVisitor, implementationContext);
+        return new ByteCodeAppender.Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+    }
+
+    /**
+     * <p>
+     * A handler that receives invocations of methods that are identified by an index. Other than an
+     * {@link java.lang.reflect.InvocationHandler}, a handler receives a single argument without boxing or wrapping it
+     * in an array and returns primitive values without boxing them. Any primitive value is widened to a {@code long}
+     * or {@code double} value. An {@link Adapter} boxes such a value to the wrapper type of the original parameter.
+     * </p>
+     * <p>
+     * <b>Important</b>: Methods with a primitive return type are dispatched to {@code invokeLong} or {@code invokeDouble}
+     * methods whereas methods that return a reference type or {@code void} are dispatched to {@code invoke} methods.
+     * Extending {@link Adapter} allows for implementing a single method that receives all invocations in their boxed form.
+     * </p>
+     */
+    public interface Handler {
+
+        /**
+         * Invoked for a method without parameters that returns a reference type or {@code void}.
+         *
+         * @param proxy The instance on which the method is invoked.
+         * @param index The index of the invoked method.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Throwable If any error occurs.
+         */
+        @MaybeNull
+        Object invoke(Object proxy, int index) throws Throwable;
+
+        /**
+         * Invoked for a method with a single reference parameter that returns a reference type or {@code void}.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Throwable If any error occurs.
+         */
+        @MaybeNull
+        Object invoke(Object proxy, int index, @MaybeNull Object argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single integral or {@code boolean} parameter that returns a reference type or {@code void}.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code long} value.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Throwable If any error occurs.
+         */
+        @MaybeNull
+        Object invoke(Object proxy, int index, long argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single floating point parameter that returns a reference type or {@code void}.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code double} value.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Throwable If any error occurs.
+         */
+        @MaybeNull
+        Object invoke(Object proxy, int index, double argument) throws Throwable;
+
+        /**
+         * Invoked for a method with two or more parameters that returns a reference type or {@code void}.
+         *
+         * @param proxy     The instance on which the method is invoked.
+         * @param index     The index of the invoked method.
+         * @param arguments The method's boxed arguments.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Throwable If any error occurs.
+         */
+        @MaybeNull
+        Object invoke(Object proxy, int index, Object[] arguments) throws Throwable;
+
+        /**
+         * Invoked for a method without parameters that returns an integral or {@code boolean} value.
+         *
+         * @param proxy The instance on which the method is invoked.
+         * @param index The index of the invoked method.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        long invokeLong(Object proxy, int index) throws Throwable;
+
+        /**
+         * Invoked for a method with a single reference parameter that returns an integral or {@code boolean} value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        long invokeLong(Object proxy, int index, @MaybeNull Object argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single integral or {@code boolean} parameter that returns an integral or {@code boolean} value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code long} value.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        long invokeLong(Object proxy, int index, long argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single floating point parameter that returns an integral or {@code boolean} value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code double} value.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        long invokeLong(Object proxy, int index, double argument) throws Throwable;
+
+        /**
+         * Invoked for a method with two or more parameters that returns an integral or {@code boolean} value.
+         *
+         * @param proxy     The instance on which the method is invoked.
+         * @param index     The index of the invoked method.
+         * @param arguments The method's boxed arguments.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        long invokeLong(Object proxy, int index, Object[] arguments) throws Throwable;
+
+        /**
+         * Invoked for a method without parameters that returns a floating point value.
+         *
+         * @param proxy The instance on which the method is invoked.
+         * @param index The index of the invoked method.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        double invokeDouble(Object proxy, int index) throws Throwable;
+
+        /**
+         * Invoked for a method with a single reference parameter that returns a floating point value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        double invokeDouble(Object proxy, int index, @MaybeNull Object argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single integral or {@code boolean} parameter that returns a floating point value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code long} value.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        double invokeDouble(Object proxy, int index, long argument) throws Throwable;
+
+        /**
+         * Invoked for a method with a single floating point parameter that returns a floating point value.
+         *
+         * @param proxy    The instance on which the method is invoked.
+         * @param index    The index of the invoked method.
+         * @param argument The method's argument, widened to a {@code double} value.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        double invokeDouble(Object proxy, int index, double argument) throws Throwable;
+
+        /**
+         * Invoked for a method with two or more parameters that returns a floating point value.
+         *
+         * @param proxy     The instance on which the method is invoked.
+         * @param index     The index of the invoked method.
+         * @param arguments The method's boxed arguments.
+         * @return The method's return value.
+         * @throws Throwable If any error occurs.
+         */
+        double invokeDouble(Object proxy, int index, Object[] arguments) throws Throwable;
+
+        /**
+         * An adapter for a {@link Handler} that boxes all arguments and return values and dispatches them to
+         * {@link Handler#invoke(Object, int, Object[])}. Subclasses can override specific methods to avoid boxing
+         * for performance-sensitive methods. To box a single primitive argument to the wrapper type of its parameter
+         * rather than to a {@link Long} or {@link Double}, an adapter must be supplied the handled methods in the order
+         * in which they are supplied to the {@link IndexedInvocationHandlerAdapter}.
+         */
+        abstract class Adapter implements Handler {
+
+            /**
+             * An empty array of arguments.
+             */
+            private static final Object[] NO_ARGUMENTS = new Object[0];
+
+            /**
+             * The primitive type of the single parameter of each handled method by its index or {@code null} if a
+             * method does not declare a single primitive parameter.
+             */
+            private final TypeDescription[] parameterType;
+
+            /**
+             * Creates a new adapter for the supplied methods.
+             *
+             * @param method The handled methods in the order of their index.
+             */
+            protected Adapter(Method... method) {
+                this(new MethodList.ForLoadedMethods(new Constructor<?>[0], method));
+            }
+
+            /**
+             * Creates a new adapter for the supplied methods.
+             *
+             * @param methods The handled methods in the order of their index.
+             */
+            protected Adapter(List<? extends MethodDescription> methods) {
+                parameterType = new TypeDescription[methods.size()];
+                int index = 0;
+                for (MethodDescription methodDescription : methods) {
+                    TypeList parameterTypes = methodDescription.getParameters().asTypeList().asErasures();
+                    if (parameterTypes.size() == 1 && parameterTypes.getOnly().isPrimitive()) {
+                        parameterType[index] = parameterTypes.getOnly();
+                    }
+                    index++;
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Object invoke(Object proxy, int index) throws Throwable {
+                return invoke(proxy, index, NO_ARGUMENTS);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Object invoke(Object proxy, int index, @MaybeNull Object argument) throws Throwable {
+                return invoke(proxy, index, new Object[]{argument});
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Object invoke(Object proxy, int index, long argument) throws Throwable {
+                return invoke(proxy, index, new Object[]{box(index, argument)});
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @MaybeNull
+            public Object invoke(Object proxy, int index, double argument) throws Throwable {
+                return invoke(proxy, index, new Object[]{box(index, argument)});
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long invokeLong(Object proxy, int index) throws Throwable {
+                return toLong(invoke(proxy, index, NO_ARGUMENTS));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long invokeLong(Object proxy, int index, @MaybeNull Object argument) throws Throwable {
+                return toLong(invoke(proxy, index, new Object[]{argument}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long invokeLong(Object proxy, int index, long argument) throws Throwable {
+                return toLong(invoke(proxy, index, new Object[]{box(index, argument)}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long invokeLong(Object proxy, int index, double argument) throws Throwable {
+                return toLong(invoke(proxy, index, new Object[]{box(index, argument)}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long invokeLong(Object proxy, int index, Object[] arguments) throws Throwable {
+                return toLong(invoke(proxy, index, arguments));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public double invokeDouble(Object proxy, int index) throws Throwable {
+                return toDouble(invoke(proxy, index, NO_ARGUMENTS));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public double invokeDouble(Object proxy, int index, @MaybeNull Object argument) throws Throwable {
+                return toDouble(invoke(proxy, index, new Object[]{argument}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public double invokeDouble(Object proxy, int index, long argument) throws Throwable {
+                return toDouble(invoke(proxy, index, new Object[]{box(index, argument)}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public double invokeDouble(Object proxy, int index, double argument) throws Throwable {
+                return toDouble(invoke(proxy, index, new Object[]{box(index, argument)}));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public double invokeDouble(Object proxy, int index, Object[] arguments) throws Throwable {
+                return toDouble(invoke(proxy, index, arguments));
+            }
+
+            /**
+             * Boxes a single integral or {@code boolean} argument to the wrapper type of the invoked method's parameter.
+             *
+             * @param index    The index of the invoked method.
+             * @param argument The argument, widened to a {@code long} value.
+             * @return The argument boxed to the wrapper type of the method's parameter.
+             */
+            private Object box(int index, long argument) {
+                TypeDescription parameterType = index < this.parameterType.length ? this.parameterType[index] : null;
+                if (parameterType == null) {
+                    return argument;
+                } else if (parameterType.represents(boolean.class)) {
+                    return argument != 0L;
+                } else if (parameterType.represents(byte.class)) {
+                    return (byte) argument;
+                } else if (parameterType.represents(short.class)) {
+                    return (short) argument;
+                } else if (parameterType.represents(char.class)) {
+                    return (char) argument;
+                } else if (parameterType.represents(int.class)) {
+                    return (int) argument;
+                } else {
+                    return argument;
+                }
+            }
+
+            /**
+             * Boxes a single floating point argument to the wrapper type of the invoked method's parameter.
+             *
+             * @param index    The index of the invoked method.
+             * @param argument The argument, widened to a {@code double} value.
+             * @return The argument boxed to the wrapper type of the method's parameter.
+             */
+            private Object box(int index, double argument) {
+                TypeDescription parameterType = index < this.parameterType.length ? this.parameterType[index] : null;
+                return parameterType != null && parameterType.represents(float.class)
+                        ? (Object) (float) argument
+                        : (Object) argument;
+            }
+
+            /**
+             * Unboxes a value to a {@code long} value.
+             *
+             * @param value The boxed value.
+             * @return The unboxed value where {@code boolean} values are represented as {@code 1} or {@code 0}.
+             */
+            private static long toLong(@MaybeNull Object value) {
+                if (value == null) {
+                    throw new NullPointerException("Cannot return null for a primitive value");
+                } else if (value instanceof Number) {
+                    return ((Number) value).longValue();
+                } else if (value instanceof Boolean) {
+                    return (Boolean) value ? 1L : 0L;
+                } else if (value instanceof Character) {
+                    return (Character) value;
+                } else {
+                    throw new ClassCastException("Cannot represent " + value + " as a primitive value");
+                }
+            }
+
+            /**
+             * Unboxes a value to a {@code double} value.
+             *
+             * @param value The boxed value.
+             * @return The unboxed value.
+             */
+            private static double toDouble(@MaybeNull Object value) {
+                if (value == null) {
+                    throw new NullPointerException("Cannot return null for a primitive value");
+                } else if (value instanceof Number) {
+                    return ((Number) value).doubleValue();
+                } else if (value instanceof Character) {
+                    return (Character) value;
+                } else {
+                    throw new ClassCastException("Cannot represent " + value + " as a floating point value");
+                }
+            }
+        }
+    }
+
+    /**
+     * A dispatcher that allows a {@link Handler} to invoke the original code of an intercepted method by its index. Instrumented
+     * types can implement this interface by applying {@link IndexedInvocationHandlerAdapter#dispatcher(List)} to its method.
+     * Note that an implementing type exposes the original code of its intercepted methods to any caller of this interface.
+     */
+    public interface Dispatcher {
+
+        /**
+         * Invokes the original code of the method with the given index.
+         *
+         * @param index     The index of the method to invoke.
+         * @param arguments The boxed arguments to supply to the method.
+         * @return The boxed return value of the method or {@code null} if the method is {@code void}.
+         * @throws Throwable If the invoked method throws an exception.
+         */
+        @MaybeNull
+        Object dispatch(int index, Object[] arguments) throws Throwable;
+    }
+
+    /**
+     * An implementation of a {@link Dispatcher} that invokes the super or default method of all indexed methods from a
+     * single {@code tableswitch} instruction.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class ForDispatcher implements Implementation {
+
+        /**
+         * The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+         */
+        private final List<MethodDescription.SignatureToken> signatureTokens;
+
+        /**
+         * The assigner to use for unboxing arguments and for boxing return values.
+         */
+        private final Assigner assigner;
+
+        /**
+         * Creates a new implementation of a dispatcher.
+         *
+         * @param signatureTokens The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+         * @param assigner        The assigner to use for unboxing arguments and for boxing return values.
+         */
+        protected ForDispatcher(List<MethodDescription.SignatureToken> signatureTokens, Assigner assigner) {
+            this.signatureTokens = signatureTokens;
+            this.assigner = assigner;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new Appender(implementationTarget);
+        }
+
+        /**
+         * An appender for implementing a {@link ForDispatcher}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class Appender implements ByteCodeAppender {
+
+            /**
+             * The implementation target to use.
+             */
+            private final Target implementationTarget;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param implementationTarget The implementation target to use.
+             */
+            protected Appender(Target implementationTarget) {
+                this.implementationTarget = implementationTarget;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                if (instrumentedMethod.isStatic()
+                        || !instrumentedMethod.getReturnType().asErasure().represents(Object.class)
+                        || !instrumentedMethod.getParameters().asTypeList().asErasures().equals(Arrays.asList(TypeDescription.ForLoadedType.of(int.class), TypeDescription.ForLoadedType.of(Object[].class)))) {
+                    throw new IllegalStateException("Cannot implement dispatcher by " + instrumentedMethod);
+                }
+                List<TypeDefinition> localVariables = Arrays.<TypeDefinition>asList(implementationTarget.getInstrumentedType(),
+                        TypeDescription.ForLoadedType.of(int.class),
+                        TypeDescription.ForLoadedType.of(Object[].class));
+                StackManipulation.Size size = StackManipulation.Size.ZERO;
+                Label defaultCase = new Label();
+                if (!signatureTokens.isEmpty()) {
+                    Label[] cases = new Label[signatureTokens.size()];
+                    for (int index = 0; index < cases.length; index++) {
+                        cases[index] = new Label();
+                    }
+                    size = size.aggregate(MethodVariableAccess.INTEGER.loadFrom(1).apply(methodVisitor, implementationContext));
+                    methodVisitor.visitTableSwitchInsn(0, cases.length - 1, defaultCase, cases);
+                    for (int index = 0; index < cases.length; index++) {
+                        methodVisitor.visitLabel(cases[index]);
+                        implementationContext.getFrameGeneration().same(methodVisitor, localVariables);
+                        size = size.aggregate(toInvocation(signatureTokens.get(index)).apply(methodVisitor, implementationContext));
+                    }
+                    methodVisitor.visitLabel(defaultCase);
+                    implementationContext.getFrameGeneration().same(methodVisitor, localVariables);
+                }
+                size = size.aggregate(new StackManipulation.Compound(
+                        TypeCreation.of(TypeDescription.ForLoadedType.of(IndexOutOfBoundsException.class)),
+                        Duplication.SINGLE,
+                        MethodVariableAccess.INTEGER.loadFrom(1),
+                        MethodInvocation.invoke(TypeDescription.ForLoadedType.of(String.class).getDeclaredMethods().filter(named("valueOf").and(takesArguments(int.class))).getOnly()),
+                        MethodInvocation.invoke(TypeDescription.ForLoadedType.of(IndexOutOfBoundsException.class).getDeclaredMethods().filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                        Throw.INSTANCE
+                ).apply(methodVisitor, implementationContext));
+                return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+            }
+
+            /**
+             * Resolves a stack manipulation that invokes the original code of the method that is represented by the supplied
+             * signature token and that returns its boxed return value.
+             *
+             * @param signatureToken The signature token of the method to invoke.
+             * @return A stack manipulation that invokes the method and returns its boxed return value.
+             */
+            private StackManipulation toInvocation(MethodDescription.SignatureToken signatureToken) {
+                Implementation.SpecialMethodInvocation specialMethodInvocation = implementationTarget.invokeDominant(signatureToken);
+                if (!specialMethodInvocation.isValid()) {
+                    return new StackManipulation.Compound(
+                            TypeCreation.of(TypeDescription.ForLoadedType.of(AbstractMethodError.class)),
+                            Duplication.SINGLE,
+                            new TextConstant("No original code for " + signatureToken.getName() + signatureToken.getDescriptor()),
+                            MethodInvocation.invoke(TypeDescription.ForLoadedType.of(AbstractMethodError.class).getDeclaredMethods().filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                            Throw.INSTANCE);
+                }
+                List<StackManipulation> arguments = new ArrayList<StackManipulation>(signatureToken.getParameterTypes().size());
+                int index = 0;
+                for (TypeDescription parameterType : signatureToken.getParameterTypes()) {
+                    arguments.add(new StackManipulation.Compound(
+                            MethodVariableAccess.REFERENCE.loadFrom(2),
+                            IntegerConstant.forValue(index++),
+                            ArrayAccess.REFERENCE.load(),
+                            assigner.assign(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class), parameterType.asGenericType(), Assigner.Typing.DYNAMIC)));
+                }
+                TypeDescription returnType = specialMethodInvocation.getMethodDescription().getReturnType().asErasure();
+                return new StackManipulation.Compound(
+                        MethodVariableAccess.loadThis(),
+                        new StackManipulation.Compound(arguments),
+                        specialMethodInvocation,
+                        returnType.represents(void.class)
+                                ? NullConstant.INSTANCE
+                                : assigner.assign(returnType.asGenericType(), TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class), Assigner.Typing.STATIC),
+                        MethodReturn.REFERENCE);
+            }
+        }
+    }
+
+    /**
+     * A conversion between an instrumented method's primitive values and a {@link Handler}'s widened values.
+     */
+    protected enum Conversion implements StackManipulation {
+
+        /**
+         * Widens an {@code int} value to a {@code long} value.
+         */
+        INTEGER_TO_LONG(StackSize.SINGLE.toIncreasingSize(), Opcodes.I2L),
+
+        /**
+         * Widens a {@code float} value to a {@code double} value.
+         */
+        FLOAT_TO_DOUBLE(StackSize.SINGLE.toIncreasingSize(), Opcodes.F2D),
+
+        /**
+         * Narrows a {@code long} value to a {@code boolean} value by retaining its lowest bit.
+         */
+        LONG_TO_BOOLEAN(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.ICONST_1, Opcodes.IAND),
+
+        /**
+         * Narrows a {@code long} value to a {@code byte} value.
+         */
+        LONG_TO_BYTE(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2B),
+
+        /**
+         * Narrows a {@code long} value to a {@code short} value.
+         */
+        LONG_TO_SHORT(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2S),
+
+        /**
+         * Narrows a {@code long} value to a {@code char} value.
+         */
+        LONG_TO_CHARACTER(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I, Opcodes.I2C),
+
+        /**
+         * Narrows a {@code long} value to an {@code int} value.
+         */
+        LONG_TO_INTEGER(StackSize.SINGLE.toDecreasingSize(), Opcodes.L2I),
+
+        /**
+         * Narrows a {@code double} value to a {@code float} value.
+         */
+        DOUBLE_TO_FLOAT(StackSize.SINGLE.toDecreasingSize(), Opcodes.D2F);
+
+        /**
+         * The size impact of this conversion.
+         */
+        private final Size size;
+
+        /**
+         * The opcodes that apply this conversion.
+         */
+        private final int[] opcode;
+
+        /**
+         * Creates a new conversion.
+         *
+         * @param size   The size impact of this conversion.
+         * @param opcode The opcodes that apply this conversion.
+         */
+        Conversion(Size size, int... opcode) {
+            this.size = size;
+            this.opcode = opcode;
+        }
+
+        /**
+         * Resolves the type that a handler receives for a single argument of the given type.
+         *
+         * @param typeDefinition The type of the instrumented method's parameter.
+         * @return The type of the handler's parameter.
+         */
+        protected static TypeDescription toArgumentType(TypeDefinition typeDefinition) {
+            if (!typeDefinition.isPrimitive()) {
+                return TypeDescription.ForLoadedType.of(Object.class);
+            } else if (typeDefinition.represents(float.class) || typeDefinition.represents(double.class)) {
+                return TypeDescription.ForLoadedType.of(double.class);
+            } else {
+                return TypeDescription.ForLoadedType.of(long.class);
+            }
+        }
+
+        /**
+         * Resolves a stack manipulation that widens a single argument of the given type to the type that a handler receives.
+         *
+         * @param typeDefinition The type of the instrumented method's parameter.
+         * @return A stack manipulation that widens the argument.
+         */
+        protected static StackManipulation toArgument(TypeDefinition typeDefinition) {
+            if (!typeDefinition.isPrimitive() || typeDefinition.represents(long.class) || typeDefinition.represents(double.class)) {
+                return StackManipulation.Trivial.INSTANCE;
+            } else if (typeDefinition.represents(float.class)) {
+                return FLOAT_TO_DOUBLE;
+            } else {
+                return INTEGER_TO_LONG;
+            }
+        }
+
+        /**
+         * Resolves the name of the handler method that is dispatched for a method with the given return type.
+         *
+         * @param typeDefinition The return type of the instrumented method.
+         * @return The name of the handler method to dispatch.
+         */
+        protected static String toHandlerMethodName(TypeDefinition typeDefinition) {
+            if (!typeDefinition.isPrimitive() || typeDefinition.represents(void.class)) {
+                return "invoke";
+            } else if (typeDefinition.represents(float.class) || typeDefinition.represents(double.class)) {
+                return "invokeDouble";
+            } else {
+                return "invokeLong";
+            }
+        }
+
+        /**
+         * Resolves a stack manipulation that narrows a handler's return value to the given primitive return type.
+         *
+         * @param typeDefinition The primitive return type of the instrumented method.
+         * @return A stack manipulation that narrows the return value.
+         */
+        protected static StackManipulation toReturnValue(TypeDefinition typeDefinition) {
+            if (typeDefinition.represents(void.class)) {
+                return Removal.SINGLE;
+            } else if (typeDefinition.represents(boolean.class)) {
+                return LONG_TO_BOOLEAN;
+            } else if (typeDefinition.represents(byte.class)) {
+                return LONG_TO_BYTE;
+            } else if (typeDefinition.represents(short.class)) {
+                return LONG_TO_SHORT;
+            } else if (typeDefinition.represents(char.class)) {
+                return LONG_TO_CHARACTER;
+            } else if (typeDefinition.represents(int.class)) {
+                return LONG_TO_INTEGER;
+            } else if (typeDefinition.represents(float.class)) {
+                return DOUBLE_TO_FLOAT;
+            } else {
+                return StackManipulation.Trivial.INSTANCE;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext) {
+            for (int anOpcode : opcode) {
+                methodVisitor.visitInsn(anOpcode);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * An implementation of an {@link IndexedInvocationHandlerAdapter} that delegates method invocations to a handler
+     * that is stored in a static field.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class ForInstance extends IndexedInvocationHandlerAdapter {
+
+        /**
+         * The prefix for field that are created for storing the instrumented value.
+         */
+        private static final String PREFIX = "indexedInvocationHandler";
+
+        /**
+         * The handler to which method interceptions are to be delegated.
+         */
+        protected final Handler handler;
+
+        /**
+         * Creates a new indexed invocation handler adapter for delegating invocations to a handler that is stored in a static field.
+         *
+         * @param fieldName       The name of the field.
+         * @param signatureTokens The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+         * @param returning       Determines if this implementation is returning the result value or is dropping it.
+         * @param assigner        The assigner to apply when defining this implementation.
+         * @param handler         The handler to which all method calls are delegated.
+         */
+        protected ForInstance(String fieldName, List<MethodDescription.SignatureToken> signatureTokens, boolean returning, Assigner assigner, Handler handler) {
+            super(fieldName, signatureTokens, returning, assigner);
+            this.handler = handler;
+        }
+
+        @Override
+        public Implementation.Composable withAssigner(Assigner assigner) {
+            return new ForInstance(fieldName, signatureTokens, returning, assigner, handler);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Implementation andThen(Implementation implementation) {
+            return new Compound(new ForInstance(fieldName, signatureTokens, DROPPING, assigner, handler), implementation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Composable andThen(Composable implementation) {
+            return new Compound.Composable(new ForInstance(fieldName, signatureTokens, DROPPING, assigner, handler), implementation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            if (!instrumentedType.getDeclaredFields().filter(named(fieldName).and(fieldType(HANDLER_TYPE.asErasure()))).isEmpty()) {
+                throw new IllegalStateException("Field with name " + fieldName
+                        + " and type " + HANDLER_TYPE.asErasure()
+                        + " already declared by " + instrumentedType);
+            }
+            return instrumentedType
+                    .withField(new FieldDescription.Token(fieldName,
+                            Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_VOLATILE | Opcodes.ACC_SYNTHETIC,
+                            HANDLER_TYPE))
+                    .withInitializer(new LoadedTypeInitializer.ForStaticField(fieldName, handler));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new Appender(implementationTarget.getInstrumentedType());
+        }
+
+        /**
+         * An appender for implementing the {@link ForInstance}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type for which the methods are being intercepted.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The type that is instrumented.
+             */
+            protected Appender(TypeDescription instrumentedType) {
+                this.instrumentedType = instrumentedType;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                return ForInstance.this.apply(methodVisitor,
+                        implementationContext,
+                        instrumentedMethod,
+                        StackManipulation.Trivial.INSTANCE,
+                        instrumentedType.getDeclaredFields().filter(named(fieldName).and(genericFieldType(HANDLER_TYPE))).getOnly());
+            }
+        }
+    }
+
+    /**
+     * An implementation of an {@link IndexedInvocationHandlerAdapter} that delegates method invocations to a handler
+     * that is stored in a field.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class ForField extends IndexedInvocationHandlerAdapter {
+
+        /**
+         * The field locator factory to use.
+         */
+        private final FieldLocator.Factory fieldLocatorFactory;
+
+        /**
+         * Creates a new indexed invocation handler adapter that loads its value from a field.
+         *
+         * @param fieldName           The name of the field.
+         * @param signatureTokens     The signature tokens of the methods that are dispatched where the position of each token represents the method's index.
+         * @param returning           Determines if this implementation is returning the result value or is dropping it.
+         * @param assigner            The assigner to apply when defining this implementation.
+         * @param fieldLocatorFactory The field locator factory to use.
+         */
+        protected ForField(String fieldName, List<MethodDescription.SignatureToken> signatureTokens, boolean returning, Assigner assigner, FieldLocator.Factory fieldLocatorFactory) {
+            super(fieldName, signatureTokens, returning, assigner);
+            this.fieldLocatorFactory = fieldLocatorFactory;
+        }
+
+        @Override
+        public Implementation.Composable withAssigner(Assigner assigner) {
+            return new ForField(fieldName, signatureTokens, returning, assigner, fieldLocatorFactory);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Implementation andThen(Implementation implementation) {
+            return new Compound(new ForField(fieldName, signatureTokens, DROPPING, assigner, fieldLocatorFactory), implementation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Composable andThen(Composable implementation) {
+            return new Compound.Composable(new ForField(fieldName, signatureTokens, DROPPING, assigner, fieldLocatorFactory), implementation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            FieldLocator.Resolution resolution = fieldLocatorFactory.make(implementationTarget.getInstrumentedType()).locate(fieldName);
+            if (!resolution.isResolved()) {
+                throw new IllegalStateException("Could not find a field named '" + fieldName + "' for " + implementationTarget.getInstrumentedType());
+            } else if (!resolution.getField().getType().asErasure().isAssignableTo(Handler.class)) {
+                throw new IllegalStateException("Field " + resolution.getField() + " does not declare a type that is assignable to " + Handler.class.getName());
+            }
+            return new Appender(resolution.getField());
+        }
+
+        /**
+         * An appender for implementing the {@link ForField}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class Appender implements ByteCodeAppender {
+
+            /**
+             * The field that contains the handler.
+             */
+            private final FieldDescription fieldDescription;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param fieldDescription The field that contains the handler.
+             */
+            protected Appender(FieldDescription fieldDescription) {
+                this.fieldDescription = fieldDescription;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                return ForField.this.apply(methodVisitor,
+                        implementationContext,
+                        instrumentedMethod,
+                        fieldDescription.isStatic()
+                                ? StackManipulation.Trivial.INSTANCE
+                                : MethodVariableAccess.loadThis(),
+                        fieldDescription);
+            }
+        }
+    }
+}
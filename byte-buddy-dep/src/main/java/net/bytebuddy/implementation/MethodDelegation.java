@@ -37,6 +37,7 @@ import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
@@ -45,6 +46,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -920,6 +923,97 @@ public class MethodDelegation implements Implementation.Composable {
             }
         }
 
+        /**
+         * A cache of delegation records for the candidate methods of a delegation target type that is only known once a type
+         * is instrumented. Compiling a record requires resolving a parameter binder for every parameter of a candidate method,
+         * what is independent of the instrumented type. If the same target type is resolved for several instrumented types
+         * in succession, the compiled records are therefore reused. A loaded target type is identified by its {@link Class}
+         * while any other target type is identified by its description's identity, such that records are never shared between
+         * equally named types of different class loaders or type pools. Only the records of the most recently resolved target
+         * type are retained. The set of candidates can still differ by instrumented type, for
+         * example due to visibility, and the binding of a record remains specific to each instrumented method.
+         */
+        class RecordCache {
+
+            /**
+             * The method delegation binder to use for compiling records.
+             */
+            private final MethodDelegationBinder methodDelegationBinder;
+
+            /**
+             * The entry of the most recently resolved target type or {@code null} if no type was resolved yet.
+             */
+            @MaybeNull
+            private volatile Entry entry;
+
+            /**
+             * Creates a new record cache.
+             *
+             * @param parameterBinders The parameter binders to use.
+             */
+            protected RecordCache(List<? extends TargetMethodAnnotationDrivenBinder.ParameterBinder<?>> parameterBinders) {
+                methodDelegationBinder = TargetMethodAnnotationDrivenBinder.of(parameterBinders);
+            }
+
+            /**
+             * Resolves the records for the supplied candidates of a target type, compiling any record that was not compiled before.
+             *
+             * @param type       The target type that declares the candidates.
+             * @param candidates The candidate methods of the target type.
+             * @return A list of records for the supplied candidates.
+             */
+            protected List<MethodDelegationBinder.Record> compile(TypeDescription.Generic type, MethodList<?> candidates) {
+                TypeDescription typeDescription = type.asErasure();
+                Object identity = typeDescription instanceof TypeDescription.ForLoadedType
+                        ? ((TypeDescription.ForLoadedType) typeDescription).getLoadedType()
+                        : typeDescription;
+                Entry entry = this.entry;
+                if (entry == null || entry.identity != identity) {
+                    entry = new Entry(identity);
+                    this.entry = entry;
+                }
+                List<MethodDelegationBinder.Record> resolved = new ArrayList<MethodDelegationBinder.Record>(candidates.size());
+                for (MethodDescription candidate : candidates) {
+                    MethodDelegationBinder.Record record = entry.records.get(candidate);
+                    if (record == null) {
+                        record = methodDelegationBinder.compile(candidate);
+                        MethodDelegationBinder.Record previous = entry.records.putIfAbsent(candidate, record);
+                        if (previous != null) {
+                            record = previous;
+                        }
+                    }
+                    resolved.add(record);
+                }
+                return resolved;
+            }
+
+            /**
+             * The compiled records of a target type.
+             */
+            protected static class Entry {
+
+                /**
+                 * The loaded target type or the target type's erasure if it is not loaded, which is compared by identity.
+                 */
+                private final Object identity;
+
+                /**
+                 * A mapping of the target type's candidate methods to their compiled records.
+                 */
+                private final ConcurrentMap<MethodDescription, MethodDelegationBinder.Record> records;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param identity The loaded target type or the target type's erasure if it is not loaded, which is compared by identity.
+                 */
+                protected Entry(Object identity) {
+                    this.identity = identity;
+                    records = new ConcurrentHashMap<MethodDescription, MethodDelegationBinder.Record>();
+                }
+            }
+        }
+
         /**
          * An implementation delegate for a static method delegation.
          */
@@ -996,6 +1090,12 @@ public class MethodDelegation implements Implementation.Composable {
              */
             protected final ElementMatcher<? super MethodDescription> matcher;
 
+            /**
+             * A cache of delegation records that were compiled for the previously resolved target type.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final RecordCache recordCache;
+
             /**
              * Creates a new implementation delegate for a field delegation.
              *
@@ -1012,6 +1112,7 @@ public class MethodDelegation implements Implementation.Composable {
                 this.methodGraphCompiler = methodGraphCompiler;
                 this.parameterBinders = parameterBinders;
                 this.matcher = matcher;
+                recordCache = new RecordCache(parameterBinders);
             }
 
             /**
@@ -1026,12 +1127,7 @@ public class MethodDelegation implements Implementation.Composable {
                             .listNodes()
                             .asMethodList()
                             .filter(matcher);
-                    List<MethodDelegationBinder.Record> records = new ArrayList<MethodDelegationBinder.Record>(candidates.size());
-                    MethodDelegationBinder methodDelegationBinder = TargetMethodAnnotationDrivenBinder.of(parameterBinders);
-                    for (MethodDescription candidate : candidates) {
-                        records.add(methodDelegationBinder.compile(candidate));
-                    }
-                    return new Compiled.ForField(fieldDescription, records);
+                    return new Compiled.ForField(fieldDescription, recordCache.compile(fieldDescription.getType(), candidates));
                 }
             }
 
@@ -1175,6 +1271,12 @@ public class MethodDelegation implements Implementation.Composable {
              */
             private final ElementMatcher<? super MethodDescription> matcher;
 
+            /**
+             * A cache of delegation records that were compiled for the previously resolved target type.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final RecordCache recordCache;
+
             /**
              * Creates a new implementation delegate for a method return value delegation.
              *
@@ -1191,6 +1293,7 @@ public class MethodDelegation implements Implementation.Composable {
                 this.methodGraphCompiler = methodGraphCompiler;
                 this.parameterBinders = parameterBinders;
                 this.matcher = matcher;
+                recordCache = new RecordCache(parameterBinders);
             }
 
             /**
@@ -1210,12 +1313,7 @@ public class MethodDelegation implements Implementation.Composable {
                             .listNodes()
                             .asMethodList()
                             .filter(matcher);
-                    List<MethodDelegationBinder.Record> records = new ArrayList<MethodDelegationBinder.Record>(candidates.size());
-                    MethodDelegationBinder methodDelegationBinder = TargetMethodAnnotationDrivenBinder.of(parameterBinders);
-                    for (MethodDescription candidate : candidates) {
-                        records.add(methodDelegationBinder.compile(candidate));
-                    }
-                    return new Compiled.ForMethodReturn(targets.get(0), records);
+                    return new Compiled.ForMethodReturn(targets.get(0), recordCache.compile(targets.getOnly().getReturnType(), candidates));
                 }
             }
 
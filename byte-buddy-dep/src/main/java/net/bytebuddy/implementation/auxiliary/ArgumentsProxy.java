@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.auxiliary;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.field.FieldList;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodAccessorFactory;
+import net.bytebuddy.implementation.bind.annotation.ArgumentsView;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.Throw;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * An auxiliary type that provides a view on the arguments of a method by storing each argument in a field of its original
+ * type. The view implements {@link ArgumentsView.Arguments} where each accessor method selects the field to read by a
+ * table switch on the argument index.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ArgumentsProxy implements AuxiliaryType {
+
+    /**
+     * The prefix of the fields holding the method's arguments.
+     */
+    private static final String FIELD_NAME_PREFIX = "argument";
+
+    /**
+     * The erasures of the parameter types of the represented method.
+     */
+    private final TypeList parameterTypes;
+
+    /**
+     * Creates a new arguments proxy.
+     *
+     * @param parameterTypes The erasures of the parameter types of the represented method.
+     */
+    public ArgumentsProxy(TypeList parameterTypes) {
+        this.parameterTypes = parameterTypes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getSuffix() {
+        return RandomString.hashOf(parameterTypes.hashCode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DynamicType make(String auxiliaryTypeName, ClassFileVersion classFileVersion, MethodAccessorFactory methodAccessorFactory) {
+        DynamicType.Builder<?> builder = new ByteBuddy(classFileVersion)
+                .with(TypeValidation.DISABLED)
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(auxiliaryTypeName)
+                .modifiers(DEFAULT_TYPE_MODIFIER)
+                .implement(ArgumentsView.Arguments.class)
+                .method(isDeclaredBy(ArgumentsView.Arguments.class)).intercept(Accessor.INSTANCE)
+                .defineConstructor(Visibility.PUBLIC).withParameters(parameterTypes)
+                .intercept(MethodCallProxy.ConstructorCall.INSTANCE);
+        for (int index = 0; index < parameterTypes.size(); index++) {
+            builder = builder.defineField(FIELD_NAME_PREFIX + index, parameterTypes.get(index), Visibility.PRIVATE, FieldManifestation.FINAL);
+        }
+        return builder.make();
+    }
+
+    /**
+     * An implementation of the methods of {@link ArgumentsView.Arguments}.
+     */
+    protected enum Accessor implements Implementation {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return new Appender(implementationTarget.getInstrumentedType());
+        }
+
+        /**
+         * An appender for a method of {@link ArgumentsView.Arguments}.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The instrumented type.
+             */
+            protected Appender(TypeDescription instrumentedType) {
+                this.instrumentedType = instrumentedType;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+                FieldList<?> fields = instrumentedType.getDeclaredFields();
+                if (instrumentedMethod.getParameters().isEmpty()) {
+                    StackManipulation.Size size = new StackManipulation.Compound(
+                            IntegerConstant.forValue(fields.size()),
+                            MethodReturn.INTEGER
+                    ).apply(methodVisitor, implementationContext);
+                    return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+                }
+                List<TypeDefinition> localVariables = Arrays.<TypeDefinition>asList(instrumentedType, TypeDescription.ForLoadedType.of(int.class));
+                StackManipulation.Size size = StackManipulation.Size.ZERO;
+                Label defaultCase = new Label();
+                if (!fields.isEmpty()) {
+                    Label[] cases = new Label[fields.size()];
+                    for (int index = 0; index < cases.length; index++) {
+                        cases[index] = new Label();
+                    }
+                    size = size.aggregate(MethodVariableAccess.INTEGER.loadFrom(1).apply(methodVisitor, implementationContext));
+                    methodVisitor.visitTableSwitchInsn(0, cases.length - 1, defaultCase, cases);
+                    for (int index = 0; index < cases.length; index++) {
+                        methodVisitor.visitLabel(cases[index]);
+                        implementationContext.getFrameGeneration().same(methodVisitor, localVariables);
+                        FieldDescription field = fields.get(index);
+                        StackManipulation assignment = Assigner.DEFAULT.assign(field.getType(), instrumentedMethod.getReturnType(), Assigner.Typing.STATIC);
+                        size = size.aggregate((assignment.isValid()
+                                ? new StackManipulation.Compound(MethodVariableAccess.loadThis(), FieldAccess.forField(field).read(), assignment, MethodReturn.of(instrumentedMethod.getReturnType()))
+                                : new StackManipulation.Compound(
+                                TypeCreation.of(TypeDescription.ForLoadedType.of(IllegalArgumentException.class)),
+                                Duplication.SINGLE,
+                                new TextConstant("Argument " + index + " of type " + field.getType().asErasure().getName()
+                                        + " cannot be read as " + instrumentedMethod.getReturnType().asErasure().getName()),
+                                MethodInvocation.invoke(TypeDescription.ForLoadedType.of(IllegalArgumentException.class).getDeclaredMethods().filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                                Throw.INSTANCE)).apply(methodVisitor, implementationContext));
+                    }
+                    methodVisitor.visitLabel(defaultCase);
+                    implementationContext.getFrameGeneration().same(methodVisitor, localVariables);
+                }
+                size = size.aggregate(new StackManipulation.Compound(
+                        TypeCreation.of(TypeDescription.ForLoadedType.of(IndexOutOfBoundsException.class)),
+                        Duplication.SINGLE,
+                        MethodVariableAccess.INTEGER.loadFrom(1),
+                        MethodInvocation.invoke(TypeDescription.ForLoadedType.of(String.class).getDeclaredMethods().filter(named("valueOf").and(takesArguments(int.class))).getOnly()),
+                        MethodInvocation.invoke(TypeDescription.ForLoadedType.of(IndexOutOfBoundsException.class).getDeclaredMethods().filter(isConstructor().and(takesArguments(String.class))).getOnly()),
+                        Throw.INSTANCE
+                ).apply(methodVisitor, implementationContext));
+                return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+            }
+        }
+    }
+
+    /**
+     * A stack manipulation that creates an {@link ArgumentsProxy} for a given method and pushes it onto the operand stack.
+     * For this purpose, all arguments of the method are loaded onto the stack what is only possible if this stack
+     * manipulation is applied from within this method.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class Creation extends StackManipulation.AbstractBase {
+
+        /**
+         * The method of which the arguments are represented.
+         */
+        private final MethodDescription methodDescription;
+
+        /**
+         * Creates a new stack manipulation for creating an arguments proxy.
+         *
+         * @param methodDescription The method of which the arguments are represented.
+         */
+        public Creation(MethodDescription methodDescription) {
+            this.methodDescription = methodDescription;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            TypeDescription auxiliaryType = implementationContext.register(new ArgumentsProxy(methodDescription.getParameters().asTypeList().asErasures()));
+            return new Compound(
+                    TypeCreation.of(auxiliaryType),
+                    Duplication.SINGLE,
+                    MethodVariableAccess.allArgumentsOf(methodDescription),
+                    MethodInvocation.invoke(auxiliaryType.getDeclaredMethods().filter(isConstructor()).getOnly())
+            ).apply(methodVisitor, implementationContext);
+        }
+    }
+}
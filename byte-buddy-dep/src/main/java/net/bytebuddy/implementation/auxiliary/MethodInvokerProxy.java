@@ -0,0 +1,352 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.auxiliary;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.TargetType;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodAccessorFactory;
+import net.bytebuddy.implementation.SuperMethodCall;
+import net.bytebuddy.implementation.bind.annotation.ArgumentsView;
+import net.bytebuddy.implementation.bind.annotation.SuperCallSite;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.TypeCreation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.RandomString;
+import org.objectweb.asm.MethodVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * <p>
+ * A method invoker proxy is a stateless singleton that invokes a given method by an accessor that is registered on the
+ * instrumented type. The instance on which the method is invoked and the method's arguments are supplied on every
+ * invocation. This way, the proxy does not allocate an object for each invocation as a {@link MethodCallProxy}. If the
+ * proxy implements {@link SuperCallSite.Invoker}, the arguments are read from an {@link ArgumentsView.Arguments} instance.
+ * Otherwise, the proxy implements the single abstract method of an interface that takes the instance as its first
+ * parameter, followed by the method's arguments, which are then passed on directly.
+ * </p>
+ * <p>
+ * The singleton instance is stored in a {@code public static} field of the auxiliary type that is initialized within
+ * its type initializer.
+ * </p>
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class MethodInvokerProxy implements AuxiliaryType {
+
+    /**
+     * The name of the field that holds the singleton instance of the proxy.
+     */
+    public static final String INSTANCE_FIELD_NAME = "INSTANCE";
+
+    /**
+     * The special method invocation to invoke from the auxiliary type.
+     */
+    private final Implementation.SpecialMethodInvocation specialMethodInvocation;
+
+    /**
+     * The interface that is implemented by the proxy.
+     */
+    private final TypeDescription invokerType;
+
+    /**
+     * Creates a new method invoker proxy that implements {@link SuperCallSite.Invoker}.
+     *
+     * @param specialMethodInvocation The special method invocation to invoke from the auxiliary type.
+     */
+    public MethodInvokerProxy(Implementation.SpecialMethodInvocation specialMethodInvocation) {
+        this(specialMethodInvocation, TypeDescription.ForLoadedType.of(SuperCallSite.Invoker.class));
+    }
+
+    /**
+     * Creates a new method invoker proxy.
+     *
+     * @param specialMethodInvocation The special method invocation to invoke from the auxiliary type.
+     * @param invokerType             The interface that is implemented by the proxy which is either {@link SuperCallSite.Invoker}
+     *                                or an interface with a single abstract method that takes the instance as its first parameter,
+     *                                followed by the method's arguments.
+     */
+    public MethodInvokerProxy(Implementation.SpecialMethodInvocation specialMethodInvocation, TypeDescription invokerType) {
+        this.specialMethodInvocation = specialMethodInvocation;
+        this.invokerType = invokerType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getSuffix() {
+        return RandomString.hashOf(31 * specialMethodInvocation.getMethodDescription().hashCode() + invokerType.hashCode()) + "I";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DynamicType make(String auxiliaryTypeName, ClassFileVersion classFileVersion, MethodAccessorFactory methodAccessorFactory) {
+        return new ByteBuddy(classFileVersion)
+                .with(TypeValidation.DISABLED)
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(auxiliaryTypeName)
+                .modifiers(DEFAULT_TYPE_MODIFIER)
+                .implement(invokerType)
+                .method(ElementMatchers.<MethodDescription>isAbstract().and(isDeclaredBy(invokerType)))
+                .intercept(invokerType.represents(SuperCallSite.Invoker.class)
+                        ? new Invocation(methodAccessorFactory.registerAccessorFor(specialMethodInvocation, MethodAccessorFactory.AccessType.DEFAULT))
+                        : new DirectInvocation(methodAccessorFactory.registerAccessorFor(specialMethodInvocation, MethodAccessorFactory.AccessType.DEFAULT)))
+                .defineConstructor(Visibility.PRIVATE)
+                .intercept(SuperMethodCall.INSTANCE)
+                .defineField(INSTANCE_FIELD_NAME, TargetType.class, Visibility.PUBLIC, Ownership.STATIC, FieldManifestation.FINAL)
+                .initializer(SingletonInitialization.INSTANCE)
+                .make();
+    }
+
+    /**
+     * A byte code appender that initializes the singleton instance of a method invoker proxy.
+     */
+    protected enum SingletonInitialization implements ByteCodeAppender {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext, MethodDescription instrumentedMethod) {
+            TypeDescription instrumentedType = implementationContext.getInstrumentedType();
+            StackManipulation.Size size = new StackManipulation.Compound(
+                    TypeCreation.of(instrumentedType),
+                    Duplication.SINGLE,
+                    MethodInvocation.invoke(instrumentedType.getDeclaredMethods().filter(isConstructor()).getOnly()),
+                    FieldAccess.forField(instrumentedType.getDeclaredFields().filter(named(INSTANCE_FIELD_NAME)).getOnly()).write()
+            ).apply(methodVisitor, implementationContext);
+            return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+    }
+
+    /**
+     * An implementation of {@link SuperCallSite.Invoker#invoke(Object, ArgumentsView.Arguments)} that reads all arguments
+     * from the supplied view and invokes the accessor method.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class Invocation implements Implementation, ByteCodeAppender {
+
+        /**
+         * The accessor method to invoke.
+         */
+        private final MethodDescription accessorMethod;
+
+        /**
+         * Creates a new invocation.
+         *
+         * @param accessorMethod The accessor method to invoke.
+         */
+        protected Invocation(MethodDescription accessorMethod) {
+            this.accessorMethod = accessorMethod;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            MethodList<?> accessors = TypeDescription.ForLoadedType.of(ArgumentsView.Arguments.class).getDeclaredMethods();
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(3 + accessorMethod.getParameters().size() * 4);
+            if (!accessorMethod.isStatic()) {
+                stackManipulations.add(MethodVariableAccess.REFERENCE.loadFrom(1));
+                stackManipulations.add(Assigner.DEFAULT.assign(TypeDescription.ForLoadedType.of(Object.class).asGenericType(),
+                        accessorMethod.getDeclaringType().asGenericType(),
+                        Assigner.Typing.DYNAMIC));
+            }
+            for (ParameterDescription parameterDescription : accessorMethod.getParameters()) {
+                MethodDescription accessor = accessors.filter(named(toAccessorName(parameterDescription.getType().asErasure()))).getOnly();
+                stackManipulations.add(MethodVariableAccess.REFERENCE.loadFrom(2));
+                stackManipulations.add(IntegerConstant.forValue(parameterDescription.getIndex()));
+                stackManipulations.add(MethodInvocation.invoke(accessor));
+                stackManipulations.add(Assigner.DEFAULT.assign(accessor.getReturnType(), parameterDescription.getType(), Assigner.Typing.DYNAMIC));
+            }
+            stackManipulations.add(MethodInvocation.invoke(accessorMethod));
+            stackManipulations.add(Assigner.DEFAULT.assign(accessorMethod.getReturnType(), instrumentedMethod.getReturnType(), Assigner.Typing.DYNAMIC));
+            stackManipulations.add(MethodReturn.of(instrumentedMethod.getReturnType()));
+            StackManipulation.Size size = new StackManipulation.Compound(stackManipulations).apply(methodVisitor, implementationContext);
+            return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+
+        /**
+         * Resolves the name of the accessor of {@link ArgumentsView.Arguments} that reads a value of the given type.
+         *
+         * @param typeDescription The type of the value to read.
+         * @return The name of the accessor method.
+         */
+        private static String toAccessorName(TypeDescription typeDescription) {
+            if (!typeDescription.isPrimitive()) {
+                return "get";
+            }
+            String name = typeDescription.getName();
+            return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+
+    /**
+     * An implementation of the single abstract method of an interface that takes the instance as its first parameter, followed
+     * by the arguments of the invoked method, which are passed on to the accessor method without allocating any object.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    protected static class DirectInvocation implements Implementation, ByteCodeAppender {
+
+        /**
+         * The accessor method to invoke.
+         */
+        private final MethodDescription accessorMethod;
+
+        /**
+         * Creates a new direct invocation.
+         *
+         * @param accessorMethod The accessor method to invoke.
+         */
+        protected DirectInvocation(MethodDescription accessorMethod) {
+            this.accessorMethod = accessorMethod;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ByteCodeAppender appender(Target implementationTarget) {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+            if (instrumentedMethod.getParameters().size() != accessorMethod.getParameters().size() + 1) {
+                throw new IllegalStateException(instrumentedMethod + " does not take the instance and all arguments of " + accessorMethod);
+            }
+            List<StackManipulation> stackManipulations = new ArrayList<StackManipulation>(3 + accessorMethod.getParameters().size() * 2);
+            if (!accessorMethod.isStatic()) {
+                stackManipulations.add(MethodVariableAccess.load(instrumentedMethod.getParameters().get(0)));
+                stackManipulations.add(Assigner.DEFAULT.assign(instrumentedMethod.getParameters().get(0).getType(),
+                        accessorMethod.getDeclaringType().asGenericType(),
+                        Assigner.Typing.DYNAMIC));
+            }
+            for (ParameterDescription parameterDescription : accessorMethod.getParameters()) {
+                ParameterDescription argument = instrumentedMethod.getParameters().get(parameterDescription.getIndex() + 1);
+                stackManipulations.add(MethodVariableAccess.load(argument));
+                stackManipulations.add(Assigner.DEFAULT.assign(argument.getType(), parameterDescription.getType(), Assigner.Typing.DYNAMIC));
+            }
+            stackManipulations.add(MethodInvocation.invoke(accessorMethod));
+            stackManipulations.add(Assigner.DEFAULT.assign(accessorMethod.getReturnType(), instrumentedMethod.getReturnType(), Assigner.Typing.DYNAMIC));
+            stackManipulations.add(MethodReturn.of(instrumentedMethod.getReturnType()));
+            StackManipulation stackManipulation = new StackManipulation.Compound(stackManipulations);
+            if (!stackManipulation.isValid()) {
+                throw new IllegalStateException("Cannot invoke " + accessorMethod + " from " + instrumentedMethod);
+            }
+            StackManipulation.Size size = stackManipulation.apply(methodVisitor, implementationContext);
+            return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+        }
+    }
+
+    /**
+     * A stack manipulation that loads the singleton instance of a {@link MethodInvokerProxy} onto the operand stack.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    public static class SingletonAccess extends StackManipulation.AbstractBase {
+
+        /**
+         * The special method invocation to be invoked by the loaded proxy.
+         */
+        private final Implementation.SpecialMethodInvocation specialMethodInvocation;
+
+        /**
+         * The interface that is implemented by the loaded proxy.
+         */
+        private final TypeDescription invokerType;
+
+        /**
+         * Creates a new singleton access for a proxy that implements {@link SuperCallSite.Invoker}.
+         *
+         * @param specialMethodInvocation The special method invocation to be invoked by the loaded proxy.
+         */
+        public SingletonAccess(Implementation.SpecialMethodInvocation specialMethodInvocation) {
+            this(specialMethodInvocation, TypeDescription.ForLoadedType.of(SuperCallSite.Invoker.class));
+        }
+
+        /**
+         * Creates a new singleton access.
+         *
+         * @param specialMethodInvocation The special method invocation to be invoked by the loaded proxy.
+         * @param invokerType             The interface that is implemented by the loaded proxy.
+         */
+        public SingletonAccess(Implementation.SpecialMethodInvocation specialMethodInvocation, TypeDescription invokerType) {
+            this.specialMethodInvocation = specialMethodInvocation;
+            this.invokerType = invokerType;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            TypeDescription auxiliaryType = implementationContext.register(new MethodInvokerProxy(specialMethodInvocation, invokerType));
+            return FieldAccess.forField(auxiliaryType.getDeclaredFields().filter(named(INSTANCE_FIELD_NAME)).getOnly())
+                    .read()
+                    .apply(methodVisitor, implementationContext);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.bind.annotation;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.auxiliary.ArgumentsProxy;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.annotation.*;
+
+/**
+ * <p>
+ * Parameters that are annotated with this annotation are assigned a view on all arguments of the instrumented method. Other
+ * than with {@link AllArguments}, no array is created and primitive arguments are not boxed unless they are read via
+ * {@link Arguments#get(int)}. Instead, an instance of an auxiliary class is created that stores the arguments in fields
+ * of their original types. If the target method is inlined, the JIT compiler can often avoid the allocation of this
+ * instance altogether.
+ * </p>
+ * <p>
+ * <b>Important</b>: The annotated parameter must be of type {@link Arguments} or {@link Object}. As the auxiliary class
+ * implements the {@link Arguments} interface, this interface must be visible to the class loader of the instrumented type.
+ * </p>
+ *
+ * @see net.bytebuddy.implementation.MethodDelegation
+ * @see net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface ArgumentsView {
+
+    /**
+     * A view on the arguments of an instrumented method. Reading an argument by a primitive type is only possible if the
+     * argument's type is assignable to this type by a widening primitive conversion or by unboxing.
+     */
+    interface Arguments {
+
+        /**
+         * Returns the number of arguments of the instrumented method.
+         *
+         * @return The number of arguments of the instrumented method.
+         */
+        int size();
+
+        /**
+         * Returns the argument of the given index where primitive values are boxed.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        Object get(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code boolean} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        boolean getBoolean(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code byte} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        byte getByte(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code short} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        short getShort(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code char} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        char getChar(int index);
+
+        /**
+         * Returns the argument of the given index as an {@code int} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        int getInt(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code long} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        long getLong(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code float} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        float getFloat(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code double} value.
+         *
+         * @param index The index of the argument.
+         * @return The argument's value.
+         */
+        double getDouble(int index);
+    }
+
+    /**
+     * A binder for handling the {@link ArgumentsView} annotation.
+     *
+     * @see TargetMethodAnnotationDrivenBinder
+     */
+    enum Binder implements TargetMethodAnnotationDrivenBinder.ParameterBinder<ArgumentsView> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<ArgumentsView> getHandledType() {
+            return ArgumentsView.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public MethodDelegationBinder.ParameterBinding<?> bind(AnnotationDescription.Loadable<ArgumentsView> annotation,
+                                                               MethodDescription source,
+                                                               ParameterDescription target,
+                                                               Implementation.Target implementationTarget,
+                                                               Assigner assigner,
+                                                               Assigner.Typing typing) {
+            TypeDescription targetType = target.getType().asErasure();
+            if (!targetType.represents(Arguments.class) && !targetType.represents(Object.class)) {
+                throw new IllegalStateException("An arguments view can only be assigned to " + Arguments.class.getName() + ": " + target);
+            }
+            return new MethodDelegationBinder.ParameterBinding.Anonymous(new ArgumentsProxy.Creation(source));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.implementation.bind.annotation;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.auxiliary.MethodInvokerProxy;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.lang.annotation.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * <p>
+ * Parameters that are annotated with this annotation will be assigned a stateless {@link Invoker} for calling the
+ * instrumented method's {@code super} implementation. Other than with {@link SuperCall} or {@link Morph}, the invoker
+ * does not capture the instrumented method's arguments but is a singleton per intercepted method. No object is therefore
+ * allocated for binding the parameter. Instead, the instance and the arguments are supplied when invoking the super method
+ * where the arguments are typically provided by a parameter that is annotated with {@link ArgumentsView}:
+ * </p>
+ * <pre>
+ * &#64;RuntimeType
+ * public static Object intercept(&#64;This Object self,
+ *                                &#64;SuperCallSite SuperCallSite.Invoker invoker,
+ *                                &#64;ArgumentsView ArgumentsView.Arguments arguments) throws Exception {
+ *   return invoker.invoke(self, arguments);
+ * }
+ * </pre>
+ * <p>
+ * Similarly to {@link Morph}, any other implementation of {@link ArgumentsView.Arguments} can be supplied to invoke the super
+ * method with different arguments. To avoid allocating an arguments view altogether, the annotated parameter can instead be of
+ * an interface type that declares a single abstract method which takes the instance as its first parameter, followed by the
+ * arguments of the instrumented method. The invoker then implements this interface and passes the arguments on directly. If
+ * the interface's method does not take as many arguments, the target method is not bound:
+ * </p>
+ * <pre>
+ * public interface FooInvoker {
+ *   String invoke(Object self, String first, int second);
+ * }
+ *
+ * public static String intercept(&#64;This Object self,
+ *                                &#64;SuperCallSite FooInvoker invoker,
+ *                                &#64;Argument(0) String first,
+ *                                &#64;Argument(1) int second) {
+ *   return invoker.invoke(self, first, second);
+ * }
+ * </pre>
+ * <p>
+ * Otherwise, the annotated parameter must be of type {@link Invoker} or {@link Object}. The implemented interface must be
+ * visible to the class loader of the instrumented type.
+ * </p>
+ *
+ * @see net.bytebuddy.implementation.MethodDelegation
+ * @see net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface SuperCallSite {
+
+    /**
+     * Determines if the injected invoker should invoke the default method to the intercepted method if a common
+     * super method invocation is not applicable. For this to be possible, the default method must not be ambiguous.
+     *
+     * @return {@code true} if the invocation should fall back to invoking the default method.
+     */
+    boolean fallbackToDefault() default true;
+
+    /**
+     * Assigns {@code null} to the parameter if it is impossible to invoke the super method or a possible dominant default method, if permitted.
+     *
+     * @return {@code true} if a {@code null} constant should be assigned to this parameter in case that a legal binding is impossible.
+     */
+    boolean nullIfImpossible() default false;
+
+    /**
+     * An invoker of a {@code super} method.
+     */
+    interface Invoker {
+
+        /**
+         * Invokes the {@code super} method.
+         *
+         * @param self      The instance on which the method is invoked or {@code null} if the method is {@code static}.
+         * @param arguments The arguments to supply to the method. Each argument is read by the accessor that matches the
+         *                  parameter's type or by {@link ArgumentsView.Arguments#get(int)} for reference types.
+         * @return The method's return value or {@code null} if the method is {@code void}.
+         * @throws Exception If the method throws an exception.
+         */
+        @MaybeNull
+        Object invoke(@MaybeNull Object self, ArgumentsView.Arguments arguments) throws Exception;
+    }
+
+    /**
+     * A binder for handling the {@link SuperCallSite} annotation.
+     *
+     * @see TargetMethodAnnotationDrivenBinder
+     */
+    enum Binder implements TargetMethodAnnotationDrivenBinder.ParameterBinder<SuperCallSite> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * A description of the {@link SuperCallSite#fallbackToDefault()} method.
+         */
+        private static final MethodDescription.InDefinedShape FALLBACK_TO_DEFAULT;
+
+        /**
+         * A description of the {@link SuperCallSite#nullIfImpossible()} method.
+         */
+        private static final MethodDescription.InDefinedShape NULL_IF_IMPOSSIBLE;
+
+        /*
+         * Resolves annotation properties.
+         */
+        static {
+            MethodList<MethodDescription.InDefinedShape> methods = TypeDescription.ForLoadedType.of(SuperCallSite.class).getDeclaredMethods();
+            FALLBACK_TO_DEFAULT = methods.filter(named("fallbackToDefault")).getOnly();
+            NULL_IF_IMPOSSIBLE = methods.filter(named("nullIfImpossible")).getOnly();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Class<SuperCallSite> getHandledType() {
+            return SuperCallSite.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public MethodDelegationBinder.ParameterBinding<?> bind(AnnotationDescription.Loadable<SuperCallSite> annotation,
+                                                               MethodDescription source,
+                                                               ParameterDescription target,
+                                                               Implementation.Target implementationTarget,
+                                                               Assigner assigner,
+                                                               Assigner.Typing typing) {
+            TypeDescription targetType = target.getType().asErasure(), invokerType;
+            if (targetType.represents(Invoker.class) || targetType.represents(Object.class)) {
+                invokerType = TypeDescription.ForLoadedType.of(Invoker.class);
+            } else if (targetType.isInterface() && targetType.getDeclaredMethods().filter(isAbstract()).size() == 1) {
+                if (targetType.getDeclaredMethods().filter(isAbstract()).getOnly().getParameters().size() != source.getParameters().size() + 1) {
+                    return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+                }
+                invokerType = targetType;
+            } else {
+                throw new IllegalStateException("A super method invoker can only be assigned to " + Invoker.class.getName()
+                        + " or to an interface with a single abstract method: " + target);
+            }
+            if (source.isConstructor()) {
+                return annotation.getValue(NULL_IF_IMPOSSIBLE).resolve(Boolean.class)
+                        ? new MethodDelegationBinder.ParameterBinding.Anonymous(NullConstant.INSTANCE)
+                        : MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+            }
+            Implementation.SpecialMethodInvocation specialMethodInvocation = (annotation.getValue(FALLBACK_TO_DEFAULT).resolve(Boolean.class)
+                    ? implementationTarget.invokeDominant(source.asSignatureToken())
+                    : implementationTarget.invokeSuper(source.asSignatureToken())).withCheckedCompatibilityTo(source.asTypeToken());
+            StackManipulation stackManipulation;
+            if (specialMethodInvocation.isValid()) {
+                stackManipulation = new MethodInvokerProxy.SingletonAccess(specialMethodInvocation, invokerType);
+            } else if (annotation.getValue(NULL_IF_IMPOSSIBLE).resolve(Boolean.class)) {
+                stackManipulation = NullConstant.INSTANCE;
+            } else {
+                return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+            }
+            return new MethodDelegationBinder.ParameterBinding.Anonymous(stackManipulation);
+        }
+    }
+}
@@ -162,12 +162,14 @@ public class TargetMethodAnnotationDrivenBinder implements MethodDelegationBinde
         List<ParameterBinder<?>> DEFAULTS = Collections.unmodifiableList(Arrays.<TargetMethodAnnotationDrivenBinder.ParameterBinder<?>>asList(
                 Argument.Binder.INSTANCE,
                 AllArguments.Binder.INSTANCE,
+                ArgumentsView.Binder.INSTANCE,
                 Origin.Binder.INSTANCE,
                 This.Binder.INSTANCE,
                 Super.Binder.INSTANCE,
                 Default.Binder.INSTANCE,
                 SuperCall.Binder.INSTANCE,
                 SuperCallHandle.Binder.INSTANCE,
+                SuperCallSite.Binder.INSTANCE,
                 DefaultCall.Binder.INSTANCE,
                 DefaultCallHandle.Binder.INSTANCE,
                 SuperMethod.Binder.INSTANCE,
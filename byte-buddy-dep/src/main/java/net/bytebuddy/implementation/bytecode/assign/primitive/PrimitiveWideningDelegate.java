@@ -51,7 +51,7 @@ public enum PrimitiveWideningDelegate {
             StackManipulation.Trivial.INSTANCE,                                                     // to integer
             new WideningStackManipulation(Opcodes.I2L, StackSize.SINGLE.toIncreasingSize()),        // to long
             new WideningStackManipulation(Opcodes.I2F, StackSize.ZERO.toIncreasingSize()),          // to float
-            new WideningStackManipulation(Opcodes.I2L, StackSize.SINGLE.toIncreasingSize())),       // to double
+            new WideningStackManipulation(Opcodes.I2D, StackSize.SINGLE.toIncreasingSize())),       // to double
 
     /**
      * The widening delegate for {@code short} values.
@@ -26,6 +26,7 @@ import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.MethodVisitor;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
 
 /**
  * Represents a {@link Field} constant for a given type.
@@ -55,6 +56,26 @@ public class FieldConstant extends StackManipulation.AbstractBase {
         return new Cached(this);
     }
 
+    /**
+     * Returns this field constant as a lazily resolved {@code CONSTANT_Dynamic} value if the instrumented type is
+     * defined in a class file version of at least Java 11. Such a constant is only resolved upon its first use and
+     * does neither require a cache field nor code in the instrumented type's type initializer. For older class file
+     * versions, this field constant is cached in the same way as by {@link FieldConstant#cached()}.
+     *
+     * @return A cached version of this field constant.
+     */
+    public StackManipulation cachedDynamic() {
+        try {
+            return new MethodConstant.CachedDynamic(cached(),
+                    new MethodDescription.ForLoadedMethod(Class.class.getMethod("getDeclaredField", String.class)),
+                    fieldDescription.getDeclaringType(),
+                    fieldDescription.getInternalName(),
+                    Collections.<TypeDescription>emptyList());
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException("Cannot locate Class::getDeclaredField", exception);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -16,6 +16,7 @@
 package net.bytebuddy.implementation.bytecode.constant;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.Implementation;
@@ -27,6 +28,7 @@ import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
 import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
 import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.utility.JavaConstant;
 import net.bytebuddy.utility.nullability.MaybeNull;
 import org.objectweb.asm.MethodVisitor;
 
@@ -107,6 +109,25 @@ public abstract class MethodConstant extends StackManipulation.AbstractBase {
         }
     }
 
+    /**
+     * Creates a stack manipulation that loads a method constant as a lazily resolved {@code CONSTANT_Dynamic} value if the
+     * instrumented type is defined in a class file version of at least Java 11. Such a constant is only resolved upon its
+     * first use and does neither require a cache field nor code in the instrumented type's type initializer. For older
+     * class file versions, the method constant is cached in the same way as by {@link CanCache#cached()}.
+     *
+     * @param methodDescription The method to be loaded onto the stack.
+     * @return A stack manipulation that loads a cached method constant for the given method description.
+     */
+    public static StackManipulation ofDynamic(MethodDescription.InDefinedShape methodDescription) {
+        if (methodDescription.isTypeInitializer()) {
+            return Illegal.INSTANCE;
+        } else if (methodDescription.isConstructor()) {
+            return new ForConstructor(methodDescription).cachedDynamic();
+        } else {
+            return new ForMethod(methodDescription).cachedDynamic();
+        }
+    }
+
     /**
      * Creates a stack manipulation that loads a method constant onto the operand stack using an {@code java.security.AccessController}.
      * If the current VM does not support the access controller API, or if {@code net.bytebuddy.securitymanager} is set to false, this
@@ -300,6 +321,20 @@ public abstract class MethodConstant extends StackManipulation.AbstractBase {
         public StackManipulation cached() {
             return new CachedMethod(this);
         }
+
+        /**
+         * Returns this method constant as a lazily resolved {@code CONSTANT_Dynamic} value if the instrumented type is
+         * defined in a class file version of at least Java 11 or as a cached version as by {@link ForMethod#cached()}, otherwise.
+         *
+         * @return A cached version of the method constant that is represented by this instance.
+         */
+        public StackManipulation cachedDynamic() {
+            return new CachedDynamic(cached(),
+                    accessorMethod(),
+                    methodDescription.getDeclaringType(),
+                    methodDescription.getInternalName(),
+                    methodDescription.getParameters().asTypeList().asErasures());
+        }
     }
 
     /**
@@ -358,6 +393,20 @@ public abstract class MethodConstant extends StackManipulation.AbstractBase {
         public StackManipulation cached() {
             return new CachedConstructor(this);
         }
+
+        /**
+         * Returns this method constant as a lazily resolved {@code CONSTANT_Dynamic} value if the instrumented type is
+         * defined in a class file version of at least Java 11 or as a cached version as by {@link ForConstructor#cached()}, otherwise.
+         *
+         * @return A cached version of the method constant that is represented by this instance.
+         */
+        public StackManipulation cachedDynamic() {
+            return new CachedDynamic(cached(),
+                    accessorMethod(),
+                    methodDescription.getDeclaringType(),
+                    null,
+                    methodDescription.getParameters().asTypeList().asErasures());
+        }
     }
 
     /**
@@ -555,4 +604,111 @@ public abstract class MethodConstant extends StackManipulation.AbstractBase {
             return constructorConstant.equals(cachedConstructor.constructorConstant);
         }
     }
+
+    /**
+     * Represents a reflective member constant that is loaded as a {@code CONSTANT_Dynamic} value if the instrumented type's
+     * class file version supports dynamic constants and that is otherwise loaded from a cache field. The dynamic constant
+     * is only created when it is applied and invokes a lookup method of {@link Class} with constant arguments. This
+     * stack manipulation is shared by method, constructor and field constants.
+     */
+    protected static class CachedDynamic implements StackManipulation {
+
+        /**
+         * The stack manipulation to apply if dynamic constants are not supported.
+         */
+        private final StackManipulation cached;
+
+        /**
+         * The lookup method of {@link Class} that resolves the member.
+         */
+        private final MethodDescription.InDefinedShape accessorMethod;
+
+        /**
+         * The type declaring the member.
+         */
+        private final TypeDescription declaringType;
+
+        /**
+         * The member's name or {@code null} if the member is a constructor.
+         */
+        @MaybeNull
+        private final String name;
+
+        /**
+         * The erasures of the member's parameter types.
+         */
+        private final List<TypeDescription> parameterTypes;
+
+        /**
+         * Creates a new dynamically cached member constant.
+         *
+         * @param cached         The stack manipulation to apply if dynamic constants are not supported.
+         * @param accessorMethod The lookup method of {@link Class} that resolves the member.
+         * @param declaringType  The type declaring the member.
+         * @param name           The member's name or {@code null} if the member is a constructor.
+         * @param parameterTypes The erasures of the member's parameter types.
+         */
+        protected CachedDynamic(StackManipulation cached,
+                                MethodDescription.InDefinedShape accessorMethod,
+                                TypeDescription declaringType,
+                                @MaybeNull String name,
+                                List<TypeDescription> parameterTypes) {
+            this.cached = cached;
+            this.accessorMethod = accessorMethod;
+            this.declaringType = declaringType;
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isValid() {
+            return cached.isValid();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Size apply(MethodVisitor methodVisitor, Implementation.Context implementationContext) {
+            if (!implementationContext.getClassFileVersion().isAtLeast(ClassFileVersion.JAVA_V11)) {
+                return cached.apply(methodVisitor, implementationContext);
+            }
+            List<Object> constants = new ArrayList<Object>(parameterTypes.size() + 2);
+            constants.add(declaringType);
+            if (name != null) {
+                constants.add(name);
+            }
+            for (TypeDescription parameterType : parameterTypes) {
+                constants.add(parameterType.isPrimitive()
+                        ? JavaConstant.Dynamic.ofPrimitiveType(parameterType)
+                        : parameterType);
+            }
+            return new JavaConstantValue(JavaConstant.Dynamic.ofInvocation(accessorMethod, constants)).apply(methodVisitor, implementationContext);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = cached.hashCode();
+            result = 31 * result + accessorMethod.hashCode();
+            result = 31 * result + declaringType.hashCode();
+            result = 31 * result + (name == null ? 0 : name.hashCode());
+            return 31 * result + parameterTypes.hashCode();
+        }
+
+        @Override
+        public boolean equals(@MaybeNull Object other) {
+            if (this == other) {
+                return true;
+            } else if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            CachedDynamic cachedDynamic = (CachedDynamic) other;
+            return cached.equals(cachedDynamic.cached)
+                    && accessorMethod.equals(cachedDynamic.accessorMethod)
+                    && declaringType.equals(cachedDynamic.declaringType)
+                    && (name == null ? cachedDynamic.name == null : name.equals(cachedDynamic.name))
+                    && parameterTypes.equals(cachedDynamic.parameterTypes);
+        }
+    }
 }
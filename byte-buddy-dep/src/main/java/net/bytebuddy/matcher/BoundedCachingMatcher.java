@@ -0,0 +1,586 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A matcher that remembers the results of previously matching an equal target within a cache of a bounded size. Other than
+ * {@link CachingMatcher.WithInlineEviction}, this matcher does not evict arbitrary entries once its maximum size is reached.
+ * Instead, it records an approximate access frequency of all matched targets, including those that are not currently cached.
+ * A newly matched target is only admitted to a full cache if it was accessed more frequently than the least frequently accessed
+ * entry among a sample of cached entries, which is then evicted. This way, targets that are matched only once, as it is typical
+ * for most types that are loaded by an application, do not displace targets that are matched repeatedly, such as common super
+ * types. Access frequencies are aged regularly such that the cache adapts to changing access patterns.
+ * </p>
+ * <p>
+ * Cache lookups do not require any locking. The number of cache hits, cache misses and evictions are recorded and can be used
+ * to tune the size of a cache.
+ * </p>
+ *
+ * @param <T> The actual matched type of this matcher.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class BoundedCachingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T> {
+
+    /**
+     * A substitute value to store in a map instead of a {@code null} value.
+     */
+    private static final Object NULL_VALUE = new Object();
+
+    /**
+     * The amount of cached entries that are considered as a victim for eviction.
+     */
+    private static final int SAMPLE_SIZE = 8;
+
+    /**
+     * The underlying matcher to apply for non-cached targets.
+     */
+    private final ElementMatcher<? super T> matcher;
+
+    /**
+     * The maximum amount of entries that are cached.
+     */
+    private final int maximumSize;
+
+    /**
+     * The retention of the keys of this cache.
+     */
+    private final KeyRetention keyRetention;
+
+    /**
+     * A map that serves as a cache for previous matches.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final ConcurrentMap<Object, Entry> map;
+
+    /**
+     * The slots that are currently occupied by cached entries where a slot is {@code null} if it is not currently in use.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final Entry[] slots;
+
+    /**
+     * A sketch of the approximate access frequency of all matched targets.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final FrequencySketch sketch;
+
+    /**
+     * A reference queue that is notified upon the collection of weakly referenced keys.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final ReferenceQueue<Object> referenceQueue;
+
+    /**
+     * The amount of cache hits.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong hits;
+
+    /**
+     * The amount of cache misses.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong misses;
+
+    /**
+     * The amount of entries that were evicted to admit a more frequently accessed target.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final AtomicLong evictions;
+
+    /**
+     * The current amount of cached entries.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private int size;
+
+    /**
+     * The index of the next slot to consider when looking for an empty slot or for an eviction victim.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private int hand;
+
+    /**
+     * Creates a new bounded caching matcher that references cached targets strongly.
+     *
+     * @param matcher     The underlying matcher to apply for non-cached targets.
+     * @param maximumSize The maximum amount of entries that are cached.
+     */
+    public BoundedCachingMatcher(ElementMatcher<? super T> matcher, int maximumSize) {
+        this(matcher, maximumSize, KeyRetention.STRONG);
+    }
+
+    /**
+     * Creates a new bounded caching matcher.
+     *
+     * @param matcher      The underlying matcher to apply for non-cached targets.
+     * @param maximumSize  The maximum amount of entries that are cached.
+     * @param keyRetention The retention of the keys of this cache.
+     */
+    public BoundedCachingMatcher(ElementMatcher<? super T> matcher, int maximumSize, KeyRetention keyRetention) {
+        this.matcher = matcher;
+        this.maximumSize = maximumSize;
+        this.keyRetention = keyRetention;
+        map = new ConcurrentHashMap<Object, Entry>();
+        slots = new Entry[Math.max(0, maximumSize)];
+        sketch = new FrequencySketch(maximumSize);
+        referenceQueue = new ReferenceQueue<Object>();
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        evictions = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean matches(@MaybeNull T target) {
+        Object value = target == null
+                ? NULL_VALUE
+                : keyRetention.toValue(target);
+        int hashCode = value.hashCode();
+        sketch.increment(hashCode);
+        Entry entry = map.get(keyRetention.toLookupKey(value));
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry.matched;
+        }
+        misses.incrementAndGet();
+        boolean matched = matcher.matches(target);
+        register(value, hashCode, matched);
+        return matched;
+    }
+
+    /**
+     * Registers a match result after a cache miss.
+     *
+     * @param value    The matched value which is never {@code null}.
+     * @param hashCode The value's hash code.
+     * @param matched  {@code true} if the value was matched.
+     */
+    private synchronized void register(Object value, int hashCode, boolean matched) {
+        expunge();
+        if (slots.length == 0 || map.containsKey(keyRetention.toLookupKey(value))) {
+            return;
+        }
+        int slot;
+        if (size < slots.length) {
+            while (slots[hand] != null) {
+                hand = (hand + 1) % slots.length;
+            }
+            slot = hand;
+            size++;
+        } else {
+            slot = hand;
+            int frequency = Integer.MAX_VALUE;
+            for (int index = 0; index < Math.min(SAMPLE_SIZE, slots.length); index++) {
+                int candidate = sketch.frequency(slots[hand].hashCode);
+                if (candidate < frequency) {
+                    slot = hand;
+                    frequency = candidate;
+                }
+                hand = (hand + 1) % slots.length;
+            }
+            if (sketch.frequency(hashCode) <= frequency) {
+                return;
+            }
+            map.remove(slots[slot].key, slots[slot]);
+            evictions.incrementAndGet();
+        }
+        Entry entry = new Entry(keyRetention.toStorageKey(value, referenceQueue), hashCode, slot, matched);
+        slots[slot] = entry;
+        map.put(entry.key, entry);
+        hand = (slot + 1) % slots.length;
+    }
+
+    /**
+     * Removes all entries of which the key was garbage collected.
+     */
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            Entry entry = map.remove(reference);
+            if (entry != null) {
+                slots[entry.slot] = null;
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of matches that were answered from this cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the amount of matches that required to apply the underlying matcher.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the amount of entries that were evicted to admit a more frequently matched target.
+     *
+     * @return The amount of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the amount of entries that are currently cached. Entries with a collected key might still be included.
+     *
+     * @return The amount of cached entries.
+     */
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public String toString() {
+        return "cached(" + matcher + ", " + maximumSize + ")";
+    }
+
+    /**
+     * Determines how the keys of a bounded caching matcher are referenced.
+     */
+    public enum KeyRetention {
+
+        /**
+         * References cached keys strongly.
+         */
+        STRONG {
+            @Override
+            protected Object toValue(Object target) {
+                return target;
+            }
+
+            @Override
+            protected Object toLookupKey(Object value) {
+                return value;
+            }
+
+            @Override
+            protected Object toStorageKey(Object value, ReferenceQueue<Object> referenceQueue) {
+                return value;
+            }
+        },
+
+        /**
+         * References cached keys weakly. This retention is only meaningful for keys with a stable identity such as
+         * {@link Class} or {@link ClassLoader} instances which are kept alive for as long as the represented entity is
+         * in use. For a {@link TypeDescription.ForLoadedType}, the represented {@link Class} is used as a key such that
+         * the entry is retained for as long as the class is loaded, even if the description is recreated upon every
+         * lookup. Other keys that are recreated upon every lookup, such as other {@link TypeDescription}s or
+         * {@link String}s, are collected right after their matching such that the cache is rarely hit. Keys are
+         * still compared by their equality.
+         */
+        WEAK {
+            @Override
+            protected Object toValue(Object target) {
+                return target instanceof TypeDescription.ForLoadedType
+                        ? ((TypeDescription.ForLoadedType) target).getLoadedType()
+                        : target;
+            }
+
+            @Override
+            protected Object toLookupKey(Object value) {
+                return new LookupKey(value);
+            }
+
+            @Override
+            protected Object toStorageKey(Object value, ReferenceQueue<Object> referenceQueue) {
+                return new StorageKey(value, referenceQueue);
+            }
+        };
+
+        /**
+         * Resolves the value that represents a matched target within the cache.
+         *
+         * @param target The matched target which is never {@code null}.
+         * @return The value that represents the target.
+         */
+        protected abstract Object toValue(Object target);
+
+        /**
+         * Creates a key for looking up a value.
+         *
+         * @param value The value to look up.
+         * @return An appropriate lookup key.
+         */
+        protected abstract Object toLookupKey(Object value);
+
+        /**
+         * Creates a key for storing a value.
+         *
+         * @param value          The value to store.
+         * @param referenceQueue The reference queue to notify upon a collection of the value.
+         * @return An appropriate storage key.
+         */
+        protected abstract Object toStorageKey(Object value, ReferenceQueue<Object> referenceQueue);
+    }
+
+    /**
+     * A key for looking up a weakly referenced value.
+     */
+    protected static class LookupKey {
+
+        /**
+         * The represented value.
+         */
+        private final Object value;
+
+        /**
+         * The value's hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Creates a new lookup key.
+         *
+         * @param value The represented value.
+         */
+        protected LookupKey(Object value) {
+            this.value = value;
+            hashCode = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+        public boolean equals(@MaybeNull Object other) {
+            if (this == other) {
+                return true;
+            } else if (other instanceof LookupKey) {
+                return value.equals(((LookupKey) other).value);
+            } else if (other instanceof StorageKey) {
+                StorageKey storageKey = (StorageKey) other;
+                return hashCode == storageKey.hashCode && value.equals(storageKey.get());
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A key for storing a weakly referenced value.
+     */
+    protected static class StorageKey extends WeakReference<Object> {
+
+        /**
+         * The value's hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Creates a new storage key.
+         *
+         * @param value          The represented value.
+         * @param referenceQueue The reference queue to notify upon a collection of the value.
+         */
+        protected StorageKey(Object value, ReferenceQueue<Object> referenceQueue) {
+            super(value, referenceQueue);
+            hashCode = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended.")
+        public boolean equals(@MaybeNull Object other) {
+            if (this == other) {
+                return true;
+            } else if (other instanceof LookupKey) {
+                LookupKey lookupKey = (LookupKey) other;
+                Object value = get();
+                return hashCode == lookupKey.hashCode && value != null && value.equals(lookupKey.value);
+            } else if (other instanceof StorageKey) {
+                StorageKey storageKey = (StorageKey) other;
+                Object value = get();
+                return hashCode == storageKey.hashCode && value != null && value.equals(storageKey.get());
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * An entry of a bounded caching matcher.
+     */
+    protected static class Entry {
+
+        /**
+         * The key of this entry within the cache's map.
+         */
+        private final Object key;
+
+        /**
+         * The hash code of the cached value.
+         */
+        private final int hashCode;
+
+        /**
+         * The slot that is occupied by this entry.
+         */
+        private final int slot;
+
+        /**
+         * {@code true} if the cached value was matched.
+         */
+        private final boolean matched;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param key      The key of this entry within the cache's map.
+         * @param hashCode The hash code of the cached value.
+         * @param slot     The slot that is occupied by this entry.
+         * @param matched  {@code true} if the cached value was matched.
+         */
+        protected Entry(Object key, int hashCode, int slot, boolean matched) {
+            this.key = key;
+            this.hashCode = hashCode;
+            this.slot = slot;
+            this.matched = matched;
+        }
+    }
+
+    /**
+     * A count-min sketch that records the approximate access frequency of values by their hash code. Counters are
+     * updated atomically without locking. All counters are halved once a number of accesses proportional to the
+     * sketch's size was recorded where only the thread that records the access which exceeds this number halves
+     * the counters.
+     */
+    protected static class FrequencySketch {
+
+        /**
+         * The maximum value of a counter.
+         */
+        private static final int MAXIMUM_FREQUENCY = 15;
+
+        /**
+         * The seeds of the hash functions that determine the counters of a value.
+         */
+        private static final int[] SEEDS = new int[]{0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        /**
+         * The counters of this sketch.
+         */
+        private final AtomicIntegerArray counters;
+
+        /**
+         * The amount of recorded accesses after which all counters are halved.
+         */
+        private final int resetThreshold;
+
+        /**
+         * The amount of accesses that were recorded since the last reset.
+         */
+        private final AtomicInteger accesses;
+
+        /**
+         * Creates a new frequency sketch.
+         *
+         * @param maximumSize The maximum amount of entries of the cache that uses this sketch.
+         */
+        protected FrequencySketch(int maximumSize) {
+            int length = 64;
+            while (length < (long) maximumSize * 4 && length < 1 << 24) {
+                length <<= 1;
+            }
+            counters = new AtomicIntegerArray(length);
+            resetThreshold = length * 10 / 4;
+            accesses = new AtomicInteger();
+        }
+
+        /**
+         * Records an access of a value.
+         *
+         * @param hashCode The accessed value's hash code.
+         */
+        protected void increment(int hashCode) {
+            for (int seed : SEEDS) {
+                int index = indexOf(hashCode, seed), counter;
+                do {
+                    counter = counters.get(index);
+                } while (counter < MAXIMUM_FREQUENCY && !counters.compareAndSet(index, counter, counter + 1));
+            }
+            if (accesses.incrementAndGet() == resetThreshold) {
+                for (int index = 0; index < counters.length(); index++) {
+                    int counter;
+                    do {
+                        counter = counters.get(index);
+                    } while (!counters.compareAndSet(index, counter, counter >>> 1));
+                }
+                accesses.addAndGet(-resetThreshold);
+            }
+        }
+
+        /**
+         * Returns the estimated access frequency of a value.
+         *
+         * @param hashCode The value's hash code.
+         * @return The estimated access frequency.
+         */
+        protected int frequency(int hashCode) {
+            int frequency = MAXIMUM_FREQUENCY;
+            for (int seed : SEEDS) {
+                frequency = Math.min(frequency, counters.get(indexOf(hashCode, seed)));
+            }
+            return frequency;
+        }
+
+        /**
+         * Resolves the index of a counter.
+         *
+         * @param hashCode The value's hash code.
+         * @param seed     The seed of the hash function.
+         * @return The index of the counter.
+         */
+        private int indexOf(int hashCode, int seed) {
+            int hash = (hashCode ^ (hashCode >>> 16)) * seed;
+            return (hash ^ (hash >>> 15)) & (counters.length() - 1);
+        }
+    }
+}
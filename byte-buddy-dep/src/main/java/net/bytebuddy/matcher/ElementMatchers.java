@@ -96,7 +96,8 @@ public final class ElementMatchers {
      * <b>Warning</b>: The cache will hold {@code evictionSize} elements and evict a random element once the cache
      * contains more than the specified amount of elements. Cached elements are referenced strongly and might cause
      * a memory leak if instance are of a significant size. Using {@link ElementMatchers#cached(ElementMatcher, ConcurrentMap)}
-     * allows for explicit control over cache eviction.
+     * allows for explicit control over cache eviction. Using {@link ElementMatchers#cached(ElementMatcher, int, BoundedCachingMatcher.KeyRetention)}
+     * applies a frequency-aware eviction and allows for referencing matched elements weakly.
      * </p>
      *
      * @param matcher      The actual matcher for which the results are cached.
@@ -111,6 +112,31 @@ public final class ElementMatchers {
         return new CachingMatcher.WithInlineEviction<T>(matcher, new ConcurrentHashMap<T, Boolean>(), evictionSize);
     }
 
+    /**
+     * <p>
+     * Wraps another matcher but caches the result of previously matched elements within a cache of a bounded size. Once
+     * the cache is full, a newly matched element is only cached if it was matched more frequently than a cached element
+     * which is then evicted. The returned matcher exposes the number of cache hits, cache misses and evictions.
+     * </p>
+     * <p>
+     * <b>Note</b>: If elements are referenced weakly, a cached result is only retained for as long as the matched instance
+     * is strongly referenced elsewhere. Weak references are therefore only sensible for elements with a stable identity,
+     * such as {@link Class} or {@link ClassLoader} instances.
+     * </p>
+     *
+     * @param matcher      The actual matcher for which the results are cached.
+     * @param maximumSize  The maximum amount of elements that are stored in the cache. Must be a positive number.
+     * @param keyRetention Determines if matched elements are referenced strongly or weakly by the cache.
+     * @param <T>          The type of the matched object.
+     * @return A matcher that stores the results of a previous matching in a bounded cache.
+     */
+    public static <T> BoundedCachingMatcher<T> cached(ElementMatcher<? super T> matcher, int maximumSize, BoundedCachingMatcher.KeyRetention keyRetention) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be a positive number: " + maximumSize);
+        }
+        return new BoundedCachingMatcher<T>(matcher, maximumSize, keyRetention);
+    }
+
     /**
      * Matches the given value which can also be {@code null} by the {@link java.lang.Object#equals(Object)} method or
      * by a null-check.
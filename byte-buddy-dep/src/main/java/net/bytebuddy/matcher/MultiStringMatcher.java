@@ -0,0 +1,522 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.matcher;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import net.bytebuddy.utility.nullability.MaybeNull;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An element matcher that matches a string against several {@link StringMatcher}s at once and that constitutes a match if any
+ * of these matchers matches the string. Rather than applying each matcher in sequence, all patterns are compiled into a hash set
+ * for equality, into prefix and suffix tries and into an Aho-Corasick automaton for infixes such that the cost of matching a string
+ * does not grow with the number of patterns. This matcher is created automatically when combining supported string matchers or
+ * name matchers by a disjunction. When such a disjunction is extended by another matcher, the string matchers are appended to an
+ * array that is shared with the extended matcher if this array has capacity left that is not yet claimed by another extension.
+ * This way, chaining a disjunction of many matchers does not copy all previous string matchers upon each extension.
+ */
+public class MultiStringMatcher extends ElementMatcher.Junction.ForNonNullValues<String> {
+
+    /**
+     * An array of string matchers of which the first {@link MultiStringMatcher#size} matchers are represented by this matcher in
+     * their application order. Any subsequent matcher belongs to another multi-string matcher that shares this array.
+     */
+    private final StringMatcher[] matchers;
+
+    /**
+     * The amount of string matchers that are represented by this matcher.
+     */
+    private final int size;
+
+    /**
+     * The amount of elements of the shared array that are claimed by any multi-string matcher that shares this array.
+     */
+    private final AtomicInteger claimed;
+
+    /**
+     * The compiled representation of the string matchers or {@code null} if the matchers were not yet compiled.
+     */
+    @MaybeNull
+    private volatile Compiled compiled;
+
+    /**
+     * Creates a new multi-string matcher.
+     *
+     * @param matcher The string matchers to represent.
+     */
+    public MultiStringMatcher(StringMatcher... matcher) {
+        this(Arrays.asList(matcher));
+    }
+
+    /**
+     * Creates a new multi-string matcher.
+     *
+     * @param matchers The string matchers to represent.
+     */
+    public MultiStringMatcher(List<? extends StringMatcher> matchers) {
+        for (StringMatcher matcher : matchers) {
+            if (!isSupported(matcher.getMode())) {
+                throw new IllegalArgumentException("Cannot compile string matcher with mode " + matcher.getMode());
+            }
+        }
+        this.matchers = matchers.toArray(new StringMatcher[0]);
+        size = this.matchers.length;
+        claimed = new AtomicInteger(size);
+    }
+
+    /**
+     * Creates a new multi-string matcher that represents a prefix of a shared array of string matchers.
+     *
+     * @param matchers The shared array of string matchers.
+     * @param size     The amount of string matchers that are represented by this matcher.
+     * @param claimed  The amount of elements of the shared array that are claimed by any multi-string matcher.
+     */
+    private MultiStringMatcher(StringMatcher[] matchers, int size, AtomicInteger claimed) {
+        this.matchers = matchers;
+        this.size = size;
+        this.claimed = claimed;
+    }
+
+    /**
+     * Checks if a string matcher of the supplied mode can be represented by a multi-string matcher.
+     *
+     * @param mode The mode to check.
+     * @return {@code true} if the supplied mode can be represented by a multi-string matcher.
+     */
+    protected static boolean isSupported(StringMatcher.Mode mode) {
+        return mode != StringMatcher.Mode.EQUALS_FULLY_IGNORE_CASE && mode != StringMatcher.Mode.MATCHES;
+    }
+
+    /**
+     * Resolves a multi-string matcher that represents a disjunction of the two supplied matchers if both matchers
+     * are string matchers of a supported mode or multi-string matchers.
+     *
+     * @param left  The matcher to apply first.
+     * @param right The matcher to apply second.
+     * @return A multi-string matcher representing the disjunction of both matchers or {@code null} if a matcher cannot be represented.
+     */
+    @MaybeNull
+    protected static MultiStringMatcher of(ElementMatcher<?> left, ElementMatcher<?> right) {
+        List<StringMatcher> matchers = new ArrayList<StringMatcher>();
+        if (left instanceof MultiStringMatcher) {
+            return collect(right, matchers)
+                    ? ((MultiStringMatcher) left).append(matchers)
+                    : null;
+        }
+        return collect(left, matchers) && collect(right, matchers)
+                ? new MultiStringMatcher(matchers)
+                : null;
+    }
+
+    /**
+     * Creates a multi-string matcher that represents all matchers of this matcher, followed by additional string matchers.
+     * If the array of this matcher has sufficient capacity that is not yet claimed, it is shared with the created matcher.
+     * Otherwise, the matchers are copied to a new array with additional capacity.
+     *
+     * @param additional The string matchers to append.
+     * @return A multi-string matcher that represents the matchers of this matcher, followed by the additional matchers.
+     */
+    private MultiStringMatcher append(List<StringMatcher> additional) {
+        int length = size + additional.size();
+        StringMatcher[] matchers;
+        AtomicInteger claimed;
+        if (length <= this.matchers.length && this.claimed.compareAndSet(size, length)) {
+            matchers = this.matchers;
+            claimed = this.claimed;
+        } else {
+            matchers = new StringMatcher[Math.max(length, size > Integer.MAX_VALUE / 2 ? length : size * 2)];
+            System.arraycopy(this.matchers, 0, matchers, 0, size);
+            claimed = new AtomicInteger(length);
+        }
+        for (int index = 0; index < additional.size(); index++) {
+            matchers[size + index] = additional.get(index);
+        }
+        return new MultiStringMatcher(matchers, length, claimed);
+    }
+
+    /**
+     * Collects the string matchers that are represented by the supplied matcher.
+     *
+     * @param matcher  The matcher to resolve.
+     * @param matchers The list of string matchers to add to.
+     * @return {@code true} if the supplied matcher could be represented by string matchers.
+     */
+    private static boolean collect(ElementMatcher<?> matcher, List<StringMatcher> matchers) {
+        if (matcher instanceof MultiStringMatcher) {
+            matchers.addAll(((MultiStringMatcher) matcher).getMatchers());
+            return true;
+        } else if (matcher instanceof StringMatcher && isSupported(((StringMatcher) matcher).getMode())) {
+            matchers.add((StringMatcher) matcher);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public <U extends String> ElementMatcher.Junction<U> or(ElementMatcher<? super U> other) {
+        MultiStringMatcher matcher = of(this, other);
+        return matcher == null
+                ? super.or(other)
+                : (ElementMatcher.Junction<U>) (ElementMatcher.Junction<?>) matcher;
+    }
+
+    /**
+     * Returns the string matchers that are represented by this matcher in their application order.
+     *
+     * @return The string matchers that are represented by this matcher.
+     */
+    protected List<StringMatcher> getMatchers() {
+        return Arrays.asList(matchers).subList(0, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean doMatch(String target) {
+        Compiled compiled = this.compiled;
+        if (compiled == null) {
+            compiled = new Compiled(getMatchers());
+            this.compiled = compiled;
+        }
+        return compiled.matches(target);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = size;
+        for (int index = 0; index < size; index++) {
+            hashCode = 31 * hashCode + matchers[index].hashCode();
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(@MaybeNull Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        MultiStringMatcher multiStringMatcher = (MultiStringMatcher) other;
+        if (size != multiStringMatcher.size) {
+            return false;
+        }
+        for (int index = 0; index < size; index++) {
+            if (!matchers[index].equals(multiStringMatcher.matchers[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("(");
+        boolean first = true;
+        for (StringMatcher matcher : getMatchers()) {
+            if (first) {
+                first = false;
+            } else {
+                stringBuilder.append(" or ");
+            }
+            stringBuilder.append(matcher);
+        }
+        return stringBuilder.append(")").toString();
+    }
+
+    /**
+     * A compiled representation of a list of string matchers.
+     */
+    protected static class Compiled {
+
+        /**
+         * The values that are matched if they are fully equal to a string.
+         */
+        private final Set<String> values;
+
+        /**
+         * The dictionary of patterns that respect casing differences.
+         */
+        private final Dictionary caseSensitive;
+
+        /**
+         * The dictionary of patterns that do not respect casing differences or {@code null} if no such pattern exists.
+         */
+        @MaybeNull
+        private final Dictionary caseInsensitive;
+
+        /**
+         * Compiles a list of string matchers.
+         *
+         * @param matchers The string matchers to compile.
+         */
+        @SuppressFBWarnings(value = "DM_CONVERT_CASE", justification = "Both strings are transformed by the default locale.")
+        protected Compiled(List<StringMatcher> matchers) {
+            values = new HashSet<String>();
+            Dictionary caseSensitive = new Dictionary(), caseInsensitive = new Dictionary();
+            boolean ignoreCase = false;
+            for (StringMatcher matcher : matchers) {
+                switch (matcher.getMode()) {
+                    case EQUALS_FULLY:
+                        values.add(matcher.getValue());
+                        break;
+                    case STARTS_WITH:
+                        caseSensitive.prefixes.add(matcher.getValue(), false);
+                        break;
+                    case ENDS_WITH:
+                        caseSensitive.suffixes.add(matcher.getValue(), true);
+                        break;
+                    case CONTAINS:
+                        caseSensitive.infixes.add(matcher.getValue(), false);
+                        break;
+                    case STARTS_WITH_IGNORE_CASE:
+                        caseInsensitive.prefixes.add(matcher.getValue().toLowerCase(), false);
+                        ignoreCase = true;
+                        break;
+                    case ENDS_WITH_IGNORE_CASE:
+                        caseInsensitive.suffixes.add(matcher.getValue().toLowerCase(), true);
+                        ignoreCase = true;
+                        break;
+                    case CONTAINS_IGNORE_CASE:
+                        caseInsensitive.infixes.add(matcher.getValue().toLowerCase(), false);
+                        ignoreCase = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Cannot compile string matcher with mode " + matcher.getMode());
+                }
+            }
+            caseSensitive.infixes.link();
+            caseInsensitive.infixes.link();
+            this.caseSensitive = caseSensitive;
+            this.caseInsensitive = ignoreCase
+                    ? caseInsensitive
+                    : null;
+        }
+
+        /**
+         * Matches a string against the compiled patterns.
+         *
+         * @param target The string to match.
+         * @return {@code true} if any pattern matches the supplied string.
+         */
+        @SuppressFBWarnings(value = "DM_CONVERT_CASE", justification = "Both strings are transformed by the default locale.")
+        protected boolean matches(String target) {
+            return values.contains(target)
+                    || caseSensitive.matches(target)
+                    || caseInsensitive != null && caseInsensitive.matches(target.toLowerCase());
+        }
+    }
+
+    /**
+     * A dictionary of prefixes, suffixes and infixes.
+     */
+    protected static class Dictionary {
+
+        /**
+         * The root of a trie of prefixes.
+         */
+        private final Node prefixes = new Node();
+
+        /**
+         * The root of a trie of reversed suffixes.
+         */
+        private final Node suffixes = new Node();
+
+        /**
+         * The root of an Aho-Corasick automaton of infixes.
+         */
+        private final Node infixes = new Node();
+
+        /**
+         * Matches a string against this dictionary.
+         *
+         * @param target The string to match.
+         * @return {@code true} if any pattern of this dictionary matches the supplied string.
+         */
+        protected boolean matches(String target) {
+            return prefixes.matchesPrefix(target) || suffixes.matchesSuffix(target) || infixes.matchesInfix(target);
+        }
+    }
+
+    /**
+     * A node of a trie or of an Aho-Corasick automaton.
+     */
+    protected static class Node {
+
+        /**
+         * The sorted characters of this node's children.
+         */
+        private char[] keys = new char[0];
+
+        /**
+         * This node's children in the order of their characters.
+         */
+        private Node[] children = new Node[0];
+
+        /**
+         * {@code true} if a pattern ends at this node or at any node reachable by its failure links.
+         */
+        private boolean terminal;
+
+        /**
+         * The failure link of this node or {@code null} if this node is a root or if the failure links are not computed.
+         */
+        @MaybeNull
+        private Node failure;
+
+        /**
+         * Adds a pattern to the trie of which this node is the root.
+         *
+         * @param pattern  The pattern to add.
+         * @param reversed {@code true} if the pattern should be added in reverse order.
+         */
+        protected void add(String pattern, boolean reversed) {
+            Node node = this;
+            for (int index = 0; index < pattern.length(); index++) {
+                node = node.resolve(pattern.charAt(reversed
+                        ? pattern.length() - index - 1
+                        : index));
+            }
+            node.terminal = true;
+        }
+
+        /**
+         * Returns the child for the supplied character or creates it if it does not yet exist.
+         *
+         * @param key The child's character.
+         * @return The child node.
+         */
+        private Node resolve(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -(index + 1);
+            char[] keys = new char[this.keys.length + 1];
+            Node[] children = new Node[this.children.length + 1];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.children, 0, children, 0, index);
+            System.arraycopy(this.keys, index, keys, index + 1, this.keys.length - index);
+            System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+            keys[index] = key;
+            children[index] = new Node();
+            this.keys = keys;
+            this.children = children;
+            return children[index];
+        }
+
+        /**
+         * Returns the child for the supplied character.
+         *
+         * @param key The child's character.
+         * @return The child node or {@code null} if no such child exists.
+         */
+        @MaybeNull
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0
+                    ? null
+                    : children[index];
+        }
+
+        /**
+         * Computes the failure links of the Aho-Corasick automaton of which this node is the root.
+         */
+        protected void link() {
+            Queue<Node> queue = new LinkedList<Node>();
+            for (Node child : children) {
+                child.failure = this;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.remove();
+                for (int index = 0; index < node.keys.length; index++) {
+                    Node child = node.children[index], failure = node.failure;
+                    while (failure != null && failure.child(node.keys[index]) == null) {
+                        failure = failure.failure;
+                    }
+                    child.failure = failure == null
+                            ? this
+                            : failure.child(node.keys[index]);
+                    child.terminal |= child.failure.terminal;
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * Checks if any pattern of the trie of which this node is the root is a prefix of the supplied string.
+         *
+         * @param target The string to match.
+         * @return {@code true} if any pattern is a prefix of the supplied string.
+         */
+        protected boolean matchesPrefix(String target) {
+            Node node = this;
+            for (int index = 0; index < target.length() && !node.terminal; index++) {
+                node = node.child(target.charAt(index));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+
+        /**
+         * Checks if any pattern of the reversed trie of which this node is the root is a suffix of the supplied string.
+         *
+         * @param target The string to match.
+         * @return {@code true} if any pattern is a suffix of the supplied string.
+         */
+        protected boolean matchesSuffix(String target) {
+            Node node = this;
+            for (int index = target.length() - 1; index >= 0 && !node.terminal; index--) {
+                node = node.child(target.charAt(index));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+
+        /**
+         * Checks if any pattern of the Aho-Corasick automaton of which this node is the root is contained in the supplied string.
+         *
+         * @param target The string to match.
+         * @return {@code true} if any pattern is contained in the supplied string.
+         */
+        protected boolean matchesInfix(String target) {
+            Node node = this;
+            for (int index = 0; index < target.length() && !node.terminal; index++) {
+                char key = target.charAt(index);
+                Node child = node.child(key);
+                while (child == null && node.failure != null) {
+                    node = node.failure;
+                    child = node.child(key);
+                }
+                node = child == null
+                        ? this
+                        : child;
+            }
+            return node.terminal;
+        }
+    }
+}
@@ -47,6 +47,19 @@ public class NameMatcher<T extends NamedElement> extends ElementMatcher.Junction
         this.matcher = matcher;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public <U extends T> ElementMatcher.Junction<U> or(ElementMatcher<? super U> other) {
+        if (other instanceof NameMatcher<?>) {
+            MultiStringMatcher matcher = MultiStringMatcher.of(this.matcher, ((NameMatcher<?>) other).matcher);
+            if (matcher != null) {
+                return new NameMatcher<U>(matcher);
+            }
+        }
+        return super.or(other);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -46,6 +46,35 @@ public class StringMatcher extends ElementMatcher.Junction.ForNonNullValues<Stri
         this.mode = mode;
     }
 
+    /**
+     * Returns the text value to match against.
+     *
+     * @return The text value to match against.
+     */
+    protected String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the mode to apply for matching the given value against the matcher's input.
+     *
+     * @return The mode to apply for matching the given value against the matcher's input.
+     */
+    protected Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public <U extends String> ElementMatcher.Junction<U> or(ElementMatcher<? super U> other) {
+        MultiStringMatcher matcher = MultiStringMatcher.of(this, other);
+        return matcher == null
+                ? super.or(other)
+                : (ElementMatcher.Junction<U>) (ElementMatcher.Junction<?>) matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
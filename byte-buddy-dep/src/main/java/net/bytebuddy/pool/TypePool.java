@@ -68,11 +68,17 @@ import java.lang.ref.SoftReference;
 import java.lang.reflect.GenericSignatureFormatError;
 import java.lang.reflect.MalformedParameterizedTypeException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -671,6 +677,15 @@ public interface TypePool {
                 this.parent = parent;
             }
 
+            /**
+             * Returns the parent type pool.
+             *
+             * @return The parent type pool.
+             */
+            protected TypePool getParent() {
+                return parent;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -770,6 +785,11 @@ public interface TypePool {
         @AlwaysNull
         private static final MethodVisitor IGNORE_METHOD = null;
 
+        /**
+         * The amount of slots of a type pool's symbol table which must be a power of two.
+         */
+        protected static final int SYMBOL_TABLE_SIZE = 1 << 10;
+
         /**
          * The locator to query for finding binary data of a type.
          */
@@ -785,6 +805,18 @@ public interface TypePool {
          */
         protected final AsmClassReader.Factory classReaderFactory;
 
+        /**
+         * A table of canonical names, descriptors and signatures that are shared by types that are parsed by this type pool
+         * or {@code null} if this type pool's cache provider does not retain any types such that symbols are not interned.
+         * The table has a fixed amount of slots where each symbol can only be held by the slot of its hash code, replacing
+         * any previous symbol of that slot. This way, the table does not retain more symbols than it has slots, even if
+         * the cache provider discards types, and it does not allocate any memory per interned symbol. As strings are
+         * immutable, concurrent access to a slot can at worst cause a symbol to not be shared.
+         */
+        @MaybeNull
+        @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+        private final String[] symbols;
+
         /**
          * Creates a new default type pool without a parent pool.
          *
@@ -835,6 +867,9 @@ public interface TypePool {
             this.classFileLocator = classFileLocator;
             this.readerMode = readerMode;
             this.classReaderFactory = classReaderFactory;
+            symbols = cacheProvider == CacheProvider.NoOp.INSTANCE
+                    ? null
+                    : new String[SYMBOL_TABLE_SIZE];
         }
 
         /**
@@ -908,10 +943,173 @@ public interface TypePool {
          * @return A type description of the binary data.
          */
         private TypeDescription parse(byte[] binaryRepresentation) {
+            return extract(binaryRepresentation).toTypeDescription();
+        }
+
+        /**
+         * Extracts the information of a binary representation of a class file.
+         *
+         * @param binaryRepresentation The binary data to be parsed.
+         * @return A type extractor that collected the information of the parsed class file.
+         */
+        private TypeExtractor extract(byte[] binaryRepresentation) {
             AsmClassReader classReader = classReaderFactory.make(binaryRepresentation);
             TypeExtractor typeExtractor = new TypeExtractor();
             classReader.accept(typeExtractor, readerMode.getFlags());
-            return typeExtractor.toTypeDescription();
+            return typeExtractor;
+        }
+
+        /**
+         * <p>
+         * Describes several types at once. All types that are not yet cached are located in a single pass over this pool's
+         * class file locator in the order of their names such that types of the same package are read consecutively,
+         * what typically corresponds to their order within an archive. The super classes and interfaces of all located
+         * types are prefetched the same way, one level of the type hierarchy after another, such that a subsequent
+         * navigation of the type hierarchy does not require a lookup per type.
+         * </p>
+         * <p>
+         * Types that are resolved by a parent type pool are not located by this type pool.
+         * </p>
+         *
+         * @param names The binary names of the types to describe.
+         * @return A map of the resolutions of the supplied types in their iteration order.
+         */
+        public Map<String, Resolution> describeAll(Collection<String> names) {
+            Map<String, Resolution> prefetched = new HashMap<String, Resolution>();
+            Set<String> pending = new TreeSet<String>(), processed = new HashSet<String>();
+            for (String name : names) {
+                if (isPrefetchable(name)) {
+                    pending.add(name);
+                }
+            }
+            try {
+                while (!pending.isEmpty()) {
+                    processed.addAll(pending);
+                    Set<String> superTypes = new TreeSet<String>();
+                    for (String name : pending) {
+                        if (getParent().describe(name).isResolved()) {
+                            continue;
+                        }
+                        ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                        if (resolution.isResolved()) {
+                            TypeExtractor typeExtractor = extract(resolution.resolve());
+                            prefetched.put(name, doCache(name, new Resolution.Simple(typeExtractor.toTypeDescription())));
+                            for (String superTypeName : typeExtractor.getSuperTypeNames()) {
+                                if (!processed.contains(superTypeName) && isPrefetchable(superTypeName)) {
+                                    superTypes.add(superTypeName);
+                                }
+                            }
+                        } else {
+                            prefetched.put(name, doCache(name, new Resolution.Illegal(name)));
+                        }
+                    }
+                    pending = superTypes;
+                }
+            } catch (IOException exception) {
+                throw new IllegalStateException("Error while reading class file", exception);
+            }
+            Map<String, Resolution> resolutions = new LinkedHashMap<String, Resolution>();
+            for (String name : names) {
+                Resolution resolution = prefetched.get(name);
+                resolutions.put(name, resolution == null
+                        ? describe(name)
+                        : resolution);
+            }
+            return resolutions;
+        }
+
+        /**
+         * Determines if a type is a candidate for being located by this type pool when prefetching types. The parent type
+         * pool is only queried once a candidate is about to be located such that it is queried at most once per type.
+         *
+         * @param name The binary name of the type.
+         * @return {@code true} if the type is neither a primitive or array type nor cached by this type pool.
+         */
+        private boolean isPrefetchable(String name) {
+            return !name.contains("/")
+                    && !name.startsWith("[")
+                    && !PRIMITIVE_TYPES.containsKey(name)
+                    && cacheProvider.find(name) == null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            super.clear();
+            if (symbols != null) {
+                Arrays.fill(symbols, null);
+            }
+        }
+
+        /**
+         * Returns a canonical instance of a symbol such that names, descriptors and signatures which recur in many
+         * class files are typically only retained once by the descriptions of this type pool. If this type pool does
+         * not cache any types, the symbol is returned as it is.
+         *
+         * @param symbol The symbol to intern or {@code null}.
+         * @return A canonical instance of the symbol or {@code null} if the symbol is {@code null}.
+         */
+        @MaybeNull
+        protected String intern(@MaybeNull String symbol) {
+            if (symbol == null || symbols == null) {
+                return symbol;
+            }
+            int index = symbol.hashCode() & (symbols.length - 1);
+            String interned = symbols[index];
+            if (symbol.equals(interned)) {
+                return interned;
+            }
+            symbols[index] = symbol;
+            return symbol;
+        }
+
+        /**
+         * Interns all symbols of an array in place.
+         *
+         * @param symbol The symbols to intern or {@code null}.
+         * @return The supplied array with all symbols being canonical or {@code null} if the array is {@code null}.
+         */
+        @MaybeNull
+        protected String[] intern(@MaybeNull String[] symbol) {
+            if (symbol != null) {
+                for (int index = 0; index < symbol.length; index++) {
+                    symbol[index] = intern(symbol[index]);
+                }
+            }
+            return symbol;
+        }
+
+        /**
+         * Compacts a list that was collected while parsing a class file. An empty list is replaced by the shared empty
+         * list while an array list is trimmed to its size.
+         *
+         * @param list The list to compact.
+         * @param <T>  The type of the list's elements.
+         * @return A compacted list with the same elements.
+         */
+        protected static <T> List<T> compact(List<T> list) {
+            if (list.isEmpty()) {
+                return Collections.emptyList();
+            } else if (list instanceof ArrayList<?>) {
+                ((ArrayList<?>) list).trimToSize();
+            }
+            return list;
+        }
+
+        /**
+         * Compacts a map that was collected while parsing a class file by replacing an empty map with the shared empty map.
+         *
+         * @param map The map to compact.
+         * @param <S> The type of the map's keys.
+         * @param <T> The type of the map's values.
+         * @return A compacted map with the same entries.
+         */
+        protected static <S, T> Map<S, T> compact(Map<S, T> map) {
+            return map.isEmpty()
+                    ? Collections.<S, T>emptyMap()
+                    : map;
         }
 
         /**
@@ -965,6 +1163,143 @@ public interface TypePool {
             }
         }
 
+        /**
+         * <p>
+         * A variant of {@link TypePool.Default} that is meant to be shared as a common parent of many type pools, for example of the
+         * type pools that an {@link net.bytebuddy.agent.builder.AgentBuilder} creates per class loader. If such a pool describes the
+         * types of the boot and the platform loader, each of these types is parsed and cached only once, independently of the number
+         * of class loaders that reference them.
+         * </p>
+         * <p>
+         * Resolved types are cached without a bound. Since a child pool queries this pool for every type it describes, the names of
+         * types that are not visible to this pool are remembered as well, but only up to a maximum number of names after which these
+         * names are discarded. This way, lookups of types of the child pool's class loader do not repeatedly query this pool's
+         * class file locator while they do not increase this pool's size without a bound. Clearing a child pool does not clear this pool, its cache must rather be {@link Shared#reset() reset} explicitly.
+         * </p>
+         * <p>
+         * <b>Important</b>: A shared type pool describes class files as they are located by its class file locator. Retransformations
+         * cannot change the shape of a type such that descriptions of boot and platform types remain valid if those types are
+         * retransformed. If the class files of these loaders are however replaced, for example by redefining a type with
+         * an enhanced VM or by appending to the boot search path, this pool must be reset. Also, a shared pool must only
+         * be used as the parent of pools which represent class loaders that delegate to the boot and the platform loader before
+         * defining a type themselves.
+         * </p>
+         */
+        public static class Shared extends Default {
+
+            /**
+             * The default maximum number of names of unresolved types that are remembered.
+             */
+            public static final int DEFAULT_MAXIMUM_UNRESOLVED = 4096;
+
+            /**
+             * The maximum number of names of unresolved types that are remembered.
+             */
+            private final int maximumUnresolved;
+
+            /**
+             * The names of types that could not be resolved by this pool.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final ConcurrentMap<String, Boolean> unresolved;
+
+            /**
+             * Creates a new shared type pool that uses a fast reader mode.
+             *
+             * @param classFileLocator The class file locator to be used.
+             */
+            public Shared(ClassFileLocator classFileLocator) {
+                this(classFileLocator, ReaderMode.FAST);
+            }
+
+            /**
+             * Creates a new shared type pool.
+             *
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this type pool.
+             */
+            public Shared(ClassFileLocator classFileLocator, ReaderMode readerMode) {
+                this(classFileLocator, readerMode, DEFAULT_MAXIMUM_UNRESOLVED);
+            }
+
+            /**
+             * Creates a new shared type pool.
+             *
+             * @param classFileLocator  The class file locator to be used.
+             * @param readerMode        The reader mode to apply by this type pool.
+             * @param maximumUnresolved The maximum number of names of unresolved types that are remembered where {@code 0} disables
+             *                          remembering unresolved types.
+             */
+            public Shared(ClassFileLocator classFileLocator, ReaderMode readerMode, int maximumUnresolved) {
+                super(CacheProvider.Simple.withObjectType(), classFileLocator, readerMode);
+                if (maximumUnresolved < 0) {
+                    throw new IllegalArgumentException("Maximum number of unresolved types cannot be negative: " + maximumUnresolved);
+                }
+                this.maximumUnresolved = maximumUnresolved;
+                unresolved = new ConcurrentHashMap<String, Boolean>();
+            }
+
+            /**
+             * Creates a shared type pool that describes the types of the platform loader and of the boot loader. On VMs prior
+             * to Java 9, the extension loader is used instead of the platform loader.
+             *
+             * @return A shared type pool that describes the types of the platform loader and of the boot loader.
+             */
+            public static Shared ofPlatformLoader() {
+                return new Shared(ClassFileLocator.ForClassLoader.ofPlatformLoader());
+            }
+
+            /**
+             * Creates a shared type pool that describes the types of the boot loader.
+             *
+             * @return A shared type pool that describes the types of the boot loader.
+             */
+            public static Shared ofBootLoader() {
+                return new Shared(ClassFileLocator.ForClassLoader.ofBootLoader());
+            }
+
+            @Override
+            protected Resolution doDescribe(String name) {
+                if (unresolved.containsKey(name)) {
+                    return new Resolution.Illegal(name);
+                }
+                Resolution resolution = super.doDescribe(name);
+                if (!resolution.isResolved() && maximumUnresolved > 0) {
+                    if (unresolved.size() >= maximumUnresolved) {
+                        unresolved.clear();
+                    }
+                    unresolved.put(name, Boolean.TRUE);
+                }
+                return resolution;
+            }
+
+            @Override
+            protected Resolution doCache(String name, Resolution resolution) {
+                return resolution.isResolved()
+                        ? super.doCache(name, resolution)
+                        : resolution;
+            }
+
+            /**
+             * Does not clear this type pool as it is shared by other type pools. Use {@link Shared#reset()} to discard the cached types.
+             */
+            @Override
+            public void clear() {
+                /* do nothing */
+            }
+
+            /**
+             * Discards all types that are cached by this type pool, including the names of types that could not be resolved.
+             */
+            public void reset() {
+                try {
+                    super.clear();
+                } finally {
+                    unresolved.clear();
+                }
+            }
+        }
+
         /**
          * <p>
          * A variant of {@link TypePool.Default} that resolves type descriptions lazily. A lazy resolution respects this type
@@ -2654,11 +2989,6 @@ public interface TypePool {
             @MaybeNull
             private final String genericSignature;
 
-            /**
-             * The resolution of this type's generic type.
-             */
-            private final GenericTypeToken.Resolution.ForType signatureResolution;
-
             /**
              * The descriptor of this type's interfaces.
              */
@@ -2805,9 +3135,6 @@ public interface TypePool {
                         ? NO_TYPE
                         : Type.getObjectType(superClassInternalName).getDescriptor();
                 this.genericSignature = genericSignature;
-                signatureResolution = RAW_TYPES
-                        ? GenericTypeToken.Resolution.Raw.INSTANCE
-                        : GenericTypeExtractor.ForSignature.OfType.extract(genericSignature);
                 if (interfaceInternalName == null) {
                     interfaceTypeDescriptors = Collections.emptyList();
                 } else {
@@ -2849,16 +3176,36 @@ public interface TypePool {
              */
             @MaybeNull
             public Generic getSuperClass() {
-                return superClassDescriptor == null || isInterface()
-                        ? Generic.UNDEFINED
-                        : signatureResolution.resolveSuperClass(superClassDescriptor, typePool, superClassAnnotationTokens, this);
+                if (superClassDescriptor == null || isInterface()) {
+                    return Generic.UNDEFINED;
+                } else if (genericSignature == null || RAW_TYPES) {
+                    return GenericTypeToken.Resolution.Raw.INSTANCE.resolveSuperClass(superClassDescriptor, typePool, superClassAnnotationTokens, this);
+                } else {
+                    return new LazySuperClass();
+                }
             }
 
             /**
              * {@inheritDoc}
              */
             public TypeList.Generic getInterfaces() {
-                return signatureResolution.resolveInterfaceTypes(interfaceTypeDescriptors, typePool, interfaceAnnotationTokens, this);
+                return genericSignature == null || RAW_TYPES
+                        ? GenericTypeToken.Resolution.Raw.INSTANCE.resolveInterfaceTypes(interfaceTypeDescriptors, typePool, interfaceAnnotationTokens, this)
+                        : new LazyInterfaceList();
+            }
+
+            /**
+             * Resolves this type's generic signature. The signature is only parsed when a generic property of this type,
+             * its super class or its interfaces is queried such that erasure-only navigation of the type hierarchy does
+             * not require the tokenization of generic signatures.
+             *
+             * @return The resolution of this type's generic signature.
+             */
+            @CachedReturnPlugin.Enhance("signatureResolution")
+            protected GenericTypeToken.Resolution.ForType getSignatureResolution() {
+                return RAW_TYPES
+                        ? GenericTypeToken.Resolution.Raw.INSTANCE
+                        : GenericTypeExtractor.ForSignature.OfType.extract(genericSignature);
             }
 
             /**
@@ -2984,7 +3331,7 @@ public interface TypePool {
              * {@inheritDoc}
              */
             public TypeList.Generic getTypeVariables() {
-                return signatureResolution.resolveTypeVariables(typePool, this, typeVariableAnnotationTokens, typeVariableBoundsAnnotationTokens);
+                return getSignatureResolution().resolveTypeVariables(typePool, this, typeVariableAnnotationTokens, typeVariableBoundsAnnotationTokens);
             }
 
             @Override
@@ -6771,6 +7118,104 @@ public interface TypePool {
                 }
             }
 
+            /**
+             * A generic super class of a lazy type description that resolves its erasure from the class file's descriptor and
+             * that only parses the type's generic signature when a generic property of the super class is queried.
+             */
+            protected class LazySuperClass extends Generic.LazyProjection.WithLazyNavigation {
+
+                @Override
+                @CachedReturnPlugin.Enhance("resolved")
+                protected Generic resolve() {
+                    return getSignatureResolution().resolveSuperClass(superClassDescriptor, typePool, superClassAnnotationTokens, LazyTypeDescription.this);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @CachedReturnPlugin.Enhance("erasure")
+                public TypeDescription asErasure() {
+                    return TokenizedGenericType.toErasure(typePool, superClassDescriptor);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public AnnotationList getDeclaredAnnotations() {
+                    return resolve().getDeclaredAnnotations();
+                }
+            }
+
+            /**
+             * A list of generic interfaces of a lazy type description that resolves the interfaces' erasures from the class file's
+             * descriptors and that only parses the type's generic signature when a generic property of an interface is queried.
+             */
+            protected class LazyInterfaceList extends TypeList.Generic.AbstractBase {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Generic get(int index) {
+                    return new LazyInterfaceType(index);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public int size() {
+                    return interfaceTypeDescriptors.size();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypeList asErasures() {
+                    return new LazyTypeList(typePool, interfaceTypeDescriptors);
+                }
+            }
+
+            /**
+             * A generic interface of a lazy type description that resolves its erasure from the class file's descriptor and
+             * that only parses the type's generic signature when a generic property of the interface is queried.
+             */
+            protected class LazyInterfaceType extends Generic.LazyProjection.WithLazyNavigation {
+
+                /**
+                 * The index of the represented interface.
+                 */
+                private final int index;
+
+                /**
+                 * Creates a new lazy interface type.
+                 *
+                 * @param index The index of the represented interface.
+                 */
+                protected LazyInterfaceType(int index) {
+                    this.index = index;
+                }
+
+                @Override
+                @CachedReturnPlugin.Enhance("resolved")
+                protected Generic resolve() {
+                    return getSignatureResolution().resolveInterfaceTypes(interfaceTypeDescriptors, typePool, interfaceAnnotationTokens, LazyTypeDescription.this).get(index);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @CachedReturnPlugin.Enhance("erasure")
+                public TypeDescription asErasure() {
+                    return TokenizedGenericType.toErasure(typePool, interfaceTypeDescriptors.get(index));
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public AnnotationList getDeclaredAnnotations() {
+                    return resolve().getDeclaredAnnotations();
+                }
+            }
+
             /**
              * A list that is constructing {@link LazyTypeDescription}s.
              */
@@ -8255,8 +8700,8 @@ public interface TypePool {
                 actualModifiers = modifiers;
                 this.internalName = internalName;
                 this.genericSignature = genericSignature;
-                this.superClassName = superClassName;
-                this.interfaceName = interfaceName;
+                this.superClassName = intern(superClassName);
+                this.interfaceName = intern(interfaceName);
                 this.classFileVersion = ClassFileVersion.ofMinorMajor(classFileVersion);
             }
 
@@ -8324,7 +8769,7 @@ public interface TypePool {
 
             @Override
             public FieldVisitor visitField(int modifiers, String internalName, String descriptor, @MaybeNull String genericSignature, @MaybeNull Object value) {
-                return new FieldExtractor(modifiers & REAL_MODIFIER_MASK, internalName, descriptor, genericSignature);
+                return new FieldExtractor(modifiers & REAL_MODIFIER_MASK, intern(internalName), intern(descriptor), intern(genericSignature));
             }
 
             @Override
@@ -8332,7 +8777,7 @@ public interface TypePool {
             public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, @MaybeNull String genericSignature, @MaybeNull String[] exceptionName) {
                 return internalName.equals(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME)
                         ? IGNORE_METHOD
-                        : new MethodExtractor(modifiers & REAL_MODIFIER_MASK, internalName, descriptor, genericSignature, exceptionName);
+                        : new MethodExtractor(modifiers & REAL_MODIFIER_MASK, intern(internalName), intern(descriptor), intern(genericSignature), intern(exceptionName));
             }
 
             @Override
@@ -8347,7 +8792,7 @@ public interface TypePool {
 
             @Override
             public RecordComponentVisitor visitRecordComponent(String name, String descriptor, @MaybeNull String signature) {
-                return new RecordComponentExtractor(name, descriptor, signature);
+                return new RecordComponentExtractor(intern(name), intern(descriptor), intern(signature));
             }
 
             @Override
@@ -8355,6 +8800,24 @@ public interface TypePool {
                 permittedSubclasses.add(permittedSubclass);
             }
 
+            /**
+             * Returns the binary names of the super class and the interfaces of the parsed type.
+             *
+             * @return The binary names of the super class and the interfaces of the parsed type.
+             */
+            protected List<String> getSuperTypeNames() {
+                List<String> superTypeNames = new ArrayList<String>(1 + (interfaceName == null ? 0 : interfaceName.length));
+                if (superClassName != null) {
+                    superTypeNames.add(superClassName.replace('/', '.'));
+                }
+                if (interfaceName != null) {
+                    for (String name : interfaceName) {
+                        superTypeNames.add(name.replace('/', '.'));
+                    }
+                }
+                return superTypeNames;
+            }
+
             /**
              * Creates a type description from all data that is currently collected. This method should only be invoked
              * after a class file was parsed fully.
@@ -8375,20 +8838,20 @@ public interface TypePool {
                         genericSignature,
                         typeContainment,
                         declaringTypeName,
-                        declaredTypes,
+                        compact(declaredTypes),
                         anonymousType,
                         nestHost,
                         nestMembers,
                         superClassAnnotationTokens == null
                                 ? Collections.<String, List<LazyTypeDescription.AnnotationToken>>emptyMap()
                                 : superClassAnnotationTokens,
-                        superTypeAnnotationTokens,
-                        typeVariableAnnotationTokens,
-                        typeVariableBoundsAnnotationTokens,
-                        annotationTokens,
-                        fieldTokens,
-                        methodTokens,
-                        recordComponentTokens,
+                        compact(superTypeAnnotationTokens),
+                        compact(typeVariableAnnotationTokens),
+                        compact(typeVariableBoundsAnnotationTokens),
+                        compact(annotationTokens),
+                        compact(fieldTokens),
+                        compact(methodTokens),
+                        compact(recordComponentTokens),
                         permittedSubclasses,
                         classFileVersion);
             }
@@ -8663,8 +9126,8 @@ public interface TypePool {
                             modifiers,
                             descriptor,
                             genericSignature,
-                            typeAnnotationTokens,
-                            annotationTokens));
+                            compact(typeAnnotationTokens),
+                            compact(annotationTokens)));
                 }
             }
 
@@ -8892,13 +9355,13 @@ public interface TypePool {
                 @Override
                 public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int offset) {
                     if (readerMode.isExtended() && start == firstLabel) {
-                        legacyParameterBag.register(offset, name);
+                        legacyParameterBag.register(offset, intern(name));
                     }
                 }
 
                 @Override
                 public void visitParameter(String name, int modifiers) {
-                    parameterTokens.add(new LazyTypeDescription.MethodToken.ParameterToken(name, modifiers));
+                    parameterTokens.add(new LazyTypeDescription.MethodToken.ParameterToken(intern(name), modifiers));
                 }
 
                 @Override
@@ -8927,17 +9390,17 @@ public interface TypePool {
                             descriptor,
                             genericSignature,
                             exceptionName,
-                            typeVariableAnnotationTokens,
-                            typeVariableBoundAnnotationTokens,
-                            returnTypeAnnotationTokens,
-                            parameterTypeAnnotationTokens,
-                            exceptionTypeAnnotationTokens,
-                            receiverTypeAnnotationTokens,
-                            annotationTokens,
-                            parameterAnnotationTokens,
-                            parameterTokens.isEmpty()
+                            compact(typeVariableAnnotationTokens),
+                            compact(typeVariableBoundAnnotationTokens),
+                            compact(returnTypeAnnotationTokens),
+                            compact(parameterTypeAnnotationTokens),
+                            compact(exceptionTypeAnnotationTokens),
+                            compact(receiverTypeAnnotationTokens),
+                            compact(annotationTokens),
+                            compact(parameterAnnotationTokens),
+                            compact(parameterTokens.isEmpty()
                                     ? legacyParameterBag.resolve((modifiers & Opcodes.ACC_STATIC) != 0)
-                                    : parameterTokens,
+                                    : parameterTokens),
                             defaultValue));
                 }
             }
@@ -9013,8 +9476,8 @@ public interface TypePool {
                     recordComponentTokens.add(new LazyTypeDescription.RecordComponentToken(name,
                             descriptor,
                             genericSignature,
-                            typeAnnotationTokens,
-                            annotationTokens));
+                            compact(typeAnnotationTokens),
+                            compact(annotationTokens)));
                 }
             }
         }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 - Present Rafael Winterhalter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.bytebuddy.test.precompiled.v7;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+public class MemberSubstitutionInlineCache extends MutableCallSite {
+
+    private static final MethodHandle RELINK, CHECK;
+
+    static {
+        try {
+            RELINK = MethodHandles.lookup().findVirtual(MemberSubstitutionInlineCache.class,
+                    "relink",
+                    MethodType.methodType(Object.class, Object[].class));
+            CHECK = MethodHandles.lookup().findStatic(MemberSubstitutionInlineCache.class,
+                    "check",
+                    MethodType.methodType(boolean.class, Class.class, Object.class));
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    public static int relinks;
+
+    private final MethodHandle original, fallback;
+
+    private MemberSubstitutionInlineCache(MethodType type, MethodHandle original) {
+        super(type);
+        this.original = original.asType(type);
+        fallback = RELINK.bindTo(this).asCollector(Object[].class, type.parameterCount()).asType(type);
+        setTarget(fallback);
+    }
+
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type, MethodHandle original) {
+        return new MemberSubstitutionInlineCache(type, original);
+    }
+
+    private static boolean check(Class<?> type, Object receiver) {
+        return receiver.getClass() == type;
+    }
+
+    private Object relink(Object[] arguments) throws Throwable {
+        relinks++;
+        setTarget(MethodHandles.guardWithTest(CHECK.bindTo(arguments[0].getClass()).asType(MethodType.methodType(boolean.class, type().parameterType(0))),
+                original,
+                fallback));
+        return original.invokeWithArguments(arguments);
+    }
+}
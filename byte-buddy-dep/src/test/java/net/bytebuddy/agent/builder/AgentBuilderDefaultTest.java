@@ -2557,6 +2557,13 @@ public class AgentBuilderDefaultTest {
                 .withResubmission(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testResubmissionIllegalMaximumSize() throws Exception {
+        new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .withResubmission(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class), 0);
+    }
+
     public static class Foo {
         /* empty */
     }
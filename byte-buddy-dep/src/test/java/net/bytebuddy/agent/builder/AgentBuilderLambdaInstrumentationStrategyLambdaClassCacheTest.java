@@ -0,0 +1,188 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AgentBuilderLambdaInstrumentationStrategyLambdaClassCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar", CALL = "call";
+
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testClassFileIsReused() throws Exception {
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache lambdaClassCache = new AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache(16);
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory = new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy(),
+                lambdaClassCache);
+        byte[] classFile = make(lambdaInstanceFactory, FOO);
+        assertThat(lambdaClassCache.getHitCount(), is(0L));
+        assertThat(lambdaClassCache.getMissCount(), is(1L));
+        assertThat(lambdaClassCache.size(), is(1));
+        assertThat(Arrays.equals(make(lambdaInstanceFactory, FOO), classFile), is(true));
+        assertThat(lambdaClassCache.getHitCount(), is(1L));
+        assertThat(lambdaClassCache.getMissCount(), is(1L));
+        assertThat(lambdaClassCache.size(), is(1));
+        assertThat(Arrays.equals(make(lambdaInstanceFactory, BAR), classFile), is(false));
+        assertThat(lambdaClassCache.getHitCount(), is(1L));
+        assertThat(lambdaClassCache.getMissCount(), is(2L));
+        assertThat(lambdaClassCache.size(), is(2));
+        lambdaClassCache.clear();
+        assertThat(lambdaClassCache.size(), is(0));
+        assertThat(Arrays.equals(make(lambdaInstanceFactory, FOO), classFile), is(false));
+        assertThat(lambdaClassCache.getMissCount(), is(3L));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testClassFileIsNotCachedBeyondMaximumSize() throws Exception {
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache lambdaClassCache = new AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache(1);
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory = new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy(),
+                lambdaClassCache);
+        make(lambdaInstanceFactory, FOO);
+        byte[] classFile = make(lambdaInstanceFactory, BAR);
+        assertThat(lambdaClassCache.size(), is(1));
+        assertThat(Arrays.equals(make(lambdaInstanceFactory, BAR), classFile), is(false));
+        assertThat(lambdaClassCache.getHitCount(), is(0L));
+        assertThat(lambdaClassCache.getMissCount(), is(3L));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testClassFileIsNotSharedByDifferentByteBuddy() throws Exception {
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache lambdaClassCache = new AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache(16);
+        make(new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy(), lambdaClassCache), FOO);
+        make(new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy().with(new NamingStrategy.SuffixingRandom(BAR)),
+                lambdaClassCache), FOO);
+        assertThat(lambdaClassCache.getHitCount(), is(0L));
+        assertThat(lambdaClassCache.getMissCount(), is(2L));
+        assertThat(lambdaClassCache.size(), is(2));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testClassFileIsCopied() throws Exception {
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory = new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy(),
+                new AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache(16));
+        byte[] classFile = make(lambdaInstanceFactory, FOO), copy = classFile.clone();
+        Arrays.fill(classFile, (byte) 0);
+        byte[] cached = make(lambdaInstanceFactory, FOO);
+        assertThat(cached, not(sameInstance(classFile)));
+        assertThat(Arrays.equals(cached, copy), is(true));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(8)
+    public void testClassFileIsNotSharedByDifferentFunctionalInterface() throws Exception {
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache lambdaClassCache = new AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache(16);
+        AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory = new AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory(new ByteBuddy(),
+                lambdaClassCache);
+        make(lambdaInstanceFactory, FOO, functionalInterface());
+        make(lambdaInstanceFactory, FOO, functionalInterface());
+        assertThat(lambdaClassCache.getHitCount(), is(0L));
+        assertThat(lambdaClassCache.getMissCount(), is(2L));
+        assertThat(lambdaClassCache.size(), is(2));
+    }
+
+    @Test
+    public void testCacheIsExposedPerClassFileTransformer() throws Exception {
+        ClassFileTransformer initialClassFileTransformer = mock(ClassFileTransformer.class);
+        assertThat(LambdaFactory.register(initialClassFileTransformer,
+                mock(AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory.class)), is(true));
+        try {
+            Instrumentation instrumentation = mock(Instrumentation.class);
+            ClassFileTransformer first = mock(ClassFileTransformer.class), second = mock(ClassFileTransformer.class);
+            assertThat(AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(first), nullValue(AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache.class));
+            AgentBuilder.LambdaInstrumentationStrategy.ENABLED.apply(new ByteBuddy(), instrumentation, first);
+            AgentBuilder.LambdaInstrumentationStrategy.ENABLED.apply(new ByteBuddy(), instrumentation, second);
+            AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache lambdaClassCache = AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(first);
+            assertThat(lambdaClassCache, notNullValue(AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache.class));
+            assertThat(lambdaClassCache.size(), is(0));
+            assertThat(lambdaClassCache.getHitCount(), is(0L));
+            assertThat(lambdaClassCache.getMissCount(), is(0L));
+            assertThat(AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(second), not(sameInstance(lambdaClassCache)));
+            AgentBuilder.LambdaInstrumentationStrategy.release(first, instrumentation);
+            AgentBuilder.LambdaInstrumentationStrategy.release(second, instrumentation);
+            assertThat(AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(first), nullValue(AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache.class));
+            assertThat(AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(second), nullValue(AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache.class));
+        } finally {
+            assertThat(LambdaFactory.release(initialClassFileTransformer), is(true));
+        }
+    }
+
+    @Test
+    public void testDisabledStrategyExposesNoCache() throws Exception {
+        ClassFileTransformer classFileTransformer = mock(ClassFileTransformer.class);
+        AgentBuilder.LambdaInstrumentationStrategy.DISABLED.apply(new ByteBuddy(), mock(Instrumentation.class), classFileTransformer);
+        assertThat(AgentBuilder.LambdaInstrumentationStrategy.getLambdaClassCache(classFileTransformer), nullValue(AgentBuilder.LambdaInstrumentationStrategy.LambdaClassCache.class));
+    }
+
+    private static Class<?> functionalInterface() {
+        return new ByteBuddy()
+                .makeInterface()
+                .name(Sample.class.getName() + "$" + CALL)
+                .defineMethod(CALL, Object.class, Visibility.PUBLIC)
+                .withoutCode()
+                .make()
+                .load(null, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    private static byte[] make(AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory, String name) throws Exception {
+        return make(lambdaInstanceFactory, name, Callable.class);
+    }
+
+    private static byte[] make(AgentBuilder.LambdaInstrumentationStrategy.LambdaInstanceFactory lambdaInstanceFactory, String name, Class<?> functionalInterface) throws Exception {
+        Class<?> methodHandles = Class.forName("java.lang.invoke.MethodHandles");
+        Class<?> methodType = Class.forName("java.lang.invoke.MethodType");
+        Object lookup = methodHandles.getMethod("publicLookup").invoke(null);
+        lookup = lookup.getClass().getMethod("in", Class.class).invoke(lookup, Sample.class);
+        Method factory = methodType.getMethod("methodType", Class.class);
+        Object targetMethodHandle = lookup.getClass()
+                .getMethod("findStatic", Class.class, String.class, methodType)
+                .invoke(lookup, Sample.class, name, factory.invoke(null, Object.class));
+        return lambdaInstanceFactory.make(lookup,
+                CALL,
+                factory.invoke(null, functionalInterface),
+                factory.invoke(null, Object.class),
+                targetMethodHandle,
+                factory.invoke(null, Object.class),
+                false,
+                Collections.<Class<?>>emptyList(),
+                Collections.emptyList(),
+                Collections.<ClassFileTransformer>emptyList());
+    }
+
+    public static class Sample {
+
+        public static Object foo() {
+            return FOO;
+        }
+
+        public static Object bar() {
+            return BAR;
+        }
+    }
+}
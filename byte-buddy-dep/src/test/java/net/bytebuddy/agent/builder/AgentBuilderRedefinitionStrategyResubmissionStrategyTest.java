@@ -23,8 +23,14 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -33,6 +39,8 @@ import static org.mockito.Mockito.*;
 
 public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
 
+    private static final String QUX = "qux";
+
     @Rule
     public MethodRule mockitoRule = MockitoJUnit.rule().silent();
 
@@ -869,7 +877,184 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         verify(scheduledExecutorService).isShutdown();
     }
 
+    @Test
+    public void testSchedulerWithDebounce() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        Runnable runnable = mock(Runnable.class);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable cancelable = new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithDebounce(scheduledExecutorService,
+                42L,
+                TimeUnit.MILLISECONDS).schedule(runnable);
+        assertThat(cancelable, instanceOf(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable.class));
+        verifyNoMoreInteractions(scheduledExecutorService);
+        ((AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable) cancelable).trigger();
+        ((AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable) cancelable).trigger();
+        verify(scheduledExecutorService).schedule((Runnable) cancelable, 42L, TimeUnit.MILLISECONDS);
+        verifyNoMoreInteractions(scheduledExecutorService);
+        ((Runnable) cancelable).run();
+        verify(runnable).run();
+        ((AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable) cancelable).trigger();
+        verify(scheduledExecutorService, times(2)).schedule((Runnable) cancelable, 42L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testSchedulerWithDebounceRetriggeredDuringExecution() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        final AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable[] triggerable = new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable[1];
+        triggerable[0] = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable) new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithDebounce(scheduledExecutorService,
+                42L,
+                TimeUnit.MILLISECONDS).schedule(new Runnable() {
+            public void run() {
+                triggerable[0].trigger();
+            }
+        });
+        triggerable[0].trigger();
+        verify(scheduledExecutorService).schedule((Runnable) triggerable[0], 42L, TimeUnit.MILLISECONDS);
+        ((Runnable) triggerable[0]).run();
+        verify(scheduledExecutorService, times(2)).schedule((Runnable) triggerable[0], 42L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSchedulerWithDebounceCancel() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        ScheduledFuture<Object> future = mock(ScheduledFuture.class);
+        when(scheduledExecutorService.schedule(any(Runnable.class), eq(42L), eq(TimeUnit.MILLISECONDS))).thenReturn((ScheduledFuture) future);
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable triggerable = (AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable) new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithDebounce(scheduledExecutorService,
+                42L,
+                TimeUnit.MILLISECONDS).schedule(mock(Runnable.class));
+        triggerable.trigger();
+        triggerable.cancel();
+        verify(future).cancel(true);
+        ((Runnable) triggerable).run();
+        triggerable.trigger();
+        verify(scheduledExecutorService).schedule((Runnable) triggerable, 42L, TimeUnit.MILLISECONDS);
+        verifyNoMoreInteractions(scheduledExecutorService);
+    }
+
+    @Test
+    public void testSchedulerWithDebounceIsAlive() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = mock(ScheduledExecutorService.class);
+        assertThat(new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithDebounce(scheduledExecutorService, 42L, TimeUnit.SECONDS).isAlive(), is(true));
+        verify(scheduledExecutorService).isShutdown();
+    }
+
+    @Test
+    public void testTriggeredOnError() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable triggerable = mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.Triggerable.class);
+        when(resubmissionOnErrorMatcher.matches(error, Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class))).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        when(resubmissionScheduler.schedule(any(Runnable.class))).thenReturn(triggerable);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(
+                resubmissionScheduler,
+                resubmissionOnErrorMatcher,
+                resubmissionImmediateMatcher).apply(instrumentation,
+                poolStrategy,
+                locationStrategy,
+                descriptionStrategy,
+                fallbackStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        installation.getInstallationListener().onInstall(instrumentation, classFileTransformer);
+        verifyNoMoreInteractions(triggerable);
+        installation.getListener().onError(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), false, error);
+        verify(triggerable).trigger();
+        installation.getInstallationListener().onReset(instrumentation, classFileTransformer);
+        verify(triggerable).cancel();
+        verifyNoMoreInteractions(triggerable);
+    }
+
+    @Test
+    public void testImmediateResubmissionIsBounded() throws Exception {
+        when(resubmissionImmediateMatcher.matches(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class))).thenReturn(true);
+        when(resubmissionImmediateMatcher.matches(Bar.class.getName(), Bar.class.getClassLoader(), JavaModule.ofType(Bar.class))).thenReturn(true);
+        when(resubmissionScheduler.isAlive()).thenReturn(true);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Installation installation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled(
+                resubmissionScheduler,
+                resubmissionOnErrorMatcher,
+                resubmissionImmediateMatcher,
+                1).apply(instrumentation,
+                poolStrategy,
+                locationStrategy,
+                descriptionStrategy,
+                fallbackStrategy,
+                listener,
+                installationListener,
+                circularityLock,
+                rawMatcher,
+                AgentBuilder.RedefinitionStrategy.RETRANSFORMATION,
+                redefinitionBatchAllocator,
+                redefinitionListener);
+        assertThat(installation.getResubmissionEnforcer().isEnforced(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), null), is(true));
+        assertThat(installation.getResubmissionEnforcer().isEnforced(Foo.class.getName(), Foo.class.getClassLoader(), JavaModule.ofType(Foo.class), null), is(true));
+        assertThat(installation.getResubmissionEnforcer().isEnforced(Bar.class.getName(), Bar.class.getClassLoader(), JavaModule.ofType(Bar.class), null), is(false));
+    }
+
+    @Test
+    public void testQueue() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue queue = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue(3);
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.size(), is(2));
+        Iterator<Map.Entry<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, Boolean>>> iterator = queue.iterator();
+        Map.Entry<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, Boolean>> entry = iterator.next();
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(entry.getValue().keySet(), is((Set<String>) new HashSet<String>(Arrays.asList(Foo.class.getName(), Bar.class.getName()))));
+        queue.remove(entry.getValue(), Bar.class.getName());
+        assertThat(queue.size(), is(1));
+        iterator = queue.iterator();
+        queue.remove(iterator, iterator.next());
+        assertThat(queue.size(), is(0));
+        assertThat(queue.iterator().hasNext(), is(false));
+    }
+
+    @Test
+    public void testQueueOrdersByFrequencyAcrossResubmissions() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue queue = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue(3);
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        Map.Entry<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, Boolean>> entry = queue.iterator().next();
+        assertThat(queue.byFrequency(entry.getKey(), entry.getValue()), is(Arrays.asList(Bar.class.getName(), Foo.class.getName())));
+        queue.remove(entry.getValue(), Foo.class.getName());
+        queue.remove(entry.getValue(), Bar.class.getName());
+        assertThat(queue.size(), is(0));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.byFrequency(entry.getKey(), entry.getValue()), is(Arrays.asList(Bar.class.getName(), Foo.class.getName())));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.byFrequency(entry.getKey(), entry.getValue()), is(Arrays.asList(Foo.class.getName(), Bar.class.getName())));
+    }
+
+    @Test
+    public void testQueueFrequenciesAreBounded() throws Exception {
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue queue = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.ResubmissionQueue(2);
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        Map.Entry<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, Boolean>> entry = queue.iterator().next();
+        queue.remove(entry.getValue(), Foo.class.getName());
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        queue.remove(entry.getValue(), Bar.class.getName());
+        assertThat(queue.offer(QUX, Foo.class.getClassLoader()), is(true));
+        queue.remove(entry.getValue(), QUX);
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Bar.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.offer(Foo.class.getName(), Foo.class.getClassLoader()), is(true));
+        assertThat(queue.byFrequency(entry.getKey(), entry.getValue()), is(Arrays.asList(Bar.class.getName(), Foo.class.getName())));
+    }
+
     private static class Foo {
         /* empty */
     }
+
+    private static class Bar {
+        /* empty */
+    }
 }
@@ -11,7 +11,9 @@ import org.mockito.junit.MockitoJUnit;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -49,4 +51,18 @@ public class AgentBuilderTypeLocatorWithTypePoolCacheSimpleTest {
         assertThat(poolStrategy.typePool(classFileLocator, null), hasPrototype(poolStrategy.typePool(classFileLocator, null)));
         assertThat(poolStrategy.typePool(classFileLocator, null), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
     }
+
+    @Test
+    public void testSharedParentPool() throws Exception {
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Simple(TypePool.Default.ReaderMode.FAST,
+                new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>(),
+                TypePool.Default.Shared.ofBootLoader());
+        ClassFileLocator classFileLocator = ClassFileLocator.Simple.of(String.class.getName(), ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(poolStrategy.typePool(classFileLocator, first).describe(String.class.getName()).resolve().getDeclaredMethods().filter(named("length")).size(), is(1));
+        assertThat(poolStrategy.typePool(classFileLocator, first, String.class.getName()).describe(String.class.getName()).resolve().getDeclaredMethods().filter(named("length")).size(), is(0));
+    }
+
+    private static class Sample {
+        /* empty */
+    }
 }
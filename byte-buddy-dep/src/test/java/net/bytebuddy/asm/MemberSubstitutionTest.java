@@ -15,6 +15,7 @@ import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.test.packaging.MemberSubstitutionTestHelper;
 import net.bytebuddy.test.utility.JavaVersionRule;
 import net.bytebuddy.utility.JavaConstant;
+import net.bytebuddy.utility.JavaType;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
@@ -52,6 +53,54 @@ public class MemberSubstitutionTest {
         assertThat(type.getDeclaredField(BAR).get(instance), nullValue(Object.class));
     }
 
+    @Test
+    public void testMergedSubstitutions() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(FieldAccessSample.class)
+                .visit(MemberSubstitution.strict().field(named(FOO)).replaceWith(FieldAccessSample.class.getDeclaredField(QUX))
+                        .and(MemberSubstitution.strict().field(named(BAR)).replaceWith(FieldAccessSample.class.getDeclaredField(BAZ)))
+                        .on(named(RUN)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(RUN).invoke(instance), nullValue(Object.class));
+        assertThat(type.getDeclaredField(FOO).get(instance), is((Object) FOO));
+        assertThat(type.getDeclaredField(BAR).get(instance), is((Object) BAR));
+        assertThat(type.getDeclaredField(QUX).get(instance), is((Object) QUX));
+        assertThat(type.getDeclaredField(BAZ).get(instance), is((Object) QUX));
+    }
+
+    @Test
+    public void testMergedSubstitutionsFirstMatchApplies() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(FieldAccessSample.class)
+                .visit(MemberSubstitution.strict().field(named(FOO)).replaceWith(FieldAccessSample.class.getDeclaredField(QUX))
+                        .and(MemberSubstitution.strict().field(named(FOO)).stub())
+                        .on(named(RUN)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(RUN).invoke(instance), nullValue(Object.class));
+        assertThat(type.getDeclaredField(BAR).get(instance), is((Object) QUX));
+    }
+
+    @Test
+    public void testMergedSubstitutionsDoNotApplyToSubstitutedCode() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .redefine(FieldAccessSample.class)
+                .visit(MemberSubstitution.strict().field(named(FOO)).replaceWith(FieldAccessSample.class.getDeclaredField(QUX))
+                        .and(MemberSubstitution.strict().field(named(QUX)).stub())
+                        .on(named(RUN)))
+                .make()
+                .load(ClassLoadingStrategy.BOOTSTRAP_LOADER, ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getDeclaredMethod(RUN).invoke(instance), nullValue(Object.class));
+        assertThat(type.getDeclaredField(BAR).get(instance), is((Object) QUX));
+    }
+
     @Test
     public void testStaticFieldReadStub() throws Exception {
         Class<?> type = new ByteBuddy()
@@ -1203,6 +1252,44 @@ public class MemberSubstitutionTest {
                 .make();
     }
 
+    @Test
+    @JavaVersionRule.Enforce(value = 7, target = InlineCacheSample.class)
+    public void testDynamicInvocationInlineCache() throws Exception {
+        Class<?> bootstrap = Class.forName("net.bytebuddy.test.precompiled.v7.MemberSubstitutionInlineCache");
+        Class<?> type = new ByteBuddy()
+                .redefine(InlineCacheSample.class)
+                .visit(MemberSubstitution.strict()
+                        .method(named("toString"))
+                        .replaceWithDynamicInvocation(bootstrap.getMethod("bootstrap",
+                                JavaType.METHOD_HANDLES_LOOKUP.load(),
+                                String.class,
+                                JavaType.METHOD_TYPE.load(),
+                                JavaType.METHOD_HANDLE.load()))
+                        .on(named(RUN)))
+                .make()
+                .load(InlineCacheSample.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        Object instance = type.getDeclaredConstructor().newInstance();
+        int relinks = bootstrap.getField("relinks").getInt(null);
+        assertThat(type.getDeclaredMethod(RUN, Object.class).invoke(instance, FOO), is((Object) FOO));
+        assertThat(type.getDeclaredMethod(RUN, Object.class).invoke(instance, BAR), is((Object) BAR));
+        assertThat(bootstrap.getField("relinks").getInt(null), is(relinks + 1));
+        assertThat(type.getDeclaredMethod(RUN, Object.class).invoke(instance, 42), is((Object) "42"));
+        assertThat(bootstrap.getField("relinks").getInt(null), is(relinks + 2));
+        assertThat(type.getDeclaredMethod(RUN, Object.class).invoke(instance, 42), is((Object) "42"));
+        assertThat(bootstrap.getField("relinks").getInt(null), is(relinks + 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @JavaVersionRule.Enforce(7)
+    public void testDynamicInvocationIllegalBootstrap() throws Exception {
+        MemberSubstitution.strict().method(named(FOO)).replaceWithDynamicInvocation(Class.forName("net.bytebuddy.test.precompiled.v7.MemberSubstitutionInlineCache").getMethod("bootstrap",
+                JavaType.METHOD_HANDLES_LOOKUP.load(),
+                String.class,
+                JavaType.METHOD_TYPE.load(),
+                JavaType.METHOD_HANDLE.load()), FOO);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testConstructorReplacement() throws Exception {
         MemberSubstitution.strict().field(any()).replaceWith(new MethodDescription.ForLoadedConstructor(Object.class.getDeclaredConstructor()));
@@ -1587,4 +1674,11 @@ public class MemberSubstitutionTest {
         }
     }
 
-}
\ No newline at end of file
+
+    public static class InlineCacheSample {
+
+        public String run(Object value) {
+            return value.toString();
+        }
+    }
+}
@@ -9,10 +9,14 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTest {
@@ -136,6 +140,48 @@ public class TypeDescriptionForLoadedTypeTest extends AbstractTypeDescriptionTes
         TypeDescription.ForLoadedType.of(classLoader.loadClass(Foo.class.getName()));
     }
 
+    @Test
+    public void testCanonicalDescriptionIsOptIn() throws Exception {
+        assertThat(TypeDescription.ForLoadedType.of(Foo.class), not(sameInstance(TypeDescription.ForLoadedType.of(Foo.class))));
+        assertThat(TypeDescription.ForLoadedType.of(Foo.class), is((TypeDescription) new TypeDescription.ForLoadedType(Foo.class)));
+    }
+
+    @Test
+    public void testCanonicalization() throws Exception {
+        TypeDescription.ForLoadedType.Canonicalization canonicalization = new TypeDescription.ForLoadedType.Canonicalization();
+        assertThat(canonicalization.size(), is(0));
+        TypeDescription typeDescription = canonicalization.of(Foo.class);
+        assertThat(typeDescription.represents(Foo.class), is(true));
+        assertThat(canonicalization.of(Foo.class), sameInstance(typeDescription));
+        assertThat(canonicalization.of(Bar.class), not(sameInstance(typeDescription)));
+        assertThat(canonicalization.size(), is(2));
+    }
+
+    @Test
+    public void testCanonicalizationRetainsUnreferencedDescription() throws Exception {
+        TypeDescription.ForLoadedType.Canonicalization canonicalization = new TypeDescription.ForLoadedType.Canonicalization();
+        Reference<TypeDescription> reference = new WeakReference<TypeDescription>(canonicalization.of(Foo.class));
+        System.gc();
+        assertThat(canonicalization.of(Foo.class), sameInstance(reference.get()));
+        assertThat(canonicalization.size(), is(1));
+    }
+
+    @Test
+    public void testCanonicalizationKeys() throws Exception {
+        TypeDescription.ForLoadedType.Canonicalization.LookupKey lookupKey = new TypeDescription.ForLoadedType.Canonicalization.LookupKey(Foo.class);
+        TypeDescription.ForLoadedType.Canonicalization.StorageKey storageKey = new TypeDescription.ForLoadedType.Canonicalization.StorageKey(Foo.class,
+                new TypeDescription.ForLoadedType.Canonicalization());
+        assertThat(lookupKey.hashCode(), is(storageKey.hashCode()));
+        assertThat(lookupKey.equals(storageKey), is(true));
+        assertThat(storageKey.equals(lookupKey), is(true));
+        assertThat(lookupKey.equals(new TypeDescription.ForLoadedType.Canonicalization.LookupKey(Foo.class)), is(true));
+        assertThat(lookupKey.equals(new TypeDescription.ForLoadedType.Canonicalization.LookupKey(Bar.class)), is(false));
+        assertThat(storageKey.equals(new TypeDescription.ForLoadedType.Canonicalization.StorageKey(Bar.class,
+                new TypeDescription.ForLoadedType.Canonicalization())), is(false));
+        assertThat(lookupKey.equals(new Object()), is(false));
+        assertThat(storageKey.equals(new Object()), is(false));
+    }
+
     public static class Foo {
 
         public Bar bar() {
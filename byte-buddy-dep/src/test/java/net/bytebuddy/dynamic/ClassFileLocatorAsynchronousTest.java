@@ -0,0 +1,201 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ClassFileLocatorAsynchronousTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] BINARY = new byte[]{1, 2, 3};
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testLocate() throws Exception {
+        ClassFileLocator.Asynchronous classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(ClassFileLocator.Simple.of(FOO, BINARY), executorService);
+        assertThat(classFileLocator.locate(FOO).get().isResolved(), is(true));
+        assertThat(classFileLocator.locate(FOO).get().resolve(), is(BINARY));
+        assertThat(classFileLocator.locate(BAR).get().isResolved(), is(false));
+    }
+
+    @Test
+    public void testPendingLookupIsCoalesced() throws Exception {
+        AwaitingClassFileLocator awaiting = new AwaitingClassFileLocator(1);
+        ClassFileLocator.Asynchronous classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(awaiting, executorService);
+        Future<ClassFileLocator.Resolution> first = classFileLocator.locate(FOO), second = classFileLocator.locate(FOO);
+        assertThat(second, not(sameInstance(first)));
+        awaiting.latch.countDown();
+        assertThat(first.get().resolve(), is(BINARY));
+        assertThat(second.get().resolve(), is(BINARY));
+        assertThat(awaiting.invocations.get(), is(1));
+    }
+
+    @Test
+    public void testCancellationDoesNotAffectOtherCallers() throws Exception {
+        AwaitingClassFileLocator awaiting = new AwaitingClassFileLocator(1);
+        ClassFileLocator.Asynchronous classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(awaiting, executorService);
+        Future<ClassFileLocator.Resolution> first = classFileLocator.locate(FOO), second = classFileLocator.locate(FOO);
+        assertThat(first.cancel(true), is(true));
+        assertThat(first.isCancelled(), is(true));
+        assertThat(second.isCancelled(), is(false));
+        awaiting.latch.countDown();
+        assertThat(second.get().resolve(), is(BINARY));
+        assertThat(awaiting.invocations.get(), is(1));
+    }
+
+    @Test
+    public void testLocateAfterCompletion() throws Exception {
+        ClassFileLocator.Asynchronous.ForClassFileLocator classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(ClassFileLocator.Simple.of(FOO, BINARY), executorService);
+        ClassFileLocator.Asynchronous.ForClassFileLocator.Lookup lookup = classFileLocator.new Lookup(FOO);
+        lookup.run();
+        assertThat(lookup.subscribe().get().resolve(), is(BINARY));
+    }
+
+    @Test
+    public void testParallelismIsBounded() throws Exception {
+        AwaitingClassFileLocator awaiting = new AwaitingClassFileLocator(1);
+        ClassFileLocator.Asynchronous classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(awaiting, executorService, 1);
+        Future<ClassFileLocator.Resolution> first = classFileLocator.locate(FOO), second = classFileLocator.locate(BAR);
+        Thread.sleep(50);
+        assertThat(awaiting.invocations.get(), is(1));
+        awaiting.latch.countDown();
+        assertThat(first.get().resolve(), is(BINARY));
+        assertThat(second.get().resolve(), is(BINARY));
+        assertThat(awaiting.invocations.get(), is(2));
+        assertThat(awaiting.maximum.get(), is(1));
+    }
+
+    @Test
+    public void testRejectedLookup() throws Exception {
+        ClassFileLocator.Asynchronous classFileLocator = new ClassFileLocator.Asynchronous.ForClassFileLocator(ClassFileLocator.Simple.of(FOO, BINARY), new RejectingExecutor());
+        try {
+            classFileLocator.locate(FOO).get();
+            fail();
+        } catch (ExecutionException exception) {
+            assertThat(exception.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalParallelism() throws Exception {
+        new ClassFileLocator.Asynchronous.ForClassFileLocator(ClassFileLocator.NoOp.INSTANCE, executorService, 0);
+    }
+
+    @Test
+    public void testBlocking() throws Exception {
+        ClassFileLocator classFileLocator = new ClassFileLocator.Asynchronous.Blocking(new ClassFileLocator.Asynchronous.ForClassFileLocator(ClassFileLocator.Simple.of(FOO, BINARY), executorService));
+        assertThat(classFileLocator.locate(FOO).resolve(), is(BINARY));
+        assertThat(classFileLocator.locate(BAR).isResolved(), is(false));
+    }
+
+    @Test(expected = InterruptedIOException.class)
+    public void testBlockingCancellation() throws Exception {
+        new ClassFileLocator.Asynchronous.Blocking(new CancelingAsynchronous()).locate(FOO);
+    }
+
+    @Test(expected = IOException.class)
+    public void testBlockingException() throws Exception {
+        new ClassFileLocator.Asynchronous.Blocking(new ClassFileLocator.Asynchronous.ForClassFileLocator(new FailingClassFileLocator(), executorService)).locate(FOO);
+    }
+
+    private static class AwaitingClassFileLocator implements ClassFileLocator {
+
+        private final CountDownLatch latch;
+
+        private final AtomicInteger invocations = new AtomicInteger(), active = new AtomicInteger(), maximum = new AtomicInteger();
+
+        private AwaitingClassFileLocator(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        public Resolution locate(String name) throws IOException {
+            invocations.incrementAndGet();
+            int current = active.incrementAndGet();
+            if (current > maximum.get()) {
+                maximum.set(current);
+            }
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new AssertionError();
+                }
+            } catch (InterruptedException exception) {
+                throw new AssertionError(exception);
+            } finally {
+                active.decrementAndGet();
+            }
+            return new Resolution.Explicit(BINARY);
+        }
+
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    private static class FailingClassFileLocator implements ClassFileLocator {
+
+        public Resolution locate(String name) throws IOException {
+            throw new IOException();
+        }
+
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    private static class CancelingAsynchronous implements ClassFileLocator.Asynchronous {
+
+        public Future<ClassFileLocator.Resolution> locate(String name) {
+            FutureTask<ClassFileLocator.Resolution> future = new FutureTask<ClassFileLocator.Resolution>(new Callable<ClassFileLocator.Resolution>() {
+                public ClassFileLocator.Resolution call() {
+                    throw new AssertionError();
+                }
+            });
+            future.cancel(false);
+            return future;
+        }
+
+        public void close() {
+            /* do nothing */
+        }
+    }
+
+    private static class RejectingExecutor implements Executor {
+
+        public void execute(Runnable command) {
+            throw new RejectedExecutionException();
+        }
+    }
+}
@@ -7,13 +7,15 @@ import org.junit.rules.MethodRule;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 
+import java.util.Collections;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
 public class ClassFileLocatorCompoundTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public MethodRule mockitoRule = MockitoJUnit.rule().silent();
@@ -61,4 +63,30 @@ public class ClassFileLocatorCompoundTest {
         verify(otherClassFileLocator).close();
         verifyNoMoreInteractions(otherClassFileLocator);
     }
+
+    @Test
+    public void testIndexedQueriesOwner() throws Exception {
+        ClassFileLocator.ForFolder first = mock(ClassFileLocator.ForFolder.class), second = mock(ClassFileLocator.ForFolder.class);
+        when(first.getTypeNames()).thenReturn(Collections.singleton(BAR));
+        when(second.getTypeNames()).thenReturn(Collections.singleton(FOO));
+        when(second.locate(FOO)).thenReturn(legal);
+        ClassFileLocator classFileLocator = new ClassFileLocator.Compound.Indexed(first, second);
+        assertThat(classFileLocator.locate(FOO), is(legal));
+        assertThat(classFileLocator.locate(QUX).isResolved(), is(false));
+        verify(first).getTypeNames();
+        verify(second).getTypeNames();
+        verify(second).locate(FOO);
+        verifyNoMoreInteractions(first, second);
+    }
+
+    @Test
+    public void testIndexedQueriesUnindexed() throws Exception {
+        ClassFileLocator.ForFolder indexed = mock(ClassFileLocator.ForFolder.class);
+        when(indexed.getTypeNames()).thenReturn(Collections.<String>emptySet());
+        when(classFileLocator.locate(FOO)).thenReturn(legal);
+        assertThat(new ClassFileLocator.Compound.Indexed(indexed, classFileLocator).locate(FOO), is(legal));
+        verify(indexed).getTypeNames();
+        verifyNoMoreInteractions(indexed);
+        verify(classFileLocator).locate(FOO);
+    }
 }
@@ -10,6 +10,11 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.jar.Manifest;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -17,7 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 public class ClassFileLocatorForFolderTest {
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     private static final int VALUE = 42;
 
@@ -95,5 +100,31 @@ public class ClassFileLocatorForFolderTest {
         assertThat(resolution.resolve(), is(new byte[]{VALUE, VALUE * 2}));
         ClassFileLocator unresolved = ClassFileLocator.ForFolder.of(folder, ClassFileVersion.JAVA_V9);
         assertThat(unresolved.locate(FOO + "." + BAR).isResolved(), is(false));
+        assertThat(((ClassFileLocator.ForFolder) classFileLocator).getTypeNames(), is(Collections.singleton(FOO + "." + BAR)));
+        assertThat(((ClassFileLocator.ForFolder) unresolved).getTypeNames(), is(Collections.<String>emptySet()));
+    }
+
+    @Test
+    public void testTypeNames() throws Exception {
+        File packageFolder = new File(folder, FOO);
+        assertThat(packageFolder.mkdir(), is(true));
+        assertThat(new File(packageFolder, BAR + ClassFileLocator.CLASS_FILE_EXTENSION).createNewFile(), is(true));
+        assertThat(new File(packageFolder, BAR).createNewFile(), is(true));
+        assertThat(new File(folder, BAR + ClassFileLocator.CLASS_FILE_EXTENSION).createNewFile(), is(true));
+        assertThat(new ClassFileLocator.ForFolder(folder).getTypeNames(), is((Set<String>) new HashSet<String>(Arrays.asList(FOO + "." + BAR, BAR))));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(7)
+    public void testTypeNamesSymbolicLinkCycle() throws Exception {
+        File packageFolder = new File(folder, FOO);
+        assertThat(packageFolder.mkdir(), is(true));
+        assertThat(new File(packageFolder, BAR + ClassFileLocator.CLASS_FILE_EXTENSION).createNewFile(), is(true));
+        Class<?> path = Class.forName("java.nio.file.Path"), fileAttribute = Class.forName("java.nio.file.attribute.FileAttribute");
+        Class.forName("java.nio.file.Files").getMethod("createSymbolicLink", path, path, Array.newInstance(fileAttribute, 0).getClass()).invoke(null,
+                File.class.getMethod("toPath").invoke(new File(packageFolder, QUX)),
+                File.class.getMethod("toPath").invoke(folder),
+                Array.newInstance(fileAttribute, 0));
+        assertThat(new ClassFileLocator.ForFolder(folder).getTypeNames(), is(Collections.singleton(FOO + "." + BAR)));
     }
 }
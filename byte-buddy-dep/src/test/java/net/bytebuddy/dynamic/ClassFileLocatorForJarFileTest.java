@@ -13,6 +13,7 @@ import org.objectweb.asm.ClassVisitor;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.util.Collections;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
@@ -66,6 +67,34 @@ public class ClassFileLocatorForJarFileTest {
         }
     }
 
+    @Test
+    public void testTypeNames() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            JarOutputStream jarOutputStream = new JarOutputStream(outputStream);
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/"));
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry("META-INF/versions/11/" + FOO + "/" + FOO + ClassFileLocator.CLASS_FILE_EXTENSION));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.close();
+        } finally {
+            outputStream.close();
+        }
+        JarFile jarFile = new JarFile(file);
+        try {
+            assertThat(new ClassFileLocator.ForJarFile(jarFile).getTypeNames(), is(Collections.singleton(FOO + "." + BAR)));
+        } finally {
+            jarFile.close();
+        }
+    }
+
     @Test
     public void testClassPath() throws Exception {
         ClassFileLocator classFileLocator = ClassFileLocator.ForJarFile.ofClassPath();
@@ -62,7 +62,9 @@ public class ByteArrayClassLoaderChildFirstTest {
     public static Collection<Object[]> data() {
         return Arrays.asList(new Object[][]{
                 {ByteArrayClassLoader.PersistenceHandler.LATENT, false},
-                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true}
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, true},
+                {ByteArrayClassLoader.PersistenceHandler.OFF_HEAP, true},
+                {ByteArrayClassLoader.PersistenceHandler.COMPRESSED, false}
         });
     }
 
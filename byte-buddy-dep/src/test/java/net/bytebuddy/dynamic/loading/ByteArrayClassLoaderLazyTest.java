@@ -0,0 +1,58 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderLazyTest {
+
+    @Test
+    public void testLazyLoading() throws Exception {
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        types.put(TypeDescription.ForLoadedType.of(Foo.class), ClassFileLocator.ForClassLoader.read(Foo.class));
+        types.put(TypeDescription.ForLoadedType.of(Bar.class), ClassFileLocator.ForClassLoader.read(Bar.class));
+        Class<?> type = ByteArrayClassLoader.loadLazily(ClassLoadingStrategy.BOOTSTRAP_LOADER, TypeDescription.ForLoadedType.of(Foo.class), types);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type, not(is((Object) Foo.class)));
+        assertThat(type.getClassLoader() instanceof ByteArrayClassLoader, is(true));
+        Class<?> other = Class.forName(Bar.class.getName(), false, type.getClassLoader());
+        assertThat(other.getClassLoader(), is(type.getClassLoader()));
+        assertThat(other, not(is((Object) Bar.class)));
+    }
+
+    @Test
+    public void testLazyLoadingChildFirst() throws Exception {
+        Map<TypeDescription, byte[]> types = new HashMap<TypeDescription, byte[]>();
+        types.put(TypeDescription.ForLoadedType.of(Foo.class), ClassFileLocator.ForClassLoader.read(Foo.class));
+        types.put(TypeDescription.ForLoadedType.of(Bar.class), ClassFileLocator.ForClassLoader.read(Bar.class));
+        Class<?> type = ByteArrayClassLoader.ChildFirst.loadLazily(getClass().getClassLoader(), TypeDescription.ForLoadedType.of(Foo.class), types);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type, not(is((Object) Foo.class)));
+        assertThat(type.getClassLoader() instanceof ByteArrayClassLoader.ChildFirst, is(true));
+        Class<?> other = Class.forName(Bar.class.getName(), false, type.getClassLoader());
+        assertThat(other.getClassLoader(), is(type.getClassLoader()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLazyLoadingUnknownEntry() throws Exception {
+        ByteArrayClassLoader.loadLazily(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                TypeDescription.ForLoadedType.of(Foo.class),
+                Collections.<TypeDescription, byte[]>singletonMap(TypeDescription.ForLoadedType.of(Bar.class), ClassFileLocator.ForClassLoader.read(Bar.class)));
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
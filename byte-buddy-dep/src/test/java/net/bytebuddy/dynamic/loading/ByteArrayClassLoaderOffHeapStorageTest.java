@@ -0,0 +1,38 @@
+package net.bytebuddy.dynamic.loading;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderOffHeapStorageTest {
+
+    @Test
+    public void testStoreAndResolve() throws Exception {
+        byte[] binaryRepresentation = new byte[]{1, 2, 3};
+        byte[] handle = ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.store(binaryRepresentation);
+        assertThat(handle, not(is(binaryRepresentation)));
+        assertThat(ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.resolve(handle), is(binaryRepresentation));
+    }
+
+    @Test
+    public void testStoreAndResolveLarge() throws Exception {
+        byte[] binaryRepresentation = new byte[1024 * 1024 + 1];
+        binaryRepresentation[binaryRepresentation.length - 1] = 42;
+        byte[] handle = ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.store(binaryRepresentation);
+        assertThat(ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.resolve(handle), is(binaryRepresentation));
+    }
+
+    @Test
+    public void testStoreMultiple() throws Exception {
+        byte[] first = ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.store(new byte[]{1, 2}), second = ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.store(new byte[]{3});
+        assertThat(ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.resolve(first), is(new byte[]{1, 2}));
+        assertThat(ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.resolve(second), is(new byte[]{3}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownHandle() throws Exception {
+        ByteArrayClassLoader.PersistenceHandler.OffHeapStorage.resolve(new byte[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package net.bytebuddy.dynamic.loading;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ClassInjectorListenerTest {
+
+    @Rule
+    public MethodRule mockitoRule = MockitoJUnit.rule().silent();
+
+    @Mock
+    private ClassInjector classInjector;
+
+    @Test
+    public void testNoOp() throws Exception {
+        ClassInjector.Listener.NoOp.INSTANCE.onBatch(classInjector, Collections.<String, Class<?>>singletonMap(Object.class.getName(), Object.class), 42L);
+        verifyNoMoreInteractions(classInjector);
+    }
+
+    @Test
+    public void testStreamWriting() throws Exception {
+        PrintStream printStream = mock(PrintStream.class);
+        Map<String, Class<?>> types = Collections.<String, Class<?>>singletonMap(Object.class.getName(), Object.class);
+        new ClassInjector.Listener.StreamWriting(printStream).onBatch(classInjector, types, 42L);
+        verify(printStream).printf(anyString(), any(Object[].class));
+        verifyNoMoreInteractions(printStream);
+    }
+
+    @Test
+    public void testSystemOut() throws Exception {
+        assertThat(ClassInjector.Listener.StreamWriting.toSystemOut(), hasPrototype((ClassInjector.Listener) new ClassInjector.Listener.StreamWriting(System.out)));
+    }
+
+    @Test
+    public void testSystemError() throws Exception {
+        assertThat(ClassInjector.Listener.StreamWriting.toSystemError(), hasPrototype((ClassInjector.Listener) new ClassInjector.Listener.StreamWriting(System.err)));
+    }
+}
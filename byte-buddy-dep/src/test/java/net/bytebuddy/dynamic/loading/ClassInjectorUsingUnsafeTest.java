@@ -12,12 +12,17 @@ import java.lang.instrument.Instrumentation;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class ClassInjectorUsingUnsafeTest {
 
@@ -50,6 +55,22 @@ public class ClassInjectorUsingUnsafeTest {
         assertThat(Class.forName(Foo.class.getName(), false, classLoader).getName(), is(Foo.class.getName()));
     }
 
+    @Test
+    @ClassUnsafeInjectionAvailableRule.Enforce
+    @SuppressWarnings("unchecked")
+    public void testUnsafeInjectionInDependencyOrder() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Qux.class.getName(), ClassFileLocator.ForClassLoader.read(Qux.class));
+        types.put(Bar.class.getName(), ClassFileLocator.ForClassLoader.read(Bar.class));
+        ClassInjector.Listener listener = mock(ClassInjector.Listener.class);
+        ClassInjector classInjector = new ClassInjector.UsingUnsafe(classLoader).with(listener);
+        Map<String, Class<?>> loaded = classInjector.injectRaw(types);
+        assertThat(loaded.size(), is(2));
+        assertThat(loaded.keySet().iterator().next(), is(Bar.class.getName()));
+        assertThat(loaded.get(Qux.class.getName()).getSuperclass(), is((Object) loaded.get(Bar.class.getName())));
+        verify(listener).onBatch(eq(classInjector), eq(loaded), anyLong());
+    }
+
     @Test
     @ClassUnsafeInjectionAvailableRule.Enforce
     public void testAvailability() throws Exception {
@@ -74,4 +95,12 @@ public class ClassInjectorUsingUnsafeTest {
     private static class Foo {
         /* empty */
     }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux extends Bar {
+        /* empty */
+    }
 }
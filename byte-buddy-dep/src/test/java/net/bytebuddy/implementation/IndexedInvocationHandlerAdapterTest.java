@@ -0,0 +1,368 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class IndexedInvocationHandlerAdapterTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testPrimitiveDispatch() throws Exception {
+        Recorder recorder = new Recorder();
+        Sample sample = new ByteBuddy()
+                .subclass(Sample.class)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.of(recorder, Sample.class.getDeclaredMethods()))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        assertThat(sample.noArgument(), is(FOO));
+        assertThat(sample.intArgument(42), is(43));
+        assertThat(sample.booleanArgument(true), is(false));
+        assertThat(sample.booleanArgument(false), is(true));
+        assertThat(sample.charArgument('a'), is('b'));
+        assertThat(sample.longArgument(42L), is(43L));
+        assertThat(sample.floatArgument(1.5f), is(3f));
+        assertThat(sample.doubleArgument(1.5d), is(3d));
+        assertThat(sample.objectArgument(FOO), is(BAR));
+        sample.voidArgument(7);
+        assertThat(sample.multipleArguments(FOO, 1, 2L), is(FOO + 1 + 2));
+        assertThat(recorder.calls, is(Arrays.asList("O:" + index("noArgument"),
+                "L:" + index("intArgument"),
+                "L:" + index("booleanArgument"),
+                "L:" + index("booleanArgument"),
+                "L:" + index("charArgument"),
+                "L:" + index("longArgument"),
+                "D:" + index("floatArgument"),
+                "D:" + index("doubleArgument"),
+                "O:" + index("objectArgument"),
+                "O:" + index("voidArgument"),
+                "A:" + index("multipleArguments"))));
+    }
+
+    @Test
+    public void testAdapterBoxing() throws Exception {
+        BoxingHandler handler = new BoxingHandler();
+        Sample sample = new ByteBuddy()
+                .subclass(Sample.class)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.of(handler, Sample.class.getDeclaredMethods()))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        assertThat(sample.noArgument(), nullValue(String.class));
+        assertThat(sample.intArgument(42), is(42));
+        assertThat(sample.booleanArgument(true), is(true));
+        assertThat(sample.charArgument('a'), is('a'));
+        assertThat(sample.longArgument(42L), is(42L));
+        assertThat(sample.floatArgument(1.5f), is(1.5f));
+        assertThat(sample.doubleArgument(1.5d), is(1.5d));
+        assertThat(sample.objectArgument(FOO), is(FOO));
+        assertThat(sample.multipleArguments(FOO, 1, 2L), is(FOO));
+        assertThat(handler.types, is(Arrays.<Class<?>>asList(Integer.class,
+                Boolean.class,
+                Character.class,
+                Long.class,
+                Float.class,
+                Double.class,
+                String.class,
+                String.class)));
+    }
+
+    @Test
+    public void testAdapterBoxesSingleArgumentToParameterType() throws Exception {
+        BoxingHandler handler = new BoxingHandler();
+        Sample sample = new ByteBuddy()
+                .subclass(Sample.class)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.of(handler, Sample.class.getDeclaredMethods()))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        sample.voidArgument(42);
+        assertThat(sample.floatArgument(1.5f), is(1.5f));
+        assertThat(handler.types, is(Arrays.<Class<?>>asList(Integer.class, Float.class)));
+    }
+
+    @Test
+    public void testFieldDispatch() throws Exception {
+        Class<? extends Sample> type = new ByteBuddy()
+                .subclass(Sample.class)
+                .defineField(FOO, IndexedInvocationHandlerAdapter.Handler.class, Visibility.PUBLIC)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.toField(FOO, Sample.class.getDeclaredMethods()))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Sample sample = type.getDeclaredConstructor().newInstance();
+        type.getDeclaredField(FOO).set(sample, new Recorder());
+        assertThat(sample.intArgument(1), is(2));
+        assertThat(sample.objectArgument(FOO), is(BAR));
+    }
+
+    @Test
+    public void testDropping() throws Exception {
+        Recorder recorder = new Recorder();
+        Sample sample = new ByteBuddy()
+                .subclass(Sample.class)
+                .method(named("objectArgument"))
+                .intercept(IndexedInvocationHandlerAdapter.of(recorder, Sample.class.getDeclaredMethods()).andThen(FixedValue.value(BAR)))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        assertThat(sample.objectArgument(FOO), is(BAR));
+        assertThat(recorder.calls, is(Arrays.asList("O:" + index("objectArgument"))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownMethod() throws Exception {
+        new ByteBuddy()
+                .subclass(Sample.class)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.of(new Recorder(), Sample.class.getDeclaredMethod("noArgument")))
+                .make();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStaticMethod() throws Exception {
+        IndexedInvocationHandlerAdapter.of(new Recorder(), Math.class.getDeclaredMethod("abs", int.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFieldNotHandler() throws Exception {
+        new ByteBuddy()
+                .subclass(Sample.class)
+                .defineField(FOO, Object.class, Visibility.PUBLIC)
+                .method(isDeclaredBy(Sample.class))
+                .intercept(IndexedInvocationHandlerAdapter.toField(FOO, Sample.class.getDeclaredMethods()))
+                .make();
+    }
+
+    @Test
+    public void testDispatcher() throws Exception {
+        Class<? extends Origin> type = new ByteBuddy()
+                .subclass(Origin.class)
+                .implement(IndexedInvocationHandlerAdapter.Dispatcher.class)
+                .intercept(IndexedInvocationHandlerAdapter.dispatcher(Origin.class.getDeclaredMethods()))
+                .method(isDeclaredBy(Origin.class))
+                .intercept(IndexedInvocationHandlerAdapter.of(new Delegating(), Origin.class.getDeclaredMethods()))
+                .make()
+                .load(Origin.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredMethods().length, is(Origin.class.getDeclaredMethods().length + 1));
+        Origin origin = type.getDeclaredConstructor().newInstance();
+        assertThat(origin.primitive(20, 2L), is(42));
+        assertThat(origin.reference(FOO), is(FOO + BAR));
+        origin.empty();
+        assertThat(origin.called, is(true));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testDispatcherUnknownIndex() throws Throwable {
+        Object instance = new ByteBuddy()
+                .subclass(Origin.class)
+                .implement(IndexedInvocationHandlerAdapter.Dispatcher.class)
+                .intercept(IndexedInvocationHandlerAdapter.dispatcher(Origin.class.getDeclaredMethods()))
+                .make()
+                .load(Origin.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        ((IndexedInvocationHandlerAdapter.Dispatcher) instance).dispatch(Origin.class.getDeclaredMethods().length, new Object[0]);
+    }
+
+    @Test(expected = AbstractMethodError.class)
+    public void testDispatcherAbstractMethod() throws Throwable {
+        Object instance = new ByteBuddy()
+                .subclass(Sample.class)
+                .implement(IndexedInvocationHandlerAdapter.Dispatcher.class)
+                .intercept(IndexedInvocationHandlerAdapter.dispatcher(Sample.class.getDeclaredMethod("noArgument")))
+                .method(isDeclaredBy(Sample.class))
+                .intercept(StubMethod.INSTANCE)
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        ((IndexedInvocationHandlerAdapter.Dispatcher) instance).dispatch(0, new Object[0]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDispatcherIllegalMethod() throws Exception {
+        new ByteBuddy()
+                .subclass(Object.class)
+                .method(named("toString"))
+                .intercept(IndexedInvocationHandlerAdapter.dispatcher(Origin.class.getDeclaredMethods()))
+                .make();
+    }
+
+    private static int index(String name) {
+        java.lang.reflect.Method[] method = Sample.class.getDeclaredMethods();
+        for (int index = 0; index < method.length; index++) {
+            if (method[index].getName().equals(name)) {
+                return index;
+            }
+        }
+        throw new AssertionError();
+    }
+
+    public abstract static class Sample {
+
+        public abstract String noArgument();
+
+        public abstract int intArgument(int value);
+
+        public abstract boolean booleanArgument(boolean value);
+
+        public abstract char charArgument(char value);
+
+        public abstract long longArgument(long value);
+
+        public abstract float floatArgument(float value);
+
+        public abstract double doubleArgument(double value);
+
+        public abstract Object objectArgument(Object value);
+
+        public abstract void voidArgument(int value);
+
+        public abstract String multipleArguments(String first, int second, long third);
+    }
+
+    public static class Origin {
+
+        public boolean called;
+
+        public int primitive(int value, long other) {
+            return value * 2 + (int) other;
+        }
+
+        public String reference(String value) {
+            return value + BAR;
+        }
+
+        public void empty() {
+            called = true;
+        }
+    }
+
+    public static class Delegating extends IndexedInvocationHandlerAdapter.Handler.Adapter {
+
+        public Delegating() {
+            super(Origin.class.getDeclaredMethods());
+        }
+
+        public Object invoke(Object proxy, int index, Object[] arguments) throws Throwable {
+            return ((IndexedInvocationHandlerAdapter.Dispatcher) proxy).dispatch(index, arguments);
+        }
+    }
+
+    public static class BoxingHandler extends IndexedInvocationHandlerAdapter.Handler.Adapter {
+
+        private final List<Class<?>> types = new ArrayList<Class<?>>();
+
+        public BoxingHandler() {
+            super(Sample.class.getDeclaredMethods());
+        }
+
+        public Object invoke(Object proxy, int index, Object[] arguments) {
+            if (arguments.length == 0) {
+                return null;
+            }
+            types.add(arguments[0].getClass());
+            return arguments[0];
+        }
+    }
+
+    public static class Recorder implements IndexedInvocationHandlerAdapter.Handler {
+
+        private final List<String> calls = new ArrayList<String>();
+
+        public Object invoke(Object proxy, int index) {
+            calls.add("O:" + index);
+            return FOO;
+        }
+
+        public Object invoke(Object proxy, int index, Object argument) {
+            calls.add("O:" + index);
+            return BAR;
+        }
+
+        public Object invoke(Object proxy, int index, long argument) {
+            calls.add("O:" + index);
+            return null;
+        }
+
+        public Object invoke(Object proxy, int index, double argument) {
+            throw new AssertionError();
+        }
+
+        public Object invoke(Object proxy, int index, Object[] arguments) {
+            calls.add("A:" + index);
+            return "" + arguments[0] + arguments[1] + arguments[2];
+        }
+
+        public long invokeLong(Object proxy, int index) {
+            throw new AssertionError();
+        }
+
+        public long invokeLong(Object proxy, int index, Object argument) {
+            throw new AssertionError();
+        }
+
+        public long invokeLong(Object proxy, int index, long argument) {
+            calls.add("L:" + index);
+            return argument + 1;
+        }
+
+        public long invokeLong(Object proxy, int index, double argument) {
+            throw new AssertionError();
+        }
+
+        public long invokeLong(Object proxy, int index, Object[] arguments) {
+            throw new AssertionError();
+        }
+
+        public double invokeDouble(Object proxy, int index) {
+            throw new AssertionError();
+        }
+
+        public double invokeDouble(Object proxy, int index, Object argument) {
+            throw new AssertionError();
+        }
+
+        public double invokeDouble(Object proxy, int index, long argument) {
+            throw new AssertionError();
+        }
+
+        public double invokeDouble(Object proxy, int index, double argument) {
+            calls.add("D:" + index);
+            return argument * 2;
+        }
+
+        public double invokeDouble(Object proxy, int index, Object[] arguments) {
+            throw new AssertionError();
+        }
+    }
+}
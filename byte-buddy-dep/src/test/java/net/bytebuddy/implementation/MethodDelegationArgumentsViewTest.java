@@ -0,0 +1,126 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.annotation.ArgumentsView;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationArgumentsViewTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testArgumentsView() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(Interceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.getAuxiliaryTypes().size(), is(1));
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(true, (byte) 1, 'c', 2, 3L, 4f, 5d, FOO), is("3:true:1:1:c:99:2:2:3:3.0:4.0:4.0:5.0:5.0:foo:2"));
+    }
+
+    @Test
+    public void testArgumentsViewEmpty() throws Exception {
+        DynamicType.Loaded<Bar> loaded = new ByteBuddy()
+                .subclass(Bar.class)
+                .method(isDeclaredBy(Bar.class))
+                .intercept(MethodDelegation.to(EmptyInterceptor.class))
+                .make()
+                .load(Bar.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Bar instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.bar(), is(BAR));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testArgumentsViewIndexOutOfBounds() throws Exception {
+        new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(IndexInterceptor.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance()
+                .qux(FOO, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArgumentsViewIllegalType() throws Exception {
+        new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(IndexInterceptor.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance()
+                .qux(FOO, 0);
+    }
+
+    public static class Foo {
+
+        public String foo(boolean a, byte b, char c, int d, long e, float f, double g, String h) {
+            return null;
+        }
+    }
+
+    public static class Interceptor {
+
+        public static String intercept(@ArgumentsView ArgumentsView.Arguments arguments) {
+            return arguments.size() / 2 - 1
+                    + ":" + arguments.getBoolean(0)
+                    + ":" + arguments.getByte(1)
+                    + ":" + arguments.getInt(1)
+                    + ":" + arguments.getChar(2)
+                    + ":" + arguments.getInt(2)
+                    + ":" + arguments.getInt(3)
+                    + ":" + arguments.getLong(3)
+                    + ":" + arguments.getLong(4)
+                    + ":" + arguments.getFloat(4)
+                    + ":" + arguments.getFloat(5)
+                    + ":" + arguments.getDouble(5)
+                    + ":" + arguments.getDouble(6)
+                    + ":" + arguments.get(6)
+                    + ":" + arguments.get(7)
+                    + ":" + arguments.get(3);
+        }
+    }
+
+    public static class Bar {
+
+        public String bar() {
+            return null;
+        }
+    }
+
+    public static class EmptyInterceptor {
+
+        public static String intercept(@ArgumentsView Object arguments) {
+            return ((ArgumentsView.Arguments) arguments).size() == 0 ? BAR : null;
+        }
+    }
+
+    public static class Qux {
+
+        public String qux(String value, int index) {
+            return null;
+        }
+    }
+
+    public static class IndexInterceptor {
+
+        public static String intercept(@ArgumentsView ArgumentsView.Arguments arguments) {
+            return String.valueOf(arguments.getInt(arguments.getInt(1) == 0 ? 0 : 2));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Test;
+
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationRecordCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testRecordsAreReused() throws Exception {
+        MethodDelegation.ImplementationDelegate.RecordCache recordCache = new MethodDelegation.ImplementationDelegate.RecordCache(TargetMethodAnnotationDrivenBinder.ParameterBinder.DEFAULTS);
+        TypeDescription.Generic type = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(Interceptor.class));
+        MethodList<?> candidates = type.getDeclaredMethods().filter(named(FOO));
+        List<MethodDelegationBinder.Record> records = recordCache.compile(type, candidates);
+        assertThat(records.size(), is(1));
+        assertThat(recordCache.compile(type, candidates).get(0), sameInstance(records.get(0)));
+    }
+
+    @Test
+    public void testRecordsAreReusedForSameLoadedType() throws Exception {
+        MethodDelegation.ImplementationDelegate.RecordCache recordCache = new MethodDelegation.ImplementationDelegate.RecordCache(TargetMethodAnnotationDrivenBinder.ParameterBinder.DEFAULTS);
+        TypeDescription.Generic first = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(Interceptor.class));
+        TypeDescription.Generic second = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(Interceptor.class));
+        assertThat(first.asErasure(), not(sameInstance(second.asErasure())));
+        List<MethodDelegationBinder.Record> records = recordCache.compile(first, first.getDeclaredMethods().filter(named(FOO)));
+        assertThat(recordCache.compile(second, second.getDeclaredMethods().filter(named(FOO))).get(0), sameInstance(records.get(0)));
+    }
+
+    @Test
+    public void testRecordsAreNotReusedForEqualTypeOfOtherOrigin() throws Exception {
+        MethodDelegation.ImplementationDelegate.RecordCache recordCache = new MethodDelegation.ImplementationDelegate.RecordCache(TargetMethodAnnotationDrivenBinder.ParameterBinder.DEFAULTS);
+        TypeDescription.Generic first = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(Interceptor.class));
+        TypeDescription.Generic second = TypePool.Default.ofSystemLoader().describe(Interceptor.class.getName()).resolve().asGenericType();
+        assertThat(first.asErasure(), is(second.asErasure()));
+        List<MethodDelegationBinder.Record> records = recordCache.compile(first, first.getDeclaredMethods().filter(named(FOO)));
+        assertThat(recordCache.compile(second, second.getDeclaredMethods().filter(named(FOO))).get(0), not(sameInstance(records.get(0))));
+    }
+
+    @Test
+    public void testOnlyMostRecentTypeIsRetained() throws Exception {
+        MethodDelegation.ImplementationDelegate.RecordCache recordCache = new MethodDelegation.ImplementationDelegate.RecordCache(TargetMethodAnnotationDrivenBinder.ParameterBinder.DEFAULTS);
+        TypeDescription.Generic first = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(Interceptor.class));
+        TypeDescription.Generic second = new TypeDescription.Generic.OfNonGenericType.ForErasure(new TypeDescription.ForLoadedType(First.class));
+        List<MethodDelegationBinder.Record> records = recordCache.compile(first, first.getDeclaredMethods().filter(named(FOO)));
+        recordCache.compile(second, second.getDeclaredMethods().filter(named(BAR)));
+        assertThat(recordCache.compile(first, first.getDeclaredMethods().filter(named(FOO))).get(0), not(sameInstance(records.get(0))));
+    }
+
+    @Test
+    public void testFieldDelegationForSeveralTypes() throws Exception {
+        Implementation implementation = MethodDelegation.withDefaultConfiguration().filter(named(FOO)).toField(FOO);
+        for (Class<?> type : new Class<?>[]{First.class, Second.class}) {
+            Object instance = new ByteBuddy()
+                    .subclass(type)
+                    .method(named(BAR))
+                    .intercept(implementation)
+                    .make()
+                    .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded()
+                    .getConstructor()
+                    .newInstance();
+            type.getField(FOO).set(instance, new Interceptor());
+            assertThat(type.getMethod(BAR, String.class).invoke(instance, BAR), is((Object) (FOO + BAR)));
+        }
+    }
+
+    public static class Interceptor {
+
+        public String foo(@Argument(0) String value) {
+            return FOO + value;
+        }
+    }
+
+    public static class First {
+
+        public Interceptor foo;
+
+        public String bar(String value) {
+            return value;
+        }
+    }
+
+    public static class Second {
+
+        public Interceptor foo;
+
+        public String bar(String value) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package net.bytebuddy.implementation;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.implementation.bind.annotation.ArgumentsView;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCallSite;
+import net.bytebuddy.implementation.bind.annotation.This;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodDelegationSuperCallSiteTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testSuperCallSite() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(Interceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO, 42, 1L), is(FOO + 42 + 1L));
+        instance.bar(BAR);
+        assertThat(instance.value, is(BAR));
+    }
+
+    @Test
+    public void testSuperCallSiteIsSingleton() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(CapturingInterceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        instance.foo(FOO, 42, 1L);
+        SuperCallSite.Invoker invoker = CapturingInterceptor.invoker;
+        instance.foo(BAR, 0, 0L);
+        assertThat(CapturingInterceptor.invoker, sameInstance(invoker));
+    }
+
+    @Test
+    public void testSuperCallSiteWithOtherArguments() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(isDeclaredBy(Foo.class))
+                .intercept(MethodDelegation.to(MorphingInterceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO, 42, 1L), is(BAR + 42 + 1L));
+    }
+
+    @Test
+    public void testSuperCallSiteWithDirectArguments() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named("foo"))
+                .intercept(MethodDelegation.to(DirectInterceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        assertThat(instance.foo(FOO, 42, 1L), is(BAR + 42 + 1L));
+        FooInvoker invoker = DirectInterceptor.invoker;
+        instance.foo(FOO, 0, 0L);
+        assertThat(DirectInterceptor.invoker, sameInstance(invoker));
+    }
+
+    @Test
+    public void testSuperCallSiteWithDirectArgumentsVoid() throws Exception {
+        DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named("bar"))
+                .intercept(MethodDelegation.to(DirectVoidInterceptor.class))
+                .make()
+                .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        Foo instance = loaded.getLoaded().getDeclaredConstructor().newInstance();
+        instance.bar(FOO);
+        assertThat(instance.value, is(FOO + BAR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSuperCallSiteWithIllegalArity() throws Exception {
+        new ByteBuddy()
+                .subclass(Foo.class)
+                .method(named("bar"))
+                .intercept(MethodDelegation.to(DirectInterceptor.class))
+                .make();
+    }
+
+    @Test
+    public void testAbstractMethodNullFallback() throws Exception {
+        DynamicType.Loaded<Qux> loaded = new ByteBuddy()
+                .subclass(Qux.class)
+                .method(isDeclaredBy(Qux.class))
+                .intercept(MethodDelegation.to(NullInterceptor.class))
+                .make()
+                .load(Qux.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.getLoaded().getDeclaredConstructor().newInstance().qux(), is(FOO));
+    }
+
+    public static class Foo {
+
+        public String value;
+
+        public String foo(String first, int second, long third) {
+            return first + second + third;
+        }
+
+        public void bar(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Interceptor {
+
+        @RuntimeType
+        public static Object intercept(@This Object self,
+                                       @SuperCallSite SuperCallSite.Invoker invoker,
+                                       @ArgumentsView ArgumentsView.Arguments arguments) throws Exception {
+            return invoker.invoke(self, arguments);
+        }
+    }
+
+    public static class CapturingInterceptor {
+
+        static SuperCallSite.Invoker invoker;
+
+        @RuntimeType
+        public static Object intercept(@This Object self,
+                                       @SuperCallSite SuperCallSite.Invoker invoker,
+                                       @ArgumentsView ArgumentsView.Arguments arguments) throws Exception {
+            CapturingInterceptor.invoker = invoker;
+            return invoker.invoke(self, arguments);
+        }
+    }
+
+    public static class MorphingInterceptor {
+
+        @RuntimeType
+        public static Object intercept(@This Object self,
+                                       @SuperCallSite SuperCallSite.Invoker invoker,
+                                       @ArgumentsView final ArgumentsView.Arguments arguments) throws Exception {
+            return invoker.invoke(self, new ArgumentsView.Arguments() {
+                public int size() {
+                    return arguments.size();
+                }
+
+                public Object get(int index) {
+                    return index == 0 ? BAR : arguments.get(index);
+                }
+
+                public boolean getBoolean(int index) {
+                    return arguments.getBoolean(index);
+                }
+
+                public byte getByte(int index) {
+                    return arguments.getByte(index);
+                }
+
+                public short getShort(int index) {
+                    return arguments.getShort(index);
+                }
+
+                public char getChar(int index) {
+                    return arguments.getChar(index);
+                }
+
+                public int getInt(int index) {
+                    return arguments.getInt(index);
+                }
+
+                public long getLong(int index) {
+                    return arguments.getLong(index);
+                }
+
+                public float getFloat(int index) {
+                    return arguments.getFloat(index);
+                }
+
+                public double getDouble(int index) {
+                    return arguments.getDouble(index);
+                }
+            });
+        }
+    }
+
+    public interface FooInvoker {
+
+        String invoke(Object self, String first, int second, long third);
+    }
+
+    public interface BarInvoker {
+
+        void invoke(Foo self, String value);
+    }
+
+    public static class DirectInterceptor {
+
+        static FooInvoker invoker;
+
+        public static String intercept(@This Object self,
+                                       @SuperCallSite FooInvoker invoker,
+                                       @Argument(1) int second,
+                                       @Argument(2) long third) {
+            DirectInterceptor.invoker = invoker;
+            return invoker.invoke(self, BAR, second, third);
+        }
+    }
+
+    public static class DirectVoidInterceptor {
+
+        public static void intercept(@This Foo self, @SuperCallSite BarInvoker invoker, @Argument(0) String value) {
+            invoker.invoke(self, value + BAR);
+        }
+    }
+
+    public abstract static class Qux {
+
+        public abstract String qux();
+    }
+
+    public static class NullInterceptor {
+
+        public static String intercept(@SuperCallSite(nullIfImpossible = true) SuperCallSite.Invoker invoker) {
+            return invoker == null ? FOO : null;
+        }
+    }
+}
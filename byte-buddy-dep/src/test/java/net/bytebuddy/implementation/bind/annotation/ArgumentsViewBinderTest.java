@@ -0,0 +1,59 @@
+package net.bytebuddy.implementation.bind.annotation;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bind.MethodDelegationBinder;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class ArgumentsViewBinderTest extends AbstractAnnotationBinderTest<ArgumentsView> {
+
+    @Mock
+    private TypeDescription targetParameterType;
+
+    @Mock
+    private TypeDescription.Generic genericTargetParameterType;
+
+    public ArgumentsViewBinderTest() {
+        super(ArgumentsView.class);
+    }
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        when(target.getType()).thenReturn(genericTargetParameterType);
+        when(genericTargetParameterType.asErasure()).thenReturn(targetParameterType);
+    }
+
+    @Override
+    protected TargetMethodAnnotationDrivenBinder.ParameterBinder<ArgumentsView> getSimpleBinder() {
+        return ArgumentsView.Binder.INSTANCE;
+    }
+
+    @Test
+    public void testArgumentsView() throws Exception {
+        when(targetParameterType.represents(ArgumentsView.Arguments.class)).thenReturn(true);
+        MethodDelegationBinder.ParameterBinding<?> parameterBinding = ArgumentsView.Binder.INSTANCE
+                .bind(annotationDescription, source, target, implementationTarget, assigner, Assigner.Typing.STATIC);
+        assertThat(parameterBinding.isValid(), is(true));
+    }
+
+    @Test
+    public void testObject() throws Exception {
+        when(targetParameterType.represents(Object.class)).thenReturn(true);
+        MethodDelegationBinder.ParameterBinding<?> parameterBinding = ArgumentsView.Binder.INSTANCE
+                .bind(annotationDescription, source, target, implementationTarget, assigner, Assigner.Typing.STATIC);
+        assertThat(parameterBinding.isValid(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalType() throws Exception {
+        ArgumentsView.Binder.INSTANCE.bind(annotationDescription, source, target, implementationTarget, assigner, Assigner.Typing.STATIC);
+    }
+}
@@ -60,7 +60,7 @@ public class PrimitiveWideningDelegateNontrivialTest {
         return Arrays.asList(new Object[][]{
                 {byte.class, long.class, 1, Opcodes.I2L},
                 {byte.class, float.class, 0, Opcodes.I2F},
-                {byte.class, double.class, 1, Opcodes.I2L},
+                {byte.class, double.class, 1, Opcodes.I2D},
                 {short.class, long.class, 1, Opcodes.I2L},
                 {short.class, float.class, 0, Opcodes.I2F},
                 {short.class, double.class, 1, Opcodes.I2D},
@@ -1,10 +1,21 @@
 package net.bytebuddy.implementation.bytecode.assign.primitive;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 public class PrimitiveWideningDelegateOtherTest {
 
+    private static final String FOO = "foo";
+
     @Test(expected = IllegalArgumentException.class)
     public void testIllegalSourceTypeThrowsException() throws Exception {
         PrimitiveWideningDelegate.forPrimitive(TypeDescription.ForLoadedType.of(Object.class));
@@ -14,4 +25,19 @@ public class PrimitiveWideningDelegateOtherTest {
     public void testIllegalTargetTypeThrowsException() throws Exception {
         PrimitiveWideningDelegate.forPrimitive(TypeDescription.ForLoadedType.of(int.class)).widenTo(TypeDescription.ForLoadedType.of(Object.class));
     }
+
+    @Test
+    public void testByteToDoubleIsVerifiable() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .defineMethod(FOO, double.class, Visibility.PUBLIC)
+                .withParameters(byte.class)
+                .intercept(new Implementation.Simple(MethodVariableAccess.INTEGER.loadFrom(1),
+                        PrimitiveWideningDelegate.BYTE.widenTo(TypeDescription.ForLoadedType.of(double.class)),
+                        MethodReturn.DOUBLE))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getMethod(FOO, byte.class).invoke(type.getConstructor().newInstance(), (byte) -42), is((Object) (-42d)));
+    }
 }
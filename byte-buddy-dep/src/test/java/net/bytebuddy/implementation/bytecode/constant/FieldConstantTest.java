@@ -1,11 +1,16 @@
 package net.bytebuddy.implementation.bytecode.constant;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.test.utility.JavaVersionRule;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -29,6 +34,9 @@ public class FieldConstantTest {
     @Rule
     public MethodRule mockitoRule = MockitoJUnit.rule().silent();
 
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
     @Mock
     private FieldDescription.InDefinedShape fieldDescription, cacheField;
 
@@ -148,4 +156,38 @@ public class FieldConstantTest {
         verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAZ, FOO + BAR, QUX + BAZ);
         verifyNoMoreInteractions(methodVisitor);
     }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testCachedDynamic() throws Exception {
+        Field field = Sample.class.getDeclaredField(FOO);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(new FieldConstant(new FieldDescription.ForLoadedField(field)).cachedDynamic(), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) field));
+    }
+
+    @Test
+    public void testCachedDynamicLegacy() throws Exception {
+        Field field = Sample.class.getDeclaredField(FOO);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V8)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(new FieldConstant(new FieldDescription.ForLoadedField(field)).cachedDynamic(), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(1));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) field));
+    }
+
+    public static class Sample {
+
+        private Object foo;
+    }
 }
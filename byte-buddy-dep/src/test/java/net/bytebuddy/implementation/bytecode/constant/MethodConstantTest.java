@@ -1,17 +1,22 @@
 package net.bytebuddy.implementation.bytecode.constant;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.method.MethodList;
 import net.bytebuddy.description.method.ParameterList;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.auxiliary.AuxiliaryType;
 import net.bytebuddy.implementation.bytecode.StackManipulation;
 import net.bytebuddy.implementation.bytecode.StackSize;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.test.utility.AccessControllerRule;
+import net.bytebuddy.test.utility.JavaVersionRule;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -27,6 +32,7 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -40,6 +46,9 @@ public class MethodConstantTest {
     @Rule
     public MethodRule accessControllerRule = new AccessControllerRule();
 
+    @Rule
+    public MethodRule javaVersionRule = new JavaVersionRule();
+
     @Mock
     private MethodDescription.InDefinedShape methodDescription, auxiliaryConstructor;
 
@@ -243,6 +252,102 @@ public class MethodConstantTest {
         MethodConstant.CanCache methodConstant = MethodConstant.of(methodDescription);
         assertThat(methodConstant.isValid(), is(false));
         assertThat(methodConstant.cached().isValid(), is(false));
+        assertThat(MethodConstant.ofDynamic(methodDescription).isValid(), is(false));
         methodConstant.apply(methodVisitor, implementationContext);
     }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testMethodCachedDynamic() throws Exception {
+        Method method = Sample.class.getDeclaredMethod(FOO, String.class);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(MethodConstant.ofDynamic(new MethodDescription.ForLoadedMethod(method)), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(0));
+        Object instance = type.getDeclaredConstructor().newInstance();
+        assertThat(type.getMethod(FOO).invoke(instance), is((Object) method));
+        assertThat(type.getMethod(FOO).invoke(instance), sameInstance(type.getMethod(FOO).invoke(instance)));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testConstructorCachedDynamic() throws Exception {
+        Constructor<?> constructor = Sample.class.getDeclaredConstructor(String.class);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(MethodConstant.ofDynamic(new MethodDescription.ForLoadedConstructor(constructor)), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) constructor));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testMethodCachedDynamicPrimitiveParameters() throws Exception {
+        Method method = Sample.class.getDeclaredMethod(BAR, int.class, long.class, boolean.class);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(MethodConstant.ofDynamic(new MethodDescription.ForLoadedMethod(method)), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) method));
+    }
+
+    @Test
+    @JavaVersionRule.Enforce(11)
+    public void testConstructorCachedDynamicPrimitiveParameters() throws Exception {
+        Constructor<?> constructor = Sample.class.getDeclaredConstructor(int.class, long.class, boolean.class);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V11)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(MethodConstant.ofDynamic(new MethodDescription.ForLoadedConstructor(constructor)), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(0));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) constructor));
+    }
+
+    @Test
+    public void testMethodCachedDynamicLegacy() throws Exception {
+        Method method = Sample.class.getDeclaredMethod(FOO, String.class);
+        Class<?> type = new ByteBuddy(ClassFileVersion.JAVA_V8)
+                .subclass(Object.class)
+                .defineMethod(FOO, Object.class, Visibility.PUBLIC)
+                .intercept(new Implementation.Simple(MethodConstant.ofDynamic(new MethodDescription.ForLoadedMethod(method)), MethodReturn.REFERENCE))
+                .make()
+                .load(Sample.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getDeclaredFields().length, is(1));
+        assertThat(type.getMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) method));
+    }
+
+    public static class Sample {
+
+        private Sample(String value) {
+            /* empty */
+        }
+
+        private Sample(int first, long second, boolean third) {
+            /* empty */
+        }
+
+        private void foo(String value) {
+            /* empty */
+        }
+
+        private void bar(int first, long second, boolean third) {
+            /* empty */
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class BoundedCachingMatcherTest extends AbstractElementMatcherTest<BoundedCachingMatcher<?>> {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Mock
+    private ElementMatcher<? super Object> matcher;
+
+    @SuppressWarnings("unchecked")
+    public BoundedCachingMatcherTest() {
+        super((Class<BoundedCachingMatcher<?>>) (Object) BoundedCachingMatcher.class, "cached");
+    }
+
+    @Test
+    public void testMatchCaches() throws Exception {
+        when(matcher.matches(FOO)).thenReturn(true);
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 2);
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(false));
+        assertThat(matcher.matches(BAR), is(false));
+        verify(this.matcher).matches(FOO);
+        verify(this.matcher).matches(BAR);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHitCount(), is(2L));
+        assertThat(matcher.getMissCount(), is(2L));
+        assertThat(matcher.getEvictionCount(), is(0L));
+        assertThat(matcher.size(), is(2));
+    }
+
+    @Test
+    public void testNullValue() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 1);
+        assertThat(matcher.matches(null), is(false));
+        assertThat(matcher.matches(null), is(false));
+        verify(this.matcher).matches(null);
+        verifyNoMoreInteractions(this.matcher);
+    }
+
+    @Test
+    public void testInfrequentTargetIsNotAdmitted() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 1);
+        matcher.matches(FOO);
+        matcher.matches(BAR);
+        matcher.matches(FOO);
+        verify(this.matcher).matches(FOO);
+        verify(this.matcher).matches(BAR);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getEvictionCount(), is(0L));
+        assertThat(matcher.size(), is(1));
+    }
+
+    @Test
+    public void testFrequentTargetIsAdmitted() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 1);
+        matcher.matches(FOO);
+        matcher.matches(BAR);
+        matcher.matches(BAR);
+        matcher.matches(BAR);
+        matcher.matches(FOO);
+        verify(this.matcher, times(2)).matches(FOO);
+        verify(this.matcher, times(2)).matches(BAR);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getEvictionCount(), is(1L));
+        assertThat(matcher.getHitCount(), is(1L));
+        assertThat(matcher.getMissCount(), is(4L));
+    }
+
+    @Test
+    public void testScanDoesNotEvictFrequentTargets() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 2);
+        for (int index = 0; index < 3; index++) {
+            matcher.matches(FOO);
+            matcher.matches(BAR);
+        }
+        for (int index = 0; index < 20; index++) {
+            matcher.matches(QUX + index);
+        }
+        matcher.matches(FOO);
+        matcher.matches(BAR);
+        verify(this.matcher).matches(FOO);
+        verify(this.matcher).matches(BAR);
+        assertThat(matcher.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void testWeakKeysAreComparedByEquality() throws Exception {
+        when(matcher.matches(FOO)).thenReturn(true);
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 1, BoundedCachingMatcher.KeyRetention.WEAK);
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(new String(FOO)), is(true));
+        verify(this.matcher).matches(FOO);
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHitCount(), is(1L));
+        assertThat(matcher.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void testWeakKeysAreCached() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 2, BoundedCachingMatcher.KeyRetention.WEAK);
+        matcher.matches(Object.class);
+        matcher.matches(String.class);
+        matcher.matches(Object.class);
+        matcher.matches(String.class);
+        assertThat(matcher.getHitCount(), is(2L));
+        assertThat(matcher.getMissCount(), is(2L));
+        assertThat(matcher.size(), is(2));
+    }
+
+    @Test
+    public void testWeakKeyOfLoadedTypeIsItsClass() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 1, BoundedCachingMatcher.KeyRetention.WEAK);
+        matcher.matches(new TypeDescription.ForLoadedType(Object.class));
+        System.gc();
+        matcher.matches(new TypeDescription.ForLoadedType(Object.class));
+        verify(this.matcher).matches(TypeDescription.ForLoadedType.of(Object.class));
+        verifyNoMoreInteractions(this.matcher);
+        assertThat(matcher.getHitCount(), is(1L));
+        assertThat(matcher.getMissCount(), is(1L));
+        assertThat(matcher.size(), is(1));
+    }
+
+    @Test
+    public void testZeroSizeDoesNotCache() throws Exception {
+        BoundedCachingMatcher<Object> matcher = new BoundedCachingMatcher<Object>(this.matcher, 0);
+        matcher.matches(FOO);
+        matcher.matches(FOO);
+        verify(this.matcher, times(2)).matches(FOO);
+        assertThat(matcher.size(), is(0));
+    }
+}
@@ -76,6 +76,25 @@ public class ElementMatchersTest {
         verify(delegate).matches(target);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedCachedNegativeSize() throws Exception {
+        ElementMatchers.cached(new BooleanMatcher<Object>(true), 0, BoundedCachingMatcher.KeyRetention.STRONG);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBoundedCachingMatcher() throws Exception {
+        ElementMatcher<Object> delegate = mock(ElementMatcher.class);
+        BoundedCachingMatcher<Object> matcher = ElementMatchers.cached(delegate, 1, BoundedCachingMatcher.KeyRetention.WEAK);
+        Object target = new Object();
+        when(delegate.matches(target)).thenReturn(true);
+        assertThat(matcher.matches(target), is(true));
+        assertThat(matcher.matches(target), is(true));
+        verify(delegate).matches(target);
+        assertThat(matcher.getHitCount(), is(1L));
+        assertThat(matcher.getMissCount(), is(1L));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testCachingMatcherMap() throws Exception {
@@ -0,0 +1,152 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MultiStringMatcherTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", BAZ = "baz";
+
+    @Test
+    public void testEquals() throws Exception {
+        ElementMatcher<String> matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY),
+                new StringMatcher(BAR, StringMatcher.Mode.EQUALS_FULLY));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(true));
+        assertThat(matcher.matches(QUX), is(false));
+        assertThat(matcher.matches(FOO + BAR), is(false));
+    }
+
+    @Test
+    public void testStartsWith() throws Exception {
+        ElementMatcher<String> matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.STARTS_WITH),
+                new StringMatcher(FOO + BAR, StringMatcher.Mode.STARTS_WITH),
+                new StringMatcher(BAR, StringMatcher.Mode.STARTS_WITH));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO + QUX), is(true));
+        assertThat(matcher.matches(BAR + QUX), is(true));
+        assertThat(matcher.matches(QUX + FOO), is(false));
+        assertThat(matcher.matches("fo"), is(false));
+    }
+
+    @Test
+    public void testEndsWith() throws Exception {
+        ElementMatcher<String> matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.ENDS_WITH),
+                new StringMatcher(BAR, StringMatcher.Mode.ENDS_WITH));
+        assertThat(matcher.matches(QUX + FOO), is(true));
+        assertThat(matcher.matches(QUX + BAR), is(true));
+        assertThat(matcher.matches(FOO + QUX), is(false));
+        assertThat(matcher.matches("oo"), is(false));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        ElementMatcher<String> matcher = new MultiStringMatcher(new StringMatcher("abcd", StringMatcher.Mode.CONTAINS),
+                new StringMatcher("bce", StringMatcher.Mode.CONTAINS),
+                new StringMatcher("c", StringMatcher.Mode.CONTAINS));
+        assertThat(matcher.matches("xxabcdxx"), is(true));
+        assertThat(matcher.matches("xbcex"), is(true));
+        assertThat(matcher.matches("abx"), is(false));
+        assertThat(matcher.matches("xxc"), is(true));
+        ElementMatcher<String> overlapping = new MultiStringMatcher(new StringMatcher("abcd", StringMatcher.Mode.CONTAINS),
+                new StringMatcher("bce", StringMatcher.Mode.CONTAINS));
+        assertThat(overlapping.matches("abce"), is(true));
+        assertThat(overlapping.matches("abcx"), is(false));
+    }
+
+    @Test
+    public void testIgnoreCase() throws Exception {
+        ElementMatcher<String> matcher = new MultiStringMatcher(new StringMatcher("Foo", StringMatcher.Mode.STARTS_WITH_IGNORE_CASE),
+                new StringMatcher("BAR", StringMatcher.Mode.ENDS_WITH_IGNORE_CASE),
+                new StringMatcher("Qux", StringMatcher.Mode.CONTAINS_IGNORE_CASE));
+        assertThat(matcher.matches("fOOx"), is(true));
+        assertThat(matcher.matches("xbar"), is(true));
+        assertThat(matcher.matches("xQUXx"), is(true));
+        assertThat(matcher.matches("xfoo"), is(false));
+    }
+
+    @Test
+    public void testEmptyPattern() throws Exception {
+        assertThat(new MultiStringMatcher(new StringMatcher("", StringMatcher.Mode.STARTS_WITH)).matches(FOO), is(true));
+        assertThat(new MultiStringMatcher(new StringMatcher("", StringMatcher.Mode.CONTAINS)).matches(FOO), is(true));
+    }
+
+    @Test
+    public void testNullValue() throws Exception {
+        assertThat(new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY)).matches(null), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedMode() throws Exception {
+        new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.MATCHES));
+    }
+
+    @Test
+    public void testStringMatcherDisjunction() throws Exception {
+        ElementMatcher.Junction<String> matcher = new StringMatcher(FOO, StringMatcher.Mode.STARTS_WITH)
+                .or(new StringMatcher(BAR, StringMatcher.Mode.CONTAINS))
+                .or(new StringMatcher(QUX, StringMatcher.Mode.EQUALS_FULLY));
+        assertThat(matcher, instanceOf(MultiStringMatcher.class));
+        assertThat(matcher.matches(FOO + QUX), is(true));
+        assertThat(matcher.matches(QUX + BAR), is(true));
+        assertThat(matcher.matches(QUX), is(true));
+        assertThat(matcher.matches(QUX + QUX), is(false));
+        assertThat(matcher.toString(), is("(startsWith(foo) or contains(bar) or equals(qux))"));
+    }
+
+    @Test
+    public void testUnsupportedDisjunction() throws Exception {
+        assertThat(new StringMatcher(FOO, StringMatcher.Mode.STARTS_WITH).or(new StringMatcher(BAR, StringMatcher.Mode.MATCHES)),
+                instanceOf(ElementMatcher.Junction.Disjunction.class));
+    }
+
+    @Test
+    public void testNameMatcherDisjunction() throws Exception {
+        ElementMatcher.Junction<TypeDescription> matcher = ElementMatchers.<TypeDescription>nameStartsWith("java.")
+                .or(nameStartsWith("javax."))
+                .or(nameContains("$Proxy"));
+        assertThat(matcher, instanceOf(NameMatcher.class));
+        assertThat(matcher.matches(TypeDescription.ForLoadedType.of(Object.class)), is(true));
+        assertThat(matcher.matches(TypeDescription.ForLoadedType.of(MultiStringMatcherTest.class)), is(false));
+    }
+
+    @Test
+    public void testChainedDisjunction() throws Exception {
+        ElementMatcher.Junction<String> matcher = new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY);
+        for (int index = 0; index < 1000; index++) {
+            matcher = matcher.or(new StringMatcher(FOO + index, StringMatcher.Mode.EQUALS_FULLY));
+        }
+        assertThat(matcher, instanceOf(MultiStringMatcher.class));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(FOO + 999), is(true));
+        assertThat(matcher.matches(FOO + 1000), is(false));
+        ElementMatcher.Junction<String> other = new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY);
+        for (int index = 0; index < 1000; index++) {
+            other = other.or(new StringMatcher(FOO + index, StringMatcher.Mode.EQUALS_FULLY));
+        }
+        assertThat(matcher.hashCode(), is(other.hashCode()));
+        assertThat(matcher, is(other));
+    }
+
+    @Test
+    public void testBranchedDisjunction() throws Exception {
+        ElementMatcher.Junction<String> matcher = new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY)
+                .or(new StringMatcher(BAR, StringMatcher.Mode.EQUALS_FULLY));
+        ElementMatcher.Junction<String> left = matcher.or(new StringMatcher(QUX, StringMatcher.Mode.EQUALS_FULLY));
+        ElementMatcher.Junction<String> right = matcher.or(new StringMatcher(BAZ, StringMatcher.Mode.EQUALS_FULLY));
+        assertThat(matcher.toString(), is("(equals(foo) or equals(bar))"));
+        assertThat(left.toString(), is("(equals(foo) or equals(bar) or equals(qux))"));
+        assertThat(right.toString(), is("(equals(foo) or equals(bar) or equals(baz))"));
+        assertThat(matcher.matches(QUX), is(false));
+        assertThat(left.matches(QUX), is(true));
+        assertThat(left.matches(BAZ), is(false));
+        assertThat(right.matches(BAZ), is(true));
+        assertThat(right.matches(QUX), is(false));
+        assertThat(left.equals(right), is(false));
+    }
+}
@@ -1,12 +1,19 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.description.type.TypeDescription;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypePoolDefaultLazyTypeDescriptionTest {
@@ -91,4 +98,35 @@ public class TypePoolDefaultLazyTypeDescriptionTest {
     public void testCannotResolvePrimaryBoundPropertyForUpperBoundWildcard() throws Exception {
         new TypePool.Default.LazyTypeDescription.GenericTypeToken.ForPrimitiveType.ForUpperBoundWildcard(genericTypeToken).isPrimaryBound(typePool);
     }
+
+    @Test
+    public void testGenericHierarchyIsResolvedLazily() throws Exception {
+        TypeDescription typeDescription = TypePool.Default.of(GenericSample.class.getClassLoader()).describe(GenericSample.class.getName()).resolve();
+        assertThat(typeDescription.getSuperClass(), instanceOf(TypePool.Default.LazyTypeDescription.LazySuperClass.class));
+        assertThat(typeDescription.getSuperClass().asErasure(), is((TypeDescription) TypeDescription.ForLoadedType.of(ArrayList.class)));
+        assertThat(typeDescription.getSuperClass(), is(TypeDescription.ForLoadedType.of(GenericSample.class).getSuperClass()));
+        assertThat(typeDescription.getInterfaces().get(0), instanceOf(TypePool.Default.LazyTypeDescription.LazyInterfaceType.class));
+        assertThat(typeDescription.getInterfaces().asErasures(), is(TypeDescription.ForLoadedType.of(GenericSample.class).getInterfaces().asErasures()));
+        assertThat(typeDescription.getInterfaces(), is(TypeDescription.ForLoadedType.of(GenericSample.class).getInterfaces()));
+        assertThat(typeDescription.getTypeVariables(), is(TypeDescription.ForLoadedType.of(GenericSample.class).getTypeVariables()));
+    }
+
+    @Test
+    public void testNonGenericHierarchyIsResolvedRaw() throws Exception {
+        TypeDescription typeDescription = TypePool.Default.of(NonGenericSample.class.getClassLoader()).describe(NonGenericSample.class.getName()).resolve();
+        assertThat(typeDescription.getSuperClass(), not(instanceOf(TypePool.Default.LazyTypeDescription.LazySuperClass.class)));
+        assertThat(typeDescription.getSuperClass(), is(TypeDescription.ForLoadedType.of(NonGenericSample.class).getSuperClass()));
+        assertThat(typeDescription.getInterfaces(), is(TypeDescription.ForLoadedType.of(NonGenericSample.class).getInterfaces()));
+    }
+
+    private static class GenericSample<T> extends ArrayList<T> implements Callable<T>, Serializable {
+
+        public T call() {
+            return null;
+        }
+    }
+
+    private static class NonGenericSample extends Thread implements Serializable {
+        /* empty */
+    }
 }
@@ -0,0 +1,116 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultSharedTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testBootType() throws Exception {
+        TypePool typePool = TypePool.Default.Shared.ofBootLoader();
+        assertThat(typePool.describe(String.class.getName()).resolve().represents(String.class), is(true));
+        assertThat(typePool.describe(TypePoolDefaultSharedTest.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testSharedByChildren() throws Exception {
+        TypePool shared = TypePool.Default.Shared.ofPlatformLoader();
+        TypePool first = new TypePool.Default(new TypePool.CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST, shared);
+        TypePool second = new TypePool.Default(new TypePool.CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST, shared);
+        TypeDescription typeDescription = first.describe(String.class.getName()).resolve();
+        assertThat(second.describe(String.class.getName()).resolve(), sameInstance(typeDescription));
+        assertThat(first.describe(TypePoolDefaultSharedTest.class.getName()).resolve(), not(sameInstance(second.describe(TypePoolDefaultSharedTest.class.getName()).resolve())));
+    }
+
+    @Test
+    public void testClearIsIgnored() throws Exception {
+        TypePool.Default.Shared shared = TypePool.Default.Shared.ofBootLoader();
+        TypeDescription typeDescription = shared.describe(String.class.getName()).resolve();
+        new TypePool.Default(new TypePool.CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST, shared).clear();
+        assertThat(shared.describe(String.class.getName()).resolve(), sameInstance(typeDescription));
+        shared.reset();
+        assertThat(shared.describe(String.class.getName()).resolve(), not(sameInstance(typeDescription)));
+    }
+
+    @Test
+    public void testUnresolvedTypeIsRememberedUntilReset() throws Exception {
+        Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+        TypePool.Default.Shared typePool = new TypePool.Default.Shared(new ClassFileLocator.Simple(classFiles));
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+        classFiles.put(FOO, ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+        typePool.reset();
+        assertThat(typePool.describe(FOO).isResolved(), is(true));
+    }
+
+    @Test
+    public void testUnresolvedTypesAreBounded() throws Exception {
+        Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+        TypePool typePool = new TypePool.Default.Shared(new ClassFileLocator.Simple(classFiles), TypePool.Default.ReaderMode.FAST, 1);
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+        classFiles.put(FOO, ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(typePool.describe(BAR).isResolved(), is(false));
+        assertThat(typePool.describe(FOO).isResolved(), is(true));
+    }
+
+    @Test
+    public void testUnresolvedTypeIsNotRememberedIfDisabled() throws Exception {
+        Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+        TypePool typePool = new TypePool.Default.Shared(new ClassFileLocator.Simple(classFiles), TypePool.Default.ReaderMode.FAST, 0);
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+        classFiles.put(FOO, ClassFileLocator.ForClassLoader.read(Sample.class));
+        assertThat(typePool.describe(FOO).isResolved(), is(true));
+    }
+
+    @Test
+    public void testChildLookupDoesNotRepeatParentLookup() throws Exception {
+        CountingClassFileLocator classFileLocator = new CountingClassFileLocator(new ClassFileLocator.Simple(new HashMap<String, byte[]>()));
+        TypePool shared = new TypePool.Default.Shared(classFileLocator);
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST, shared);
+        for (int index = 0; index < 5; index++) {
+            assertThat(typePool.describe(Sample.class.getName()).isResolved(), is(true));
+        }
+        assertThat(classFileLocator.count, is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaximumUnresolved() throws Exception {
+        new TypePool.Default.Shared(ClassFileLocator.NoOp.INSTANCE, TypePool.Default.ReaderMode.FAST, -1);
+    }
+
+    private static class CountingClassFileLocator implements ClassFileLocator {
+
+        private final ClassFileLocator classFileLocator;
+
+        private int count;
+
+        private CountingClassFileLocator(ClassFileLocator classFileLocator) {
+            this.classFileLocator = classFileLocator;
+        }
+
+        public Resolution locate(String name) throws IOException {
+            count++;
+            return classFileLocator.locate(name);
+        }
+
+        public void close() throws IOException {
+            classFileLocator.close();
+        }
+    }
+
+    private static class Sample {
+        /* empty */
+    }
+}
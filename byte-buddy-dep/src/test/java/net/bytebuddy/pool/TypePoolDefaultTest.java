@@ -8,8 +8,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.objectweb.asm.Opcodes;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
 import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
@@ -91,6 +99,114 @@ public class TypePoolDefaultTest {
         verifyNoMoreInteractions(classFileLocator);
     }
 
+    @Test
+    public void testDescribeAll() throws Exception {
+        TypePool.Default typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST);
+        Map<String, TypePool.Resolution> resolutions = typePool.describeAll(Arrays.asList(String.class.getName(), int.class.getName(), "foo"));
+        assertThat(new ArrayList<String>(resolutions.keySet()), is(Arrays.asList(String.class.getName(), int.class.getName(), "foo")));
+        assertThat(resolutions.get(String.class.getName()).resolve().represents(String.class), is(true));
+        assertThat(resolutions.get(int.class.getName()).resolve().represents(int.class), is(true));
+        assertThat(resolutions.get("foo").isResolved(), is(false));
+    }
+
+    @Test
+    public void testDescribeAllPrefetchesSuperTypes() throws Exception {
+        ClassFileLocator classFileLocator = spy(ClassFileLocator.ForClassLoader.ofSystemLoader());
+        TypePool.Default typePool = new TypePool.Default(TypePool.CacheProvider.Simple.withObjectType(), classFileLocator, TypePool.Default.ReaderMode.FAST);
+        typePool.describeAll(Collections.singleton(String.class.getName()));
+        verify(classFileLocator).locate(String.class.getName());
+        verify(classFileLocator).locate(Serializable.class.getName());
+        verify(classFileLocator).locate(Comparable.class.getName());
+        verify(classFileLocator).locate(CharSequence.class.getName());
+        assertThat(typePool.describe(String.class.getName()).resolve().isAssignableTo(Serializable.class), is(true));
+        assertThat(typePool.describe(String.class.getName()).resolve().isAssignableTo(CharSequence.class), is(true));
+        verify(classFileLocator, times(1)).locate(Serializable.class.getName());
+        verify(classFileLocator, times(1)).locate(CharSequence.class.getName());
+    }
+
+    @Test
+    public void testDescribeAllWithoutCacheLocatesOnce() throws Exception {
+        ClassFileLocator classFileLocator = spy(ClassFileLocator.ForClassLoader.ofSystemLoader());
+        TypePool.Default typePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE, classFileLocator, TypePool.Default.ReaderMode.FAST);
+        Map<String, TypePool.Resolution> resolutions = typePool.describeAll(Arrays.asList(String.class.getName(), "foo"));
+        assertThat(resolutions.get(String.class.getName()).resolve().represents(String.class), is(true));
+        assertThat(resolutions.get("foo").isResolved(), is(false));
+        verify(classFileLocator, times(1)).locate(String.class.getName());
+        verify(classFileLocator, times(1)).locate("foo");
+    }
+
+    @Test
+    public void testDescribeAllSharedDoesNotCacheUnresolved() throws Exception {
+        ClassFileLocator classFileLocator = spy(ClassFileLocator.ForClassLoader.ofSystemLoader());
+        TypePool.Default typePool = new TypePool.Default.Shared(classFileLocator);
+        assertThat(typePool.describeAll(Collections.singleton("foo")).get("foo").isResolved(), is(false));
+        assertThat(typePool.describeAll(Collections.singleton("foo")).get("foo").isResolved(), is(false));
+        verify(classFileLocator, times(2)).locate("foo");
+    }
+
+    @Test
+    public void testSymbolsAreInterned() throws Exception {
+        TypePool.Default typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST);
+        String symbol = typePool.intern(new String("foo"));
+        assertThat(typePool.intern(new String("foo")), sameInstance(symbol));
+        assertThat(typePool.intern((String) null), nullValue(String.class));
+    }
+
+    @Test
+    public void testSymbolsAreClearedWithCache() throws Exception {
+        TypePool.Default typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST);
+        String symbol = typePool.intern(new String("foo"));
+        typePool.clear();
+        String other = new String("foo");
+        assertThat(typePool.intern(other), sameInstance(other));
+        assertThat(typePool.intern(new String("foo")), sameInstance(other));
+        assertThat(symbol == other, is(false));
+    }
+
+    @Test
+    public void testSymbolsAreBoundedBySlot() throws Exception {
+        TypePool.Default typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST);
+        String symbol = typePool.intern(new String("foo"));
+        String colliding = null;
+        for (int index = 0; colliding == null; index++) {
+            String candidate = "foo" + index;
+            if ((candidate.hashCode() & (TypePool.Default.SYMBOL_TABLE_SIZE - 1)) == (symbol.hashCode() & (TypePool.Default.SYMBOL_TABLE_SIZE - 1))) {
+                colliding = candidate;
+            }
+        }
+        assertThat(typePool.intern(colliding), sameInstance(colliding));
+        String other = new String("foo");
+        assertThat(typePool.intern(other), sameInstance(other));
+        assertThat(typePool.intern(new String("foo")), sameInstance(other));
+    }
+
+    @Test
+    public void testSymbolsAreNotInternedWithoutCache() throws Exception {
+        TypePool.Default typePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST);
+        String symbol = new String("foo");
+        typePool.intern(new String("foo"));
+        assertThat(typePool.intern(symbol), sameInstance(symbol));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testMemberNamesAreShared() throws Exception {
+        TypeDescription typeDescription = typePool.describe(DeprecationSample.class.getName()).resolve();
+        assertThat(typeDescription.getDeclaredFields().filter(named("foo")).getOnly().getName(),
+                sameInstance(typeDescription.getDeclaredMethods().filter(named("foo")).getOnly().getInternalName()));
+        assertThat(typeDescription.getDeclaredFields().filter(named("foo")).getOnly().getDeclaredAnnotations().size(), is(1));
+    }
+
     @Deprecated
     private static class DeprecationSample {
 